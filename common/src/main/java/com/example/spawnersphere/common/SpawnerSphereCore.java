@@ -1,20 +1,27 @@
 package com.example.spawnersphere.common;
 
 import com.example.spawnersphere.common.config.ModConfig;
-import com.example.spawnersphere.common.data.SpawnerData;
+import com.example.spawnersphere.common.data.BlockKey;
+import com.example.spawnersphere.common.data.SpawnerStore;
 import com.example.spawnersphere.common.performance.FrustumCuller;
 import com.example.spawnersphere.common.performance.LODCalculator;
+import com.example.spawnersphere.common.performance.LongHashSet;
+import com.example.spawnersphere.common.performance.LongList;
 import com.example.spawnersphere.common.performance.SpatialIndex;
 import com.example.spawnersphere.common.platform.IPlatformHelper;
 import com.example.spawnersphere.common.platform.IPlatformHelper.Position;
 import com.example.spawnersphere.common.platform.IRenderer;
 import com.example.spawnersphere.common.platform.IRenderer.SphereColor;
+import com.example.spawnersphere.common.platform.SphereBatch;
+import com.example.spawnersphere.common.scan.AsyncScanEngine;
+import com.example.spawnersphere.common.scan.PointUpdateQueue;
+import com.example.spawnersphere.common.scan.ScanArea;
+import com.example.spawnersphere.common.scan.ScanCursor;
+import com.example.spawnersphere.common.scan.ScanSnapshot;
+import com.example.spawnersphere.common.scan.SpawnerVerifier;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Arrays;
 
 /**
  * Core mod logic - platform agnostic
@@ -22,16 +29,38 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class SpawnerSphereCore {
 
+    // Block-by-block scans stay capped here; larger radii need block entity discovery
+    private static final int MAX_BLOCK_SCAN_RADIUS = 256;
+    private static final float VIEW_FOV = 90.0f; // Default FOV for frustum culling, could be made configurable
+
     private final IPlatformHelper platformHelper;
     private final IRenderer renderer;
     private final ModConfig config;
+    private final AsyncScanEngine scanEngine;
 
     private volatile boolean enabled = false;
-    // Use ConcurrentHashMap for thread-safe O(1) lookup by blockPos
-    private final Map<Object, SpawnerData> spawnerPositions = new ConcurrentHashMap<>();
-    private final SpatialIndex spatialIndex = new SpatialIndex();
+    // Spawners read by render(); replaced as a whole when a full background scan finishes so it is never
+    // seen half-built. Movement rescans, time-sliced slices and point updates change it in place.
+    private volatile TrackedSpawners tracked;
     private volatile long lastScanTime = 0;
     private volatile Position lastScanPosition = null;
+    // Area covered by the published spawner set, used as the base for incremental rescans
+    private volatile ScanArea publishedScanArea = null;
+    // A full scan was requested and has not published yet; movement rescans must not supersede it
+    private volatile boolean fullScanPending = false;
+    // Time-sliced scan in progress and the positions it has found so far (tick thread, under scanLock)
+    private volatile ScanCursor activeCursor = null;
+    private final LongHashSet cursorFound = new LongHashSet();
+    private final LongList cursorBuffer = new LongList();
+    // Block and chunk change events waiting to be applied to the tracked set
+    private final PointUpdateQueue pointUpdates = new PointUpdateQueue();
+    // Round-robin validity checks of the tracked set (tick thread, under scanLock)
+    private final SpawnerVerifier verifier = new SpawnerVerifier();
+    private final LongList invalidSpawners = new LongList();
+    // Spawners considered for the current frame; reused so rendering allocates no lists (render thread only)
+    private final LongList renderBuffer = new LongList();
+    private final RenderCenters renderCenters = new RenderCenters();
+    private final SphereBatch renderBatch = new SphereBatch();
 
     // Lock object for synchronizing scan and cleanup operations
     private final Object scanLock = new Object();
@@ -44,6 +73,8 @@ public class SpawnerSphereCore {
         this.platformHelper = platformHelper;
         this.renderer = renderer;
         this.config = config;
+        this.scanEngine = new AsyncScanEngine(platformHelper);
+        this.tracked = new TrackedSpawners();
     }
 
     /**
@@ -52,12 +83,17 @@ public class SpawnerSphereCore {
     public void toggle(Object player, Object world) {
         synchronized (scanLock) {
             enabled = !enabled;
+            pointUpdates.clear();
+            verifier.reset();
             if (enabled) {
                 scanForSpawners(player, world);
                 platformHelper.sendMessage(player, "§aSpawner spheres enabled", true);
             } else {
-                spawnerPositions.clear();
-                spatialIndex.clear(); // Fix: clear spatial index to prevent memory leak
+                scanEngine.shutdown(); // Scan threads are started again on the next toggle-on
+                activeCursor = null;
+                fullScanPending = false;
+                tracked = new TrackedSpawners(); // Drop both map and spatial index to prevent memory leak
+                publishedScanArea = null;
                 platformHelper.sendMessage(player, "§cSpawner spheres disabled", true);
             }
         }
@@ -76,164 +112,458 @@ public class SpawnerSphereCore {
     public void tick(Object player, Object world) {
         if (!enabled) return;
 
-        Position currentPos = platformHelper.getPlayerPosition(player);
         long currentTime = System.currentTimeMillis();
         boolean timePassed = currentTime - lastScanTime > config.getScanInterval();
 
-        // Movement-based lazy scanning
+        // Movement-based lazy scanning (squared distance on primitive coordinates, no allocation)
         boolean movedSignificantly = false;
-        if (lastScanPosition != null) {
-            double distance = currentPos.distanceTo(lastScanPosition);
-            movedSignificantly = distance >= config.getMovementThreshold();
+        Position scanPos = lastScanPosition;
+        if (scanPos != null) {
+            double dx = platformHelper.getPlayerX(player) - scanPos.x;
+            double dy = platformHelper.getPlayerY(player) - scanPos.y;
+            double dz = platformHelper.getPlayerZ(player) - scanPos.z;
+            double threshold = config.getMovementThreshold();
+            movedSignificantly = dx * dx + dy * dy + dz * dz >= threshold * threshold;
         }
 
-        if (timePassed || movedSignificantly || lastScanPosition == null) {
+        if (activeCursor != null) {
+            // Let a time-sliced scan finish before scheduling another, so it always converges
+            advanceCursor(player, world);
+        } else if (timePassed || scanPos == null) {
             scanForSpawners(player, world);
+        } else if (movedSignificantly) {
+            // Only the shell entering the sphere needs reading
+            rescanMovedArea(player, world);
         }
 
-        // Periodic cleanup: Remove spawners that no longer exist (optimization - moved from render)
-        // This is less frequent than rendering, improving performance
-        cleanupInvalidSpawners(world);
+        applyPointUpdates(world);
+
+        // Verify a bounded slice of the tracked spawners (optimization - moved from render)
+        verifyTrackedSpawners(world);
     }
 
     /**
-     * Remove spawners that no longer exist in the world
-     * Called periodically from tick to avoid expensive checks every frame
+     * A spawner may have appeared at this position (placed, or its block entity loaded)
+     * Queued and checked against the world on a later tick, once the burst of updates has settled.
+     * Safe to call from any thread.
+     */
+    public void addSpawnerAt(Object blockPos) {
+        if (enabled && blockPos != null) {
+            pointUpdates.blockChanged(platformHelper.blockKey(blockPos), true);
+        }
+    }
+
+    /**
+     * The spawner at this position, if one is tracked, is gone (broken, or its block entity unloaded)
+     * Queued and confirmed against the world like {@link #addSpawnerAt}. Safe to call from any
+     * thread; positions that are not tracked are ignored without queueing, unless a scan is running
+     * and may still publish them.
+     */
+    public void removeSpawnerAt(Object blockPos) {
+        if (!enabled || blockPos == null) return;
+        long key = platformHelper.blockKey(blockPos);
+        if (tracked.store.contains(key) || pointUpdates.isAddPending(key)
+                || activeCursor != null || scanEngine.isBusy()) {
+            pointUpdates.blockChanged(key, false);
+        }
+    }
+
+    /**
+     * A chunk came into the client world; its spawners are picked up without a full rescan
+     */
+    public void onChunkLoaded(int chunkX, int chunkZ) {
+        if (enabled) {
+            pointUpdates.chunkChanged(chunkX, chunkZ, true);
+        }
+    }
+
+    /**
+     * A chunk left the client world; spawners tracked in it are dropped
+     */
+    public void onChunkUnloaded(int chunkX, int chunkZ) {
+        if (enabled) {
+            pointUpdates.chunkChanged(chunkX, chunkZ, false);
+        }
+    }
+
+    /**
+     * Apply queued block and chunk changes to the tracked set in place
+     * Waits while a scan is running, since that scan's result would overwrite the changes.
      */
-    private void cleanupInvalidSpawners(Object world) {
+    private void applyPointUpdates(Object world) {
+        if (activeCursor != null || scanEngine.isBusy()
+                || !pointUpdates.isReady(System.currentTimeMillis(), config.getUpdateDebounce())) {
+            return;
+        }
+
         synchronized (scanLock) {
-            List<Object> toRemove = new ArrayList<>();
-            for (Map.Entry<Object, SpawnerData> entry : spawnerPositions.entrySet()) {
-                try {
-                    if (!platformHelper.isSpawner(world, entry.getKey())) {
-                        toRemove.add(entry.getKey());
+            ScanArea area = publishedScanArea;
+            if (area == null) {
+                return;
+            }
+
+            try {
+                LongList loadedChunks = new LongList();
+                LongList unloadedChunks = new LongList();
+                pointUpdates.drainChunks(loadedChunks, unloadedChunks);
+                LongList added = new LongList();
+                LongList removed = new LongList();
+                pointUpdates.drainBlocks(added, removed);
+
+                TrackedSpawners current = tracked;
+
+                // One pass over the tracked set for the whole burst of unloads
+                if (!unloadedChunks.isEmpty()) {
+                    LongHashSet gone = new LongHashSet();
+                    for (int i = 0, n = unloadedChunks.size(); i < n; i++) {
+                        gone.add(unloadedChunks.get(i));
                     }
-                } catch (Exception e) {
-                    // If checking fails, mark for removal to be safe
-                    System.err.println("Error checking spawner validity: " + e.getMessage());
-                    toRemove.add(entry.getKey());
+                    LongList toRemove = new LongList();
+                    current.store.forEach((id, key, x, y, z) -> {
+                        if (gone.contains(PointUpdateQueue.chunkKey(BlockKey.x(key) >> 4, BlockKey.z(key) >> 4))) {
+                            toRemove.add(key);
+                        }
+                    });
+                    current.removeAll(toRemove);
                 }
+
+                // Spawners of every loaded chunk go into the index as one batch
+                LongList found = new LongList();
+                for (int i = 0, n = loadedChunks.size(); i < n; i++) {
+                    long chunkKey = loadedChunks.get(i);
+                    verifier.markChunkChanged(PointUpdateQueue.chunkX(chunkKey), PointUpdateQueue.chunkZ(chunkKey));
+                    ScanSnapshot.scanColumn(platformHelper, world, area,
+                        PointUpdateQueue.chunkX(chunkKey), PointUpdateQueue.chunkZ(chunkKey), found);
+                }
+                current.addAll(found);
+
+                for (int i = 0, n = removed.size(); i < n; i++) {
+                    long key = removed.get(i);
+                    markChunkChanged(key);
+                    // A cancelled break leaves the spawner in place
+                    if (!platformHelper.isSpawnerAt(world, BlockKey.x(key), BlockKey.y(key), BlockKey.z(key))) {
+                        current.remove(key);
+                    }
+                }
+
+                for (int i = 0, n = added.size(); i < n; i++) {
+                    long key = added.get(i);
+                    markChunkChanged(key);
+                    int x = BlockKey.x(key);
+                    int y = BlockKey.y(key);
+                    int z = BlockKey.z(key);
+                    if (current.store.contains(key) || !area.contains(x, y, z) || !platformHelper.isSpawnerAt(world, x, y, z)) {
+                        continue;
+                    }
+                    current.add(key);
+                }
+            } catch (Exception e) {
+                System.err.println("Error applying spawner updates: " + e.getMessage());
             }
+        }
+    }
+
+    /**
+     * Have the verifier look at the chunk around a changed position first
+     */
+    private void markChunkChanged(long key) {
+        verifier.markChunkChanged(BlockKey.x(key) >> 4, BlockKey.z(key) >> 4);
+    }
+
+    /**
+     * Remove spawners that no longer exist in the world
+     * Checks at most the configured number of entries per tick, so the cost does not grow with
+     * the number of tracked spawners; a full pass over the set spans several ticks.
+     */
+    private void verifyTrackedSpawners(Object world) {
+        synchronized (scanLock) {
+            TrackedSpawners current = tracked;
+            invalidSpawners.clear();
+            verifier.verify(platformHelper, world, current.store, config.getVerificationsPerTick(), invalidSpawners);
 
             // Remove invalid spawners from both data structures
-            for (Object blockPos : toRemove) {
-                SpawnerData data = spawnerPositions.remove(blockPos);
-                if (data != null && config.isEnableSpatialIndexing()) {
-                    spatialIndex.remove(blockPos, data.center);
-                }
+            if (!invalidSpawners.isEmpty()) {
+                current.removeAll(invalidSpawners);
             }
         }
     }
 
+    /**
+     * Time the last complete verification pass took to cover every tracked spawner, in milliseconds
+     * Returns -1 until the first pass completes.
+     */
+    public long getVerificationCoverageMillis() {
+        return verifier.getLastCoverageMillis();
+    }
+
+    /**
+     * Number of ticks the last complete verification pass took, or -1 until the first pass completes
+     */
+    public int getVerificationCoverageTicks() {
+        return verifier.getLastCoverageTicks();
+    }
+
     /**
      * Scan for spawners around the player
-     * Thread-safe with synchronized access to shared data structures
+     * World data is captured on the calling thread; the scan itself runs on the background
+     * worker when async scanning is enabled, and its result replaces the tracked set atomically.
      */
     public void scanForSpawners(Object player, Object world) {
-        spawnerPositions.clear();
-        spatialIndex.clear();
-        Position playerPos = platformHelper.getPlayerPosition(player);
-
-        int scanRadius = config.getScanRadius();
-        int playerBlockX = (int) Math.floor(playerPos.x);
-        int playerBlockY = (int) Math.floor(playerPos.y);
-        int playerBlockZ = (int) Math.floor(playerPos.z);
-
-        // Scan in a sphere around the player (not a cube)
-        // This reduces checks by ~47% compared to cubic scanning
-        int scanRadiusSquared = scanRadius * scanRadius;
-        try {
-            for (int x = -scanRadius; x <= scanRadius; x++) {
-                for (int y = -scanRadius; y <= scanRadius; y++) {
-                    for (int z = -scanRadius; z <= scanRadius; z++) {
-                        // Spherical boundary check: only scan blocks within the sphere
-                        int distanceSquared = x * x + y * y + z * z;
-                        if (distanceSquared > scanRadiusSquared) {
-                            continue; // Skip blocks outside the sphere
-                        }
+        requestScan(player, world, false);
+    }
 
-                        Object blockPos = platformHelper.createBlockPos(
-                            playerBlockX + x,
-                            playerBlockY + y,
-                            playerBlockZ + z
-                        );
+    /**
+     * Rescan only the part of the scan sphere the player has moved into
+     * Spawners left outside the new sphere are evicted; all other tracked spawners are kept as-is.
+     * Falls back to a full scan when there is no compatible previous scan to build on, or when a
+     * full scan is still running, since replacing it would drop that scan until the next interval.
+     */
+    public void rescanMovedArea(Object player, Object world) {
+        requestScan(player, world, true);
+    }
 
-                        if (platformHelper.isSpawner(world, blockPos)) {
-                            Position center = platformHelper.getBlockCenter(blockPos);
-                            SpawnerData data = new SpawnerData(blockPos, center);
-                            spawnerPositions.put(blockPos, data);  // Use put() for HashMap
+    /**
+     * Capture world data for a scan and hand it to the scan engine
+     * With time-sliced scanning the scan instead runs on this thread over the following ticks.
+     * Supersedes (and cancels) any scan that is still running.
+     */
+    private void requestScan(Object player, Object world, boolean incremental) {
+        synchronized (scanLock) {
+            Position playerPos = platformHelper.getPlayerPosition(player);
+            ScanArea area = scanAreaAround(playerPos);
+            ScanArea base = incremental && !fullScanPending && area.isCompatibleWith(publishedScanArea)
+                ? publishedScanArea : null;
 
-                            // Add to spatial index for efficient queries
-                            if (config.isEnableSpatialIndexing()) {
-                                spatialIndex.add(blockPos, center);
-                            }
-                        }
+            try {
+                if (base == null) {
+                    lastScanTime = System.currentTimeMillis();
+                    fullScanPending = true;
+                }
+                lastScanPosition = playerPos;
+
+                if (config.isTimeSlicedScanning()) {
+                    scanEngine.cancel();
+                    activeCursor = new ScanCursor(area, base);
+                    cursorFound.clear();
+                    advanceCursor(player, world);
+                    return;
+                }
+
+                activeCursor = null;
+                ScanSnapshot snapshot = ScanSnapshot.capture(platformHelper, world, area, base);
+                scanEngine.setScanThreads(config.getScanThreads());
+                scanEngine.submit(snapshot, config.isAsyncScanning(), this::publishScan);
+            } catch (Exception e) {
+                System.err.println("Critical error during spawner scan: " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Publish the result of a finished scan
+     * Called from the scan worker. A full scan's set is fully built before render() can see it; a
+     * movement rescan only evicts what the sphere left behind and adds what it entered, so the
+     * spawners in both spheres keep their entries.
+     */
+    private void publishScan(long generation, ScanSnapshot snapshot, LongList found) {
+        synchronized (scanLock) {
+            // A newer scan or toggle-off superseded this one while it ran
+            if (!scanEngine.isCurrent(generation)) {
+                return;
+            }
+
+            ScanArea area = snapshot.getArea();
+            if (snapshot.isIncremental()) {
+                TrackedSpawners current = tracked;
+                LongList evicted = new LongList();
+                current.store.forEach((id, key, x, y, z) -> {
+                    if (!area.contains(BlockKey.x(key), BlockKey.y(key), BlockKey.z(key))) {
+                        evicted.add(key);
                     }
+                });
+                current.removeAll(evicted);
+                current.addAll(found);
+            } else {
+                // One bulk load, so ordered index backends sort the whole set once
+                TrackedSpawners next = new TrackedSpawners();
+                next.addAll(found);
+                tracked = next;
+                fullScanPending = false;
+            }
+            publishedScanArea = area;
+        }
+    }
+
+    /**
+     * Run the time-sliced scan for one tick's budget and merge what it found
+     * Found spawners show up as soon as their slice is scanned; entries the scan no longer
+     * covers are only evicted once the whole area has been walked.
+     */
+    private void advanceCursor(Object player, Object world) {
+        synchronized (scanLock) {
+            ScanCursor cursor = activeCursor;
+            if (cursor == null) {
+                return;
+            }
+
+            try {
+                LongList found = cursorBuffer;
+                found.clear();
+                boolean finished = cursor.advance(platformHelper, world, config.getScanBudgetNanos(), found);
+
+                TrackedSpawners current = tracked;
+                for (int i = 0, n = found.size(); i < n; i++) {
+                    cursorFound.add(found.get(i));
+                }
+                current.addAll(found);
+
+                if (finished) {
+                    evictUncovered(current, cursor);
+                    publishedScanArea = cursor.getArea();
+                    if (!cursor.isIncremental()) {
+                        fullScanPending = false;
+                    }
+                    activeCursor = null;
+                    cursorFound.clear();
+                } else if (config.isShowScanProgress()) {
+                    platformHelper.sendMessage(player,
+                        String.format("§7Scanning for spawners: %.0f%%", cursor.getProgress() * 100.0f), true);
                 }
+            } catch (Exception e) {
+                System.err.println("Critical error during spawner scan: " + e.getMessage());
+                e.printStackTrace();
+                activeCursor = null;
             }
-            lastScanTime = System.currentTimeMillis();
-            lastScanPosition = playerPos;
-        } catch (Exception e) {
-            System.err.println("Critical error during spawner scan: " + e.getMessage());
-            e.printStackTrace();
         }
     }
 
+    /**
+     * Drop entries a finished time-sliced scan shows are gone or out of range
+     */
+    private void evictUncovered(TrackedSpawners current, ScanCursor cursor) {
+        ScanArea area = cursor.getArea();
+        LongList toRemove = new LongList();
+        current.store.forEach((id, key, x, y, z) -> {
+            boolean stale = cursor.isIncremental()
+                ? !area.contains(BlockKey.x(key), BlockKey.y(key), BlockKey.z(key))
+                : !cursorFound.contains(key);
+            if (stale) {
+                toRemove.add(key);
+            }
+        });
+        current.removeAll(toRemove);
+    }
+
+    /**
+     * Progress of the running time-sliced scan, from 0.0 to 1.0 (1.0 when none is running)
+     */
+    public float getScanProgress() {
+        ScanCursor cursor = activeCursor;
+        return cursor == null ? 1.0f : cursor.getProgress();
+    }
+
+    /**
+     * Build the scan sphere for the current config around a player position
+     */
+    private ScanArea scanAreaAround(Position playerPos) {
+        boolean blockEntities = config.isUseBlockEntityScan() && platformHelper.supportsBlockEntityScan();
+        int scanRadius = blockEntities
+            ? config.getScanRadius()
+            : Math.min(config.getScanRadius(), MAX_BLOCK_SCAN_RADIUS);
+        return new ScanArea(
+            (int) Math.floor(playerPos.x),
+            (int) Math.floor(playerPos.y),
+            (int) Math.floor(playerPos.z),
+            scanRadius,
+            blockEntities
+        );
+    }
+
     /**
      * Render all tracked spawners
      * Should be called from the platform's render event
      * Uses snapshot of spawner data to avoid blocking render thread
      */
     public void render(Object renderContext, Object player, Object world) {
-        if (!enabled || spawnerPositions.isEmpty()) return;
+        TrackedSpawners current = tracked;
+        if (!enabled || current.store.isEmpty()) return;
 
         try {
             Position playerPos = platformHelper.getPlayerPosition(player);
             int sphereRadius = config.getSphereRadius();
             int scanRadius = config.getScanRadius();
 
-            // Determine which spawners to render (snapshot to avoid holding lock)
-            List<SpawnerData> spawnersToRender;
-            if (config.isEnableSpatialIndexing()) {
+            // Determine which spawners to render, into the reused per-frame buffers
+            RenderCenters centers = renderCenters;
+            centers.clear();
+            IPlatformHelper.LookVector lookVec = config.isEnableFrustumCulling()
+                ? platformHelper.getPlayerLookVector(player) : null;
+            boolean culledByIndex = false;
+            if (config.isEnableSpatialIndexing() && lookVec != null) {
+                // Let the index cull whole cells against the view instead of testing every nearby spawner
+                renderBuffer.clear();
+                current.index.getInView(
+                    playerPos, lookVec.x, lookVec.y, lookVec.z, VIEW_FOV, sphereRadius,
+                    scanRadius + sphereRadius,
+                    renderBuffer
+                );
+                centers.addAll(renderBuffer);
+                culledByIndex = true;
+            } else if (config.isEnableSpatialIndexing()) {
                 // Use spatial index for efficient nearby query
-                List<SpawnerData> nearbyEntries = spatialIndex.getNearby(
-                    playerPos,
-                    scanRadius + sphereRadius
+                current.index.forEachNearby(
+                    playerPos.x, playerPos.y, playerPos.z,
+                    scanRadius + sphereRadius,
+                    centers
                 );
-
-                // Use ConcurrentHashMap.get() for thread-safe O(1) lookup
-                spawnersToRender = new ArrayList<>();
-                for (SpawnerData entry : nearbyEntries) {
-                    SpawnerData data = spawnerPositions.get(entry.blockPos);
-                    if (data != null) {
-                        spawnersToRender.add(data);
-                    }
-                }
             } else {
-                // Create snapshot to avoid concurrent modification
-                spawnersToRender = new ArrayList<>(spawnerPositions.values());
+                // One sequential pass over the store's coordinate columns
+                current.store.forEach(centers);
             }
 
             // Track nearest spawner for action bar message (to avoid spam with multiple spawners)
             double nearestDistance = Double.MAX_VALUE;
-            SpawnerData nearestSpawner = null;
-
-            // Render all tracked spawners (validation moved to tick phase for performance)
-            for (SpawnerData spawner : spawnersToRender) {
+            boolean nearestFound = false;
+
+            SphereColor insideColor = new SphereColor(
+                config.getInsideRangeColor().getRedFloat(),
+                config.getInsideRangeColor().getGreenFloat(),
+                config.getInsideRangeColor().getBlueFloat(),
+                config.getInsideRangeColor().getAlphaFloat()
+            );
+            SphereColor outsideColor = new SphereColor(
+                config.getOutsideRangeColor().getRedFloat(),
+                config.getOutsideRangeColor().getGreenFloat(),
+                config.getOutsideRangeColor().getBlueFloat(),
+                config.getOutsideRangeColor().getAlphaFloat()
+            );
+
+            // Collect every sphere of the frame, then hand them to the renderer in one call
+            // (validation moved to tick phase for performance)
+            SphereBatch batch = renderBatch;
+            batch.clear();
+            double[] coords = centers.coords;
+            for (int i = 0, n = centers.count; i < n; i++) {
+                double x = coords[3 * i];
+                double y = coords[3 * i + 1];
+                double z = coords[3 * i + 2];
                 // Calculate distance from player to spawner center
-                double distance = playerPos.distanceTo(spawner.center);
+                double dx = playerPos.x - x;
+                double dy = playerPos.y - y;
+                double dz = playerPos.z - z;
+                double distance = Math.sqrt(dx * dx + dy * dy + dz * dz);
 
                 // Only render if within extended range
                 if (distance < scanRadius + sphereRadius) {
-                    // Frustum culling (if enabled)
-                    if (config.isEnableFrustumCulling()) {
-                        IPlatformHelper.LookVector lookVec = platformHelper.getPlayerLookVector(player);
+                    // Frustum culling (if enabled and not already done by the index)
+                    if (lookVec != null && !culledByIndex) {
                         boolean isVisible = FrustumCuller.isVisible(
-                            spawner.center,
+                            x, y, z,
                             sphereRadius,
                             playerPos,
                             lookVec.x, lookVec.y, lookVec.z,
-                            90.0f // Default FOV, could be made configurable
+                            VIEW_FOV
                         );
                         if (!isVisible) {
                             continue; // Skip rendering this sphere
@@ -244,19 +574,7 @@ public class SpawnerSphereCore {
                     boolean inRange = distance <= sphereRadius;
 
                     // Select color based on range
-                    SphereColor color = inRange ?
-                        new SphereColor(
-                            config.getInsideRangeColor().getRedFloat(),
-                            config.getInsideRangeColor().getGreenFloat(),
-                            config.getInsideRangeColor().getBlueFloat(),
-                            config.getInsideRangeColor().getAlphaFloat()
-                        ) :
-                        new SphereColor(
-                            config.getOutsideRangeColor().getRedFloat(),
-                            config.getOutsideRangeColor().getGreenFloat(),
-                            config.getOutsideRangeColor().getBlueFloat(),
-                            config.getOutsideRangeColor().getAlphaFloat()
-                        );
+                    SphereColor color = inRange ? insideColor : outsideColor;
 
                     // Calculate segment count based on distance (LOD)
                     int segments;
@@ -271,27 +589,23 @@ public class SpawnerSphereCore {
                         segments = config.getSphereSegments();
                     }
 
-                    // Render the sphere
-                    renderer.renderSphere(
-                        renderContext,
-                        spawner.center.x,
-                        spawner.center.y,
-                        spawner.center.z,
-                        sphereRadius,
-                        color,
-                        segments
-                    );
-
-                    // Track nearest spawner in range for action bar message
+                    batch.add(x, y, z, sphereRadius, color, segments);
+
+                    // Track nearest drawn spawner in range for action bar message
                     if (config.isShowDistanceInActionBar() && inRange && distance < nearestDistance) {
                         nearestDistance = distance;
-                        nearestSpawner = spawner;
+                        nearestFound = true;
                     }
                 }
             }
 
+            batch.finish();
+            if (!batch.isEmpty()) {
+                renderer.renderSpheres(renderContext, batch);
+            }
+
             // Show distance to nearest spawner (avoids spam with multiple spawners)
-            if (config.isShowDistanceInActionBar() && nearestSpawner != null) {
+            if (config.isShowDistanceInActionBar() && nearestFound) {
                 String distanceText = String.format("§eSpawner: %.1f blocks", nearestDistance);
                 platformHelper.sendMessage(player, distanceText, true);
             }
@@ -309,8 +623,9 @@ public class SpawnerSphereCore {
     }
 
     /**
-     * Trigger a rescan immediately (e.g., when spawner placed nearby)
-     * This bypasses the normal scan interval and movement threshold
+     * Trigger a full rescan immediately, bypassing the scan interval and movement threshold
+     * Meant for recovery; single block and chunk changes go through {@link #addSpawnerAt},
+     * {@link #removeSpawnerAt}, {@link #onChunkLoaded} and {@link #onChunkUnloaded} instead.
      */
     public void triggerRescan(Object player, Object world) {
         if (enabled) {
@@ -327,8 +642,101 @@ public class SpawnerSphereCore {
      */
     public boolean isWithinScanRadius(Position position, Object player) {
         if (!enabled) return false;
-        Position playerPos = platformHelper.getPlayerPosition(player);
-        double distance = playerPos.distanceTo(position);
-        return distance <= config.getScanRadius();
+        double dx = platformHelper.getPlayerX(player) - position.x;
+        double dy = platformHelper.getPlayerY(player) - position.y;
+        double dz = platformHelper.getPlayerZ(player) - position.z;
+        double scanRadius = config.getScanRadius();
+        return dx * dx + dy * dy + dz * dz <= scanRadius * scanRadius;
+    }
+
+    /**
+     * One published set of tracked spawners and its spatial index
+     * Writers build a fresh instance and swap it in; in-place updates only happen under scanLock.
+     */
+    private final class TrackedSpawners {
+        // Canonical key store with O(1) lookup by block key; render() reads its published snapshot without locking
+        final SpawnerStore store = new SpawnerStore();
+        final SpatialIndex index = new SpatialIndex(config.getIndexBackend(), config.isLockFreeIndex());
+
+        void add(long key) {
+            store.add(key);
+
+            // Add to spatial index for efficient queries
+            if (config.isEnableSpatialIndexing()) {
+                index.add(key);
+            }
+        }
+
+        /**
+         * Track a batch of spawners, publishing one store snapshot and one index version for all of them
+         */
+        void addAll(LongList keys) {
+            if (keys.isEmpty()) {
+                return;
+            }
+            store.addAll(keys);
+            if (config.isEnableSpatialIndexing()) {
+                index.addAll(keys);
+            }
+        }
+
+        void remove(long key) {
+            if (!store.remove(key)) {
+                return;
+            }
+            if (config.isEnableSpatialIndexing()) {
+                index.remove(key);
+            }
+        }
+
+        void removeAll(LongList keys) {
+            if (keys.isEmpty()) {
+                return;
+            }
+            store.removeAll(keys);
+            if (config.isEnableSpatialIndexing()) {
+                index.removeAll(keys);
+            }
+        }
+    }
+
+    /**
+     * Centers of the spawners considered for one frame, packed as x, y, z triples
+     * Filled straight from the store or the index, so the render loop reads one flat array.
+     */
+    private static final class RenderCenters implements SpawnerStore.Visitor, SpatialIndex.Visitor {
+        double[] coords = new double[3 * 64];
+        int count;
+
+        void clear() {
+            count = 0;
+        }
+
+        void add(double x, double y, double z) {
+            if (3 * count + 3 > coords.length) {
+                coords = Arrays.copyOf(coords, coords.length * 2);
+            }
+            coords[3 * count] = x;
+            coords[3 * count + 1] = y;
+            coords[3 * count + 2] = z;
+            count++;
+        }
+
+        void addAll(LongList keys) {
+            for (int i = 0, n = keys.size(); i < n; i++) {
+                long key = keys.get(i);
+                add(BlockKey.centerX(key), BlockKey.centerY(key), BlockKey.centerZ(key));
+            }
+        }
+
+        @Override
+        public void visit(int id, long key, double x, double y, double z) {
+            add(x, y, z);
+        }
+
+        @Override
+        public void visit(long key, double distanceSquared) {
+            add(BlockKey.centerX(key), BlockKey.centerY(key), BlockKey.centerZ(key));
+        }
     }
 }
@@ -1,8 +1,11 @@
 package com.example.spawnersphere.common.config;
 
+import com.example.spawnersphere.common.performance.SpatialIndex;
+
 import java.io.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Properties;
 
 /**
@@ -29,12 +32,22 @@ public class ModConfig {
 
     // Performance optimizations
     private boolean enableSpatialIndexing = true;
+    private boolean lockFreeIndex = false; // Copy-on-write spatial index: render queries never wait on scan writes
+    private SpatialIndex.Backend indexBackend = SpatialIndex.Backend.GRID; // OCTREE suits spawner-dense areas, MORTON rarely-changing sets
     private boolean enableFrustumCulling = false; // Disabled by default (requires player look vector)
     private boolean enableLOD = true;
     private int lodMaxSegments = 32;
     private int lodMinSegments = 16;
     private double lodDistance = 32.0; // Distance at which LOD starts reducing detail
     private double movementThreshold = 16.0; // Player must move this far to trigger rescan
+    private boolean useBlockEntityScan = true; // Find spawners from chunk block entities when the platform supports it
+    private boolean asyncScanning = true; // Scan captured chunk data on a background thread
+    private int scanThreads = 0; // Threads a background scan fans sections out to (0 = one per spare core)
+    private boolean timeSlicedScanning = false; // Scan on the tick thread a slice per tick instead
+    private long scanBudgetNanos = 2000000; // Time each tick may spend on a time-sliced scan (2 ms)
+    private boolean showScanProgress = false; // Show time-sliced scan progress in the action bar
+    private long updateDebounce = 250; // milliseconds a burst of block/chunk updates must settle before it is applied
+    private int verificationsPerTick = 32; // Tracked spawners re-checked against the world each tick
 
     public int getSphereRadius() {
         return sphereRadius;
@@ -53,7 +66,7 @@ public class ModConfig {
     }
 
     public void setScanRadius(int scanRadius) {
-        this.scanRadius = Math.max(16, Math.min(256, scanRadius));
+        this.scanRadius = Math.max(16, Math.min(512, scanRadius));
         // Ensure sphereRadius <= scanRadius (logical validation)
         if (this.sphereRadius > this.scanRadius) {
             this.sphereRadius = this.scanRadius;
@@ -108,6 +121,22 @@ public class ModConfig {
         this.enableSpatialIndexing = enableSpatialIndexing;
     }
 
+    public boolean isLockFreeIndex() {
+        return lockFreeIndex;
+    }
+
+    public void setLockFreeIndex(boolean lockFreeIndex) {
+        this.lockFreeIndex = lockFreeIndex;
+    }
+
+    public SpatialIndex.Backend getIndexBackend() {
+        return indexBackend;
+    }
+
+    public void setIndexBackend(SpatialIndex.Backend indexBackend) {
+        this.indexBackend = indexBackend != null ? indexBackend : SpatialIndex.Backend.GRID;
+    }
+
     public boolean isEnableFrustumCulling() {
         return enableFrustumCulling;
     }
@@ -164,6 +193,70 @@ public class ModConfig {
         this.movementThreshold = Math.max(1.0, Math.min(64.0, movementThreshold));
     }
 
+    public boolean isUseBlockEntityScan() {
+        return useBlockEntityScan;
+    }
+
+    public void setUseBlockEntityScan(boolean useBlockEntityScan) {
+        this.useBlockEntityScan = useBlockEntityScan;
+    }
+
+    public boolean isAsyncScanning() {
+        return asyncScanning;
+    }
+
+    public void setAsyncScanning(boolean asyncScanning) {
+        this.asyncScanning = asyncScanning;
+    }
+
+    public int getScanThreads() {
+        return scanThreads;
+    }
+
+    public void setScanThreads(int scanThreads) {
+        this.scanThreads = Math.max(0, Math.min(64, scanThreads));
+    }
+
+    public boolean isTimeSlicedScanning() {
+        return timeSlicedScanning;
+    }
+
+    public void setTimeSlicedScanning(boolean timeSlicedScanning) {
+        this.timeSlicedScanning = timeSlicedScanning;
+    }
+
+    public long getScanBudgetNanos() {
+        return scanBudgetNanos;
+    }
+
+    public void setScanBudgetNanos(long scanBudgetNanos) {
+        this.scanBudgetNanos = Math.max(100000, Math.min(50000000, scanBudgetNanos));
+    }
+
+    public boolean isShowScanProgress() {
+        return showScanProgress;
+    }
+
+    public void setShowScanProgress(boolean showScanProgress) {
+        this.showScanProgress = showScanProgress;
+    }
+
+    public long getUpdateDebounce() {
+        return updateDebounce;
+    }
+
+    public void setUpdateDebounce(long updateDebounce) {
+        this.updateDebounce = Math.max(0, Math.min(5000, updateDebounce));
+    }
+
+    public int getVerificationsPerTick() {
+        return verificationsPerTick;
+    }
+
+    public void setVerificationsPerTick(int verificationsPerTick) {
+        this.verificationsPerTick = Math.max(1, Math.min(4096, verificationsPerTick));
+    }
+
     public static class ColorConfig {
         private int red;
         private int green;
@@ -234,6 +327,8 @@ public class ModConfig {
             setShowDistanceInActionBar(Boolean.parseBoolean(props.getProperty("showDistanceInActionBar", String.valueOf(showDistanceInActionBar))));
 
             setEnableSpatialIndexing(Boolean.parseBoolean(props.getProperty("enableSpatialIndexing", String.valueOf(enableSpatialIndexing))));
+            setLockFreeIndex(Boolean.parseBoolean(props.getProperty("lockFreeIndex", String.valueOf(lockFreeIndex))));
+            setIndexBackend(parseIndexBackend(props.getProperty("indexBackend", indexBackend.name())));
             setEnableFrustumCulling(Boolean.parseBoolean(props.getProperty("enableFrustumCulling", String.valueOf(enableFrustumCulling))));
             setEnableLOD(Boolean.parseBoolean(props.getProperty("enableLOD", String.valueOf(enableLOD))));
 
@@ -242,6 +337,14 @@ public class ModConfig {
             setLodMinSegments(Integer.parseInt(props.getProperty("lodMinSegments", String.valueOf(lodMinSegments))));
             setLodDistance(Double.parseDouble(props.getProperty("lodDistance", String.valueOf(lodDistance))));
             setMovementThreshold(Double.parseDouble(props.getProperty("movementThreshold", String.valueOf(movementThreshold))));
+            setUseBlockEntityScan(Boolean.parseBoolean(props.getProperty("useBlockEntityScan", String.valueOf(useBlockEntityScan))));
+            setAsyncScanning(Boolean.parseBoolean(props.getProperty("asyncScanning", String.valueOf(asyncScanning))));
+            setScanThreads(Integer.parseInt(props.getProperty("scanThreads", String.valueOf(scanThreads))));
+            setTimeSlicedScanning(Boolean.parseBoolean(props.getProperty("timeSlicedScanning", String.valueOf(timeSlicedScanning))));
+            setScanBudgetNanos(Long.parseLong(props.getProperty("scanBudgetNanos", String.valueOf(scanBudgetNanos))));
+            setShowScanProgress(Boolean.parseBoolean(props.getProperty("showScanProgress", String.valueOf(showScanProgress))));
+            setUpdateDebounce(Long.parseLong(props.getProperty("updateDebounce", String.valueOf(updateDebounce))));
+            setVerificationsPerTick(Integer.parseInt(props.getProperty("verificationsPerTick", String.valueOf(verificationsPerTick))));
 
             // Load colors
             outsideRangeColor = new ColorConfig(
@@ -272,6 +375,18 @@ public class ModConfig {
         }
     }
 
+    /**
+     * Parse a backend name case-insensitively, falling back to the grid for unknown names
+     */
+    private static SpatialIndex.Backend parseIndexBackend(String name) {
+        try {
+            return SpatialIndex.Backend.valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown indexBackend '" + name + "', using GRID");
+            return SpatialIndex.Backend.GRID;
+        }
+    }
+
     /**
      * Validate the entire configuration state
      * @throws IllegalStateException if configuration is invalid
@@ -293,8 +408,8 @@ public class ModConfig {
         if (sphereRadius < 1 || sphereRadius > 64) {
             errors.add("sphereRadius must be between 1 and 64");
         }
-        if (scanRadius < 16 || scanRadius > 256) {
-            errors.add("scanRadius must be between 16 and 256");
+        if (scanRadius < 16 || scanRadius > 512) {
+            errors.add("scanRadius must be between 16 and 512");
         }
         if (sphereSegments < 8 || sphereSegments > 64) {
             errors.add("sphereSegments must be between 8 and 64");
@@ -314,6 +429,18 @@ public class ModConfig {
         if (scanInterval < 1000) {
             errors.add("scanInterval must be >= 1000 milliseconds");
         }
+        if (scanBudgetNanos < 100000 || scanBudgetNanos > 50000000) {
+            errors.add("scanBudgetNanos must be between 100000 and 50000000");
+        }
+        if (scanThreads < 0 || scanThreads > 64) {
+            errors.add("scanThreads must be between 0 and 64");
+        }
+        if (updateDebounce < 0 || updateDebounce > 5000) {
+            errors.add("updateDebounce must be between 0 and 5000 milliseconds");
+        }
+        if (verificationsPerTick < 1 || verificationsPerTick > 4096) {
+            errors.add("verificationsPerTick must be between 1 and 4096");
+        }
 
         if (!errors.isEmpty()) {
             throw new IllegalStateException("Configuration validation failed:\n" + String.join("\n", errors));
@@ -333,12 +460,22 @@ public class ModConfig {
         renderEquator = true;
         showDistanceInActionBar = false;
         enableSpatialIndexing = true;
+        lockFreeIndex = false;
+        indexBackend = SpatialIndex.Backend.GRID;
         enableFrustumCulling = false;
         enableLOD = true;
         lodMaxSegments = 32;
         lodMinSegments = 16;
         lodDistance = 32.0;
         movementThreshold = 16.0;
+        useBlockEntityScan = true;
+        asyncScanning = true;
+        scanThreads = 0;
+        timeSlicedScanning = false;
+        scanBudgetNanos = 2000000;
+        showScanProgress = false;
+        updateDebounce = 250;
+        verificationsPerTick = 32;
     }
 
     /**
@@ -368,12 +505,22 @@ public class ModConfig {
             props.setProperty("showDistanceInActionBar", String.valueOf(showDistanceInActionBar));
 
             props.setProperty("enableSpatialIndexing", String.valueOf(enableSpatialIndexing));
+            props.setProperty("lockFreeIndex", String.valueOf(lockFreeIndex));
+            props.setProperty("indexBackend", indexBackend.name());
             props.setProperty("enableFrustumCulling", String.valueOf(enableFrustumCulling));
             props.setProperty("enableLOD", String.valueOf(enableLOD));
             props.setProperty("lodMaxSegments", String.valueOf(lodMaxSegments));
             props.setProperty("lodMinSegments", String.valueOf(lodMinSegments));
             props.setProperty("lodDistance", String.valueOf(lodDistance));
             props.setProperty("movementThreshold", String.valueOf(movementThreshold));
+            props.setProperty("useBlockEntityScan", String.valueOf(useBlockEntityScan));
+            props.setProperty("asyncScanning", String.valueOf(asyncScanning));
+            props.setProperty("scanThreads", String.valueOf(scanThreads));
+            props.setProperty("timeSlicedScanning", String.valueOf(timeSlicedScanning));
+            props.setProperty("scanBudgetNanos", String.valueOf(scanBudgetNanos));
+            props.setProperty("showScanProgress", String.valueOf(showScanProgress));
+            props.setProperty("updateDebounce", String.valueOf(updateDebounce));
+            props.setProperty("verificationsPerTick", String.valueOf(verificationsPerTick));
 
             // Save colors
             props.setProperty("outsideRangeColor.red", String.valueOf(outsideRangeColor.getRed()));
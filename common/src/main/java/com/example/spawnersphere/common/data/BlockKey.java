@@ -0,0 +1,65 @@
+package com.example.spawnersphere.common.data;
+
+import com.example.spawnersphere.common.platform.IPlatformHelper.Position;
+
+/**
+ * Block positions packed into one long, so the core can key maps and sets by primitives
+ * instead of each loader's BlockPos class
+ * Same layout as BlockPos.asLong in modern versions: 26 bits of X, 26 bits of Z and 12 bits
+ * of Y, which covers the whole world border and any build height.
+ */
+public final class BlockKey {
+
+    private static final int XZ_BITS = 26;
+    private static final int Y_BITS = 12;
+    private static final int X_SHIFT = Y_BITS + XZ_BITS;
+    private static final int Z_SHIFT = Y_BITS;
+    private static final long XZ_MASK = (1L << XZ_BITS) - 1;
+    private static final long Y_MASK = (1L << Y_BITS) - 1;
+
+    /**
+     * Key that is never a tracked block; it packs X = -2^25, outside the world border
+     */
+    public static final long NONE = Long.MIN_VALUE;
+
+    private BlockKey() {
+    }
+
+    public static long pack(int x, int y, int z) {
+        return ((x & XZ_MASK) << X_SHIFT) | ((z & XZ_MASK) << Z_SHIFT) | (y & Y_MASK);
+    }
+
+    /**
+     * Key of the block containing a point, e.g. a spawner's center
+     */
+    public static long of(Position point) {
+        return pack((int) Math.floor(point.x), (int) Math.floor(point.y), (int) Math.floor(point.z));
+    }
+
+    public static int x(long key) {
+        return (int) (key >> X_SHIFT);
+    }
+
+    public static int y(long key) {
+        return (int) (key << (64 - Y_BITS) >> (64 - Y_BITS));
+    }
+
+    public static int z(long key) {
+        return (int) (key << (64 - X_SHIFT) >> (64 - XZ_BITS));
+    }
+
+    /**
+     * Center of the block, where its sphere is drawn; the same as every loader's block center
+     */
+    public static double centerX(long key) {
+        return x(key) + 0.5;
+    }
+
+    public static double centerY(long key) {
+        return y(key) + 0.5;
+    }
+
+    public static double centerZ(long key) {
+        return z(key) + 0.5;
+    }
+}
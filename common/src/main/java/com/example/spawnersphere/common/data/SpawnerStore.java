@@ -0,0 +1,333 @@
+package com.example.spawnersphere.common.data;
+
+import com.example.spawnersphere.common.performance.LongList;
+import com.example.spawnersphere.common.platform.IPlatformHelper.Position;
+
+import java.util.Arrays;
+
+/**
+ * Canonical set of tracked spawners, stored as packed block keys (see {@link BlockKey})
+ * Each spawner gets an int id that indexes a {@code long[]} of keys, so a spawner costs one
+ * array slot instead of a loader block position and a center object; its center is
+ * derived from the key. Freed ids go on a free list and are handed out again. Lookup by block
+ * key uses an open-addressing table of ids, so it allocates nothing either.
+ * Thread-safe copy-on-write: every change builds a new snapshot and publishes it in one volatile
+ * write, so readers such as the render thread never lock or see a half-applied change. Batch
+ * changes copy once per batch; writers are serialized among themselves.
+ */
+public final class SpawnerStore {
+
+    /**
+     * Receives each stored spawner
+     */
+    public interface Visitor {
+        void visit(int id, long key, double x, double y, double z);
+    }
+
+    private static final int MIN_CAPACITY = 16;
+
+    /**
+     * One immutable version of the store; only the writer that created it changes it, before publishing
+     */
+    private static final class Snapshot {
+        long[] keys; // BlockKey.NONE in ids that are not in use
+        int highWater; // Every id below this has been handed out at least once
+        int[] freeIds;
+        int freeCount;
+        // Open-addressing table of id + 1 per slot, 0 when empty, hashed by block key
+        int[] table;
+        int mask;
+        int size;
+
+        Snapshot copy() {
+            Snapshot copy = new Snapshot();
+            copy.keys = keys.clone();
+            copy.highWater = highWater;
+            copy.freeIds = freeIds.clone();
+            copy.freeCount = freeCount;
+            copy.table = table.clone();
+            copy.mask = mask;
+            copy.size = size;
+            return copy;
+        }
+    }
+
+    private volatile Snapshot state = empty();
+    private final Object writeLock = new Object();
+
+    private static Snapshot empty() {
+        Snapshot empty = new Snapshot();
+        empty.keys = new long[MIN_CAPACITY];
+        Arrays.fill(empty.keys, BlockKey.NONE);
+        empty.freeIds = new int[MIN_CAPACITY];
+        empty.table = new int[MIN_CAPACITY * 2];
+        empty.mask = empty.table.length - 1;
+        return empty;
+    }
+
+    /**
+     * Store a spawner, unless one is already stored at this block
+     *
+     * @return id of the spawner at {@code key}
+     */
+    public int add(long key) {
+        synchronized (writeLock) {
+            Snapshot current = state;
+            int id = current.table[slotOf(current, key)] - 1;
+            if (id >= 0) {
+                return id; // Already stored; skip copying a snapshot
+            }
+            Snapshot next = current.copy();
+            id = insert(next, key);
+            state = next;
+            return id;
+        }
+    }
+
+    /**
+     * Store every spawner of a batch not already stored, publishing one new snapshot
+     */
+    public void addAll(LongList keys) {
+        if (keys == null) {
+            throw new IllegalArgumentException("keys cannot be null");
+        }
+        synchronized (writeLock) {
+            Snapshot next = null;
+            for (int i = 0, n = keys.size(); i < n; i++) {
+                long key = keys.get(i);
+                Snapshot target = next == null ? state : next;
+                if (target.table[slotOf(target, key)] != 0) {
+                    continue;
+                }
+                if (next == null) {
+                    next = state.copy();
+                }
+                insert(next, key);
+            }
+            if (next != null) {
+                state = next;
+            }
+        }
+    }
+
+    /**
+     * Remove the spawner at a block and free its id
+     *
+     * @return whether a spawner was stored there
+     */
+    public boolean remove(long key) {
+        synchronized (writeLock) {
+            Snapshot current = state;
+            if (current.table[slotOf(current, key)] == 0) {
+                return false; // Nothing to remove; skip copying a snapshot
+            }
+            Snapshot next = current.copy();
+            delete(next, slotOf(next, key));
+            state = next;
+            return true;
+        }
+    }
+
+    /**
+     * Remove the spawner at each block of a batch, publishing one new snapshot
+     * Keys with no spawner are skipped.
+     */
+    public void removeAll(LongList keys) {
+        if (keys == null) {
+            throw new IllegalArgumentException("keys cannot be null");
+        }
+        synchronized (writeLock) {
+            Snapshot next = null;
+            for (int i = 0, n = keys.size(); i < n; i++) {
+                long key = keys.get(i);
+                Snapshot target = next == null ? state : next;
+                if (target.table[slotOf(target, key)] == 0) {
+                    continue;
+                }
+                if (next == null) {
+                    next = state.copy();
+                }
+                delete(next, slotOf(next, key));
+            }
+            if (next != null) {
+                state = next;
+            }
+        }
+    }
+
+    /**
+     * @return id of the spawner at {@code key}, or -1 if none is stored
+     */
+    public int idOf(long key) {
+        Snapshot current = state;
+        return current.table[slotOf(current, key)] - 1;
+    }
+
+    public boolean contains(long key) {
+        return idOf(key) >= 0;
+    }
+
+    /**
+     * Key stored under an id, or {@link BlockKey#NONE} if the id is not in use
+     */
+    public long key(int id) {
+        Snapshot current = state;
+        return id < current.highWater ? current.keys[id] : BlockKey.NONE;
+    }
+
+    /**
+     * Bound on the ids in use: every id in use is below it, though ids below it may be free
+     * Lets callers walk the store a few ids at a time with {@link #key(int)}.
+     */
+    public int idLimit() {
+        return state.highWater;
+    }
+
+    public double x(int id) {
+        return BlockKey.centerX(key(id));
+    }
+
+    public double y(int id) {
+        return BlockKey.centerY(key(id));
+    }
+
+    public double z(int id) {
+        return BlockKey.centerZ(key(id));
+    }
+
+    /**
+     * Center of a spawner as a new Position, for APIs that take one
+     */
+    public Position center(int id) {
+        long key = key(id);
+        return new Position(BlockKey.centerX(key), BlockKey.centerY(key), BlockKey.centerZ(key));
+    }
+
+    /**
+     * Call {@code visitor} for every stored spawner, in id order
+     * Walks the snapshot current when the call starts, so the visitor may modify this store.
+     */
+    public void forEach(Visitor visitor) {
+        if (visitor == null) {
+            throw new IllegalArgumentException("visitor cannot be null");
+        }
+        Snapshot current = state;
+        long[] keys = current.keys;
+        for (int id = 0, n = current.highWater; id < n; id++) {
+            long key = keys[id];
+            if (key != BlockKey.NONE) {
+                visitor.visit(id, key, BlockKey.centerX(key), BlockKey.centerY(key), BlockKey.centerZ(key));
+            }
+        }
+    }
+
+    public int size() {
+        return state.size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Remove every spawner; ids start from 0 again
+     */
+    public void clear() {
+        synchronized (writeLock) {
+            state = empty();
+        }
+    }
+
+    private static int insert(Snapshot s, long key) {
+        int id = s.freeCount > 0 ? s.freeIds[--s.freeCount] : nextId(s);
+        s.keys[id] = key;
+        s.table[slotOf(s, key)] = id + 1;
+        // Keep the load factor at or below 1/2 so probe chains stay short
+        if (++s.size > s.table.length >> 1) {
+            rehash(s, s.table.length << 1);
+        }
+        return id;
+    }
+
+    private static void delete(Snapshot s, int slot) {
+        int id = s.table[slot] - 1;
+        shiftBack(s, slot);
+        s.keys[id] = BlockKey.NONE;
+        if (s.freeCount == s.freeIds.length) {
+            s.freeIds = Arrays.copyOf(s.freeIds, s.freeCount * 2);
+        }
+        s.freeIds[s.freeCount++] = id;
+        s.size--;
+    }
+
+    private static int nextId(Snapshot s) {
+        if (s.highWater == s.keys.length) {
+            int capacity = s.highWater * 2;
+            s.keys = Arrays.copyOf(s.keys, capacity);
+            Arrays.fill(s.keys, s.highWater, capacity, BlockKey.NONE);
+        }
+        return s.highWater++;
+    }
+
+    /**
+     * Slot holding {@code key}'s id, or the empty slot where it would go
+     */
+    private static int slotOf(Snapshot s, long key) {
+        int[] table = s.table;
+        int slot = mix(key) & s.mask;
+        int entry;
+        while ((entry = table[slot]) != 0) {
+            if (s.keys[entry - 1] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & s.mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Close the gap left at {@code gap} by moving back ids whose probe chain runs through it
+     */
+    private static void shiftBack(Snapshot s, int gap) {
+        int[] table = s.table;
+        int mask = s.mask;
+        int slot = gap;
+        while (true) {
+            slot = (slot + 1) & mask;
+            int entry = table[slot];
+            if (entry == 0) {
+                break;
+            }
+            int home = mix(s.keys[entry - 1]) & mask;
+            // Move the id if its home slot is not cyclically within (gap, slot]
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                table[gap] = entry;
+                gap = slot;
+            }
+        }
+        table[gap] = 0;
+    }
+
+    private static void rehash(Snapshot s, int capacity) {
+        int[] old = s.table;
+        s.table = new int[capacity];
+        s.mask = capacity - 1;
+        for (int entry : old) {
+            if (entry != 0) {
+                int slot = mix(s.keys[entry - 1]) & s.mask;
+                while (s.table[slot] != 0) {
+                    slot = (slot + 1) & s.mask;
+                }
+                s.table[slot] = entry;
+            }
+        }
+    }
+
+    /**
+     * Spread the key's bits so neighbouring blocks land in different slots
+     */
+    private static int mix(long key) {
+        key *= 0x9E3779B97F4A7C15L;
+        return (int) (key ^ (key >>> 32));
+    }
+}
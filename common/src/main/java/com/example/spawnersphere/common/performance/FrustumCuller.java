@@ -29,11 +29,29 @@ public class FrustumCuller {
         double lookY,
         double lookZ,
         float fov
+    ) {
+        return isVisible(spherePos.x, spherePos.y, spherePos.z, sphereRadius, playerPos, lookX, lookY, lookZ, fov);
+    }
+
+    /**
+     * Check if a sphere is potentially visible, given its center as coordinates
+     * Same test as {@link #isVisible(Position, float, Position, double, double, double, float)}.
+     */
+    public static boolean isVisible(
+        double sphereX,
+        double sphereY,
+        double sphereZ,
+        float sphereRadius,
+        Position playerPos,
+        double lookX,
+        double lookY,
+        double lookZ,
+        float fov
     ) {
         // Vector from player to sphere
-        double dx = spherePos.x - playerPos.x;
-        double dy = spherePos.y - playerPos.y;
-        double dz = spherePos.z - playerPos.z;
+        double dx = sphereX - playerPos.x;
+        double dy = sphereY - playerPos.y;
+        double dz = sphereZ - playerPos.z;
 
         // Distance to sphere
         double distance = Math.sqrt(dx * dx + dy * dy + dz * dz);
@@ -0,0 +1,96 @@
+package com.example.spawnersphere.common.performance;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash set of primitive longs
+ * Same linear probing as {@link LongObjectMap}, with a separate occupancy array so every long,
+ * including 0, can be stored; membership tests neither box nor allocate.
+ * Not thread-safe; callers guard it the way they would a HashSet.
+ */
+public final class LongHashSet {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private boolean[] used;
+    private int mask;
+    private int size;
+
+    public LongHashSet() {
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * @return whether the key was added, i.e. was not already present
+     */
+    public boolean add(long key) {
+        int slot = mix(key) & mask;
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        used[slot] = true;
+        // Keep the load factor at or below 1/2 so probe chains stay short
+        if (++size > (mask + 1) >> 1) {
+            rehash((mask + 1) << 1);
+        }
+        return true;
+    }
+
+    public boolean contains(long key) {
+        int slot = mix(key) & mask;
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        if (size > 0) {
+            Arrays.fill(used, false);
+            size = 0;
+        }
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        boolean[] oldUsed = used;
+        allocate(capacity);
+        for (int slot = 0; slot < oldUsed.length; slot++) {
+            if (oldUsed[slot]) {
+                int target = mix(oldKeys[slot]) & mask;
+                while (used[target]) {
+                    target = (target + 1) & mask;
+                }
+                keys[target] = oldKeys[slot];
+                used[target] = true;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int mix(long key) {
+        key *= 0x9E3779B97F4A7C15L;
+        return (int) (key ^ (key >>> 32));
+    }
+}
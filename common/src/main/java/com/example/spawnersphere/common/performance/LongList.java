@@ -0,0 +1,84 @@
+package com.example.spawnersphere.common.performance;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of primitive longs, e.g. packed block keys
+ * Stands in for a List of Long wherever keys are collected in bulk: adding neither boxes nor
+ * allocates once the backing array has grown to fit, so callers can reuse one list per tick
+ * or per frame.
+ * Not thread-safe; callers guard it the way they would an ArrayList.
+ */
+public final class LongList {
+
+    private long[] elements;
+    private int size;
+
+    public LongList() {
+        this(16);
+    }
+
+    public LongList(int capacity) {
+        this.elements = new long[Math.max(1, capacity)];
+    }
+
+    public void add(long value) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, size * 2);
+        }
+        elements[size++] = value;
+    }
+
+    public void addAll(LongList other) {
+        if (size + other.size > elements.length) {
+            elements = Arrays.copyOf(elements, Math.max(size + other.size, size * 2));
+        }
+        System.arraycopy(other.elements, 0, elements, size, other.size);
+        size += other.size;
+    }
+
+    public long get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + " out of " + size);
+        }
+        return elements[index];
+    }
+
+    /**
+     * Remove and return the last element
+     */
+    public long removeLast() {
+        if (size == 0) {
+            throw new IndexOutOfBoundsException("list is empty");
+        }
+        return elements[--size];
+    }
+
+    public boolean contains(long value) {
+        for (int i = 0; i < size; i++) {
+            if (elements[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Forget every element; the backing array is kept for reuse
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    public long[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+}
@@ -0,0 +1,574 @@
+package com.example.spawnersphere.common.performance;
+
+import com.example.spawnersphere.common.data.BlockKey;
+
+import java.util.Arrays;
+
+/**
+ * Packed-array backend for spawner sets that are rebuilt by scans and then only read
+ * Spawners are kept sorted by the Z-order (Morton) code of their block, in a {@code long[]}
+ * with a parallel array of block keys. A box query binary-searches to the box's lowest code,
+ * then scans forward through contiguous codes, jumping over runs that leave the box; the box
+ * test itself only reads the code array. A whole batch is bulk-loaded with one sort and a merge, but a single
+ * insert or delete shifts the arrays, so point updates cost O(n).
+ */
+final class MortonArray implements SpatialBackend {
+
+    // Block coordinates are offset to unsigned: 26 bits for X and Z (+-33M), 12 bits for Y (+-2048)
+    private static final int HORIZONTAL_BITS = 26;
+    private static final int VERTICAL_BITS = 12;
+    private static final int HORIZONTAL_OFFSET = 1 << (HORIZONTAL_BITS - 1);
+    private static final int VERTICAL_OFFSET = 1 << (VERTICAL_BITS - 1);
+    private static final int LINEAR_MISSES = 8; // Codes outside the box to step over before jumping
+
+    // Bit layout, lowest first: 12 rounds of x,y,z, then 14 rounds of x,z
+    private static final int[] X_BITS = new int[HORIZONTAL_BITS];
+    private static final int[] Y_BITS = new int[VERTICAL_BITS];
+    private static final int[] Z_BITS = new int[HORIZONTAL_BITS];
+    private static final long X_MASK;
+    private static final long Y_MASK;
+    private static final long Z_MASK;
+    // For each bit, the bits of the same axis below it
+    private static final long[] LOWER_SAME_AXIS = new long[64];
+
+    static {
+        long xMask = 0;
+        long yMask = 0;
+        long zMask = 0;
+        for (int i = 0; i < HORIZONTAL_BITS; i++) {
+            if (i < VERTICAL_BITS) {
+                X_BITS[i] = 3 * i;
+                Y_BITS[i] = 3 * i + 1;
+                Z_BITS[i] = 3 * i + 2;
+            } else {
+                X_BITS[i] = 3 * VERTICAL_BITS + 2 * (i - VERTICAL_BITS);
+                Z_BITS[i] = X_BITS[i] + 1;
+            }
+        }
+        for (int i = 0; i < HORIZONTAL_BITS; i++) {
+            LOWER_SAME_AXIS[X_BITS[i]] = xMask;
+            xMask |= 1L << X_BITS[i];
+            LOWER_SAME_AXIS[Z_BITS[i]] = zMask;
+            zMask |= 1L << Z_BITS[i];
+        }
+        for (int i = 0; i < VERTICAL_BITS; i++) {
+            LOWER_SAME_AXIS[Y_BITS[i]] = yMask;
+            yMask |= 1L << Y_BITS[i];
+        }
+        X_MASK = xMask;
+        Y_MASK = yMask;
+        Z_MASK = zMask;
+    }
+
+    // Sorted by unsigned code; only the first size slots are in use
+    private long[] codes;
+    private long[] keys;
+    private int size;
+
+    // Block bounds of everything ever inserted, so nearest() knows when its search box covers all of it
+    private int minX = Integer.MAX_VALUE;
+    private int minY = Integer.MAX_VALUE;
+    private int minZ = Integer.MAX_VALUE;
+    private int maxX = Integer.MIN_VALUE;
+    private int maxY = Integer.MIN_VALUE;
+    private int maxZ = Integer.MIN_VALUE;
+
+    MortonArray() {
+        this.codes = new long[16];
+        this.keys = new long[16];
+    }
+
+    private MortonArray(MortonArray other) {
+        this.codes = Arrays.copyOf(other.codes, Math.max(16, other.size));
+        this.keys = Arrays.copyOf(other.keys, Math.max(16, other.size));
+        this.size = other.size;
+        this.minX = other.minX;
+        this.minY = other.minY;
+        this.minZ = other.minZ;
+        this.maxX = other.maxX;
+        this.maxY = other.maxY;
+        this.maxZ = other.maxZ;
+    }
+
+    @Override
+    public MortonArray copy() {
+        return new MortonArray(this);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private static long spread(int value, int[] bits) {
+        long code = 0;
+        for (int i = 0; i < bits.length; i++) {
+            code |= (long) ((value >>> i) & 1) << bits[i];
+        }
+        return code;
+    }
+
+    /**
+     * Z-order code of a block; coordinates outside the encodable range are clamped
+     */
+    static long encode(int x, int y, int z) {
+        long ux = Math.max(0L, Math.min((1L << HORIZONTAL_BITS) - 1, (long) x + HORIZONTAL_OFFSET));
+        long uy = Math.max(0L, Math.min((1L << VERTICAL_BITS) - 1, (long) y + VERTICAL_OFFSET));
+        long uz = Math.max(0L, Math.min((1L << HORIZONTAL_BITS) - 1, (long) z + HORIZONTAL_OFFSET));
+        return spread((int) ux, X_BITS) | spread((int) uy, Y_BITS) | spread((int) uz, Z_BITS);
+    }
+
+    private static long codeOf(long key) {
+        return encode(BlockKey.x(key), BlockKey.y(key), BlockKey.z(key));
+    }
+
+    /**
+     * Code of a block about to be stored, widening the bounds to include it
+     */
+    private long claim(long key) {
+        int x = BlockKey.x(key);
+        int y = BlockKey.y(key);
+        int z = BlockKey.z(key);
+        if (Math.abs((long) x) >= HORIZONTAL_OFFSET || Math.abs((long) z) >= HORIZONTAL_OFFSET
+                || y < -VERTICAL_OFFSET || y >= VERTICAL_OFFSET) {
+            throw new IllegalArgumentException("position is outside the indexable range");
+        }
+        minX = Math.min(minX, x);
+        minY = Math.min(minY, y);
+        minZ = Math.min(minZ, z);
+        maxX = Math.max(maxX, x);
+        maxY = Math.max(maxY, y);
+        maxZ = Math.max(maxZ, z);
+        return encode(x, y, z);
+    }
+
+    /**
+     * First slot at or after {@code from} whose code is not below {@code code}
+     */
+    private int lowerBound(int from, long code) {
+        int low = from;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Long.compareUnsigned(codes[mid], code) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * First slot whose code is above {@code code}
+     */
+    private int upperBound(long code) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Long.compareUnsigned(codes[mid], code) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed > codes.length) {
+            int capacity = Math.max(needed, codes.length * 2);
+            codes = Arrays.copyOf(codes, capacity);
+            keys = Arrays.copyOf(keys, capacity);
+        }
+    }
+
+    @Override
+    public void insert(long key) {
+        long code = claim(key);
+        int slot = upperBound(code);
+        ensureCapacity(size + 1);
+        System.arraycopy(codes, slot, codes, slot + 1, size - slot);
+        System.arraycopy(keys, slot, keys, slot + 1, size - slot);
+        codes[slot] = code;
+        keys[slot] = key;
+        size++;
+    }
+
+    /**
+     * Sort the batch once and merge it with the entries already present
+     */
+    @Override
+    public void insertAll(LongList batch) {
+        int count = batch.size();
+        if (count == 0) {
+            return;
+        }
+        long[] batchCodes = new long[count];
+        long[] batchKeys = batch.toArray();
+        for (int i = 0; i < count; i++) {
+            batchCodes[i] = claim(batchKeys[i]);
+        }
+        sort(batchCodes, batchKeys, 0, count - 1);
+
+        long[] mergedCodes = new long[Math.max(16, size + count)];
+        long[] mergedKeys = new long[mergedCodes.length];
+        int i = 0;
+        int j = 0;
+        int out = 0;
+        while (i < size || j < count) {
+            if (j == count || (i < size && Long.compareUnsigned(codes[i], batchCodes[j]) <= 0)) {
+                mergedCodes[out] = codes[i];
+                mergedKeys[out++] = keys[i++];
+            } else {
+                mergedCodes[out] = batchCodes[j];
+                mergedKeys[out++] = batchKeys[j++];
+            }
+        }
+        codes = mergedCodes;
+        keys = mergedKeys;
+        size = out;
+    }
+
+    /**
+     * Quicksort of the parallel arrays by unsigned code, insertion sort for short runs
+     */
+    private static void sort(long[] keys, long[] values, int low, int high) {
+        while (high - low > 16) {
+            int mid = (low + high) >>> 1;
+            // Median of three as the pivot
+            if (Long.compareUnsigned(keys[mid], keys[low]) < 0) {
+                swap(keys, values, mid, low);
+            }
+            if (Long.compareUnsigned(keys[high], keys[low]) < 0) {
+                swap(keys, values, high, low);
+            }
+            if (Long.compareUnsigned(keys[high], keys[mid]) < 0) {
+                swap(keys, values, high, mid);
+            }
+            long pivot = keys[mid];
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (Long.compareUnsigned(keys[i], pivot) < 0) {
+                    i++;
+                }
+                while (Long.compareUnsigned(keys[j], pivot) > 0) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(keys, values, i++, j--);
+                }
+            }
+            // Recurse into the smaller side, loop on the larger
+            if (j - low < high - i) {
+                sort(keys, values, low, j);
+                low = i;
+            } else {
+                sort(keys, values, i, high);
+                high = j;
+            }
+        }
+        for (int i = low + 1; i <= high; i++) {
+            long key = keys[i];
+            long value = values[i];
+            int j = i - 1;
+            while (j >= low && Long.compareUnsigned(keys[j], key) > 0) {
+                keys[j + 1] = keys[j];
+                values[j + 1] = values[j];
+                j--;
+            }
+            keys[j + 1] = key;
+            values[j + 1] = value;
+        }
+    }
+
+    private static void swap(long[] keys, long[] values, int a, int b) {
+        long key = keys[a];
+        keys[a] = keys[b];
+        keys[b] = key;
+        long value = values[a];
+        values[a] = values[b];
+        values[b] = value;
+    }
+
+    /**
+     * Slot of the block a key packs, or -1; each block has its own code, so at most one slot matches
+     */
+    private int slotOf(long key) {
+        long code = codeOf(key);
+        int slot = lowerBound(0, code);
+        return slot < size && codes[slot] == code ? slot : -1;
+    }
+
+    @Override
+    public boolean contains(long key) {
+        return slotOf(key) >= 0;
+    }
+
+    @Override
+    public void delete(long key) {
+        int slot = slotOf(key);
+        if (slot < 0) {
+            return;
+        }
+        System.arraycopy(codes, slot + 1, codes, slot, size - slot - 1);
+        System.arraycopy(keys, slot + 1, keys, slot, size - slot - 1);
+        size--;
+    }
+
+    /**
+     * Remove a batch with one pass over the array rather than one shift per spawner
+     * Matching slots are found by binary search and marked, then the survivors are packed down.
+     */
+    @Override
+    public void deleteAll(LongList batch) {
+        int cleared = 0;
+        for (int i = 0, n = batch.size(); i < n; i++) {
+            int slot = slotOf(batch.get(i));
+            if (slot >= 0 && keys[slot] != BlockKey.NONE) {
+                keys[slot] = BlockKey.NONE;
+                cleared++;
+            }
+        }
+        if (cleared == 0) {
+            return;
+        }
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (keys[i] != BlockKey.NONE) {
+                codes[kept] = codes[i];
+                keys[kept++] = keys[i];
+            }
+        }
+        size = kept;
+    }
+
+    /**
+     * Whether a code's block lies in the box spanned by the codes of its low and high corners
+     * Each axis's bits keep their order under its mask, so masked codes compare like coordinates.
+     */
+    private static boolean inBox(long code, long low, long high) {
+        long x = code & X_MASK;
+        long y = code & Y_MASK;
+        long z = code & Z_MASK;
+        return Long.compareUnsigned(x, low & X_MASK) >= 0 && Long.compareUnsigned(x, high & X_MASK) <= 0
+            && y >= (low & Y_MASK) && y <= (high & Y_MASK)
+            && Long.compareUnsigned(z, low & Z_MASK) >= 0 && Long.compareUnsigned(z, high & Z_MASK) <= 0;
+    }
+
+    /**
+     * First slot at or after {@code slot} whose block lies in the box, or size if there is none
+     * Slots are scanned in code order; once a code leaves the box, the scan jumps to the next
+     * code that re-enters it (Tropf and Herzog's BIGMIN) with a binary search.
+     */
+    private int nextInBox(int slot, long low, long high) {
+        int misses = 0;
+        while (slot < size) {
+            long code = codes[slot];
+            if (Long.compareUnsigned(code, high) > 0) {
+                return size;
+            }
+            if (inBox(code, low, high)) {
+                return slot;
+            }
+            // Stepping over a short run is cheaper than computing where it ends
+            if (++misses < LINEAR_MISSES) {
+                slot++;
+            } else {
+                misses = 0;
+                slot = gallop(slot + 1, bigMin(code, low, high));
+            }
+        }
+        return size;
+    }
+
+    /**
+     * lowerBound for a target that is usually close: probe 1, 2, 4... slots ahead, then bisect
+     */
+    private int gallop(int from, long code) {
+        int step = 1;
+        int bound = from;
+        while (bound < size && Long.compareUnsigned(codes[bound], code) < 0) {
+            from = bound + 1;
+            bound += step;
+            step <<= 1;
+        }
+        int low = from;
+        int high = Math.min(bound, size);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Long.compareUnsigned(codes[mid], code) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Smallest code above {@code code} that lies inside the box spanned by {@code low} and {@code high}
+     */
+    static long bigMin(long code, long low, long high) {
+        long result = high;
+        // Above the first bit where the corners differ, every code in range matches both
+        for (int bit = 63 - Long.numberOfLeadingZeros(low ^ high); bit >= 0; bit--) {
+            long mask = 1L << bit;
+            long lower = LOWER_SAME_AXIS[bit];
+            boolean c = (code & mask) != 0;
+            boolean l = (low & mask) != 0;
+            boolean h = (high & mask) != 0;
+            if (!c && !l && h) {
+                // The box splits here; remember its upper half and continue in the lower half
+                result = (low | mask) & ~lower;
+                high = (high & ~mask) | lower;
+            } else if (!c && l && h) {
+                return low; // The whole remaining box lies above the code
+            } else if (c && !l && !h) {
+                return result; // The code is past the box here; the last upper half is next
+            } else if (c && !l && h) {
+                low = (low | mask) & ~lower;
+            }
+        }
+        return result;
+    }
+
+    private static int clampedFloor(double value) {
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, Math.floor(value)));
+    }
+
+    @Override
+    public int query(double x, double y, double z, double radius, SpatialIndex.Visitor visitor, LongList out) {
+        return scan(clampedFloor(x - radius), clampedFloor(y - radius), clampedFloor(z - radius),
+            clampedFloor(x + radius), clampedFloor(y + radius), clampedFloor(z + radius),
+            null, x, y, z, radius * radius, visitor, out, null);
+    }
+
+    @Override
+    public int query(QueryRegion region, LongList out) {
+        return scan(clampedFloor(region.minX), clampedFloor(region.minY), clampedFloor(region.minZ),
+            clampedFloor(region.maxX), clampedFloor(region.maxY), clampedFloor(region.maxZ),
+            region, 0, 0, 0, 0, null, out, null);
+    }
+
+    /**
+     * Where to cut [low, high] so neither part crosses a multiple of the smallest power of two
+     * that fits the range; the range crosses at most one such multiple
+     *
+     * @return first coordinate of the upper part, or high + 1 if no cut is needed
+     */
+    private static int splitPoint(int low, int high) {
+        long extent = (long) high - low + 1;
+        if (extent <= 1 || extent > (1L << HORIZONTAL_BITS)) {
+            return high + 1;
+        }
+        long alignment = Long.highestOneBit(extent - 1) << 1;
+        long cut = Math.floorDiv((long) high, alignment) * alignment;
+        return cut > low ? (int) cut : high + 1;
+    }
+
+    /**
+     * Shared box walk: region queries test each spawner against {@code region}; otherwise
+     * spawners within {@code limitSquared} of the point are counted, visited, collected and
+     * offered to {@code heap}, each of which may be null.
+     * A box that straddles a coarse Z-order boundary spans a huge code range, so it is first
+     * cut into at most eight pieces that each stay within one aligned cube.
+     */
+    private int scan(int x0, int y0, int z0, int x1, int y1, int z1, QueryRegion region,
+                     double x, double y, double z, double limitSquared,
+                     SpatialIndex.Visitor visitor, LongList out, NearestHeap heap) {
+        if (size == 0 || x0 > maxX || x1 < minX || y0 > maxY || y1 < minY || z0 > maxZ || z1 < minZ) {
+            return 0;
+        }
+        int splitX = splitPoint(x0, x1);
+        int splitY = splitPoint(y0, y1);
+        int splitZ = splitPoint(z0, z1);
+        int found = 0;
+        for (int px = 0; px < 2; px++) {
+            int pieceX0 = px == 0 ? x0 : splitX;
+            int pieceX1 = px == 0 ? splitX - 1 : x1;
+            for (int py = 0; py < 2 && pieceX0 <= pieceX1; py++) {
+                int pieceY0 = py == 0 ? y0 : splitY;
+                int pieceY1 = py == 0 ? splitY - 1 : y1;
+                for (int pz = 0; pz < 2 && pieceY0 <= pieceY1; pz++) {
+                    int pieceZ0 = pz == 0 ? z0 : splitZ;
+                    int pieceZ1 = pz == 0 ? splitZ - 1 : z1;
+                    if (pieceZ0 <= pieceZ1) {
+                        found += scanPiece(encode(pieceX0, pieceY0, pieceZ0), encode(pieceX1, pieceY1, pieceZ1),
+                            region, x, y, z, limitSquared, visitor, out, heap);
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    private int scanPiece(long low, long high, QueryRegion region, double x, double y, double z,
+                          double limitSquared, SpatialIndex.Visitor visitor, LongList out, NearestHeap heap) {
+        int found = 0;
+        for (int slot = nextInBox(lowerBound(0, low), low, high); slot < size; slot = nextInBox(slot + 1, low, high)) {
+            long entry = keys[slot];
+            double cx = BlockKey.centerX(entry);
+            double cy = BlockKey.centerY(entry);
+            double cz = BlockKey.centerZ(entry);
+            if (region != null) {
+                if (region.contains(cx, cy, cz)) {
+                    found++;
+                    if (out != null) {
+                        out.add(entry);
+                    }
+                }
+                continue;
+            }
+            double ex = cx - x;
+            double ey = cy - y;
+            double ez = cz - z;
+            double distanceSquared = ex * ex + ey * ey + ez * ez;
+            if (distanceSquared <= limitSquared) {
+                found++;
+                if (heap != null) {
+                    heap.offer(entry, distanceSquared);
+                }
+                if (visitor != null) {
+                    visitor.visit(entry, distanceSquared);
+                }
+                if (out != null) {
+                    out.add(entry);
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Box searches of doubling size around the point, until the box holds the k nearest
+     * A box of half-width h contains everything within h, so once the k-th candidate is no
+     * farther than h, nothing outside can beat it.
+     */
+    @Override
+    public void nearest(double x, double y, double z, double maxDistance, NearestHeap heap) {
+        if (size == 0) {
+            return;
+        }
+        double limitSquared = maxDistance * maxDistance;
+        for (double half = 16; ; half *= 2) {
+            double reach = Math.min(half, maxDistance);
+            int x0 = clampedFloor(x - reach);
+            int y0 = clampedFloor(y - reach);
+            int z0 = clampedFloor(z - reach);
+            int x1 = clampedFloor(x + reach);
+            int y1 = clampedFloor(y + reach);
+            int z1 = clampedFloor(z + reach);
+
+            heap.clear();
+            scan(x0, y0, z0, x1, y1, z1, null, x, y, z, limitSquared, null, null, heap);
+
+            boolean coversAll = x0 <= minX && y0 <= minY && z0 <= minZ && x1 >= maxX && y1 >= maxY && z1 >= maxZ;
+            if (reach >= maxDistance || coversAll || (heap.isFull() && heap.limit(limitSquared) <= reach * reach)) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.spawnersphere.common.performance;
+
+/**
+ * Bounded max-heap of the closest spawners seen so far, keyed by squared distance
+ * The farthest candidate sits at the root, so a closer one replaces it in O(log k).
+ */
+final class NearestHeap {
+    final long[] keys;
+    final double[] distances;
+    int size;
+
+    NearestHeap(int capacity) {
+        this.keys = new long[capacity];
+        this.distances = new double[capacity];
+    }
+
+    boolean isFull() {
+        return size == keys.length;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    /**
+     * Squared distance a spawner must not exceed to still be of interest
+     */
+    double limit(double limitSquared) {
+        return size < keys.length ? limitSquared : Math.min(limitSquared, distances[0]);
+    }
+
+    void offer(long key, double distanceSquared) {
+        if (size < keys.length) {
+            int slot = size++;
+            // Sift up
+            while (slot > 0) {
+                int parent = (slot - 1) >> 1;
+                if (distances[parent] >= distanceSquared) {
+                    break;
+                }
+                keys[slot] = keys[parent];
+                distances[slot] = distances[parent];
+                slot = parent;
+            }
+            keys[slot] = key;
+            distances[slot] = distanceSquared;
+        } else if (distanceSquared < distances[0]) {
+            siftDown(key, distanceSquared);
+        }
+    }
+
+    /**
+     * Put {@code key} at the root, replacing the farthest candidate, and restore heap order
+     */
+    private void siftDown(long key, double distanceSquared) {
+        int slot = 0;
+        while (true) {
+            int child = 2 * slot + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && distances[child + 1] > distances[child]) {
+                child++;
+            }
+            if (distances[child] <= distanceSquared) {
+                break;
+            }
+            keys[slot] = keys[child];
+            distances[slot] = distances[child];
+            slot = child;
+        }
+        keys[slot] = key;
+        distances[slot] = distanceSquared;
+    }
+
+    /**
+     * Empty the heap into {@code out}, nearest first
+     *
+     * @return number of spawners added
+     */
+    int drainInto(LongList out) {
+        int count = size;
+        long[] sorted = new long[count];
+        while (size > 0) {
+            sorted[size - 1] = keys[0];
+            int last = --size;
+            if (last > 0) {
+                siftDown(keys[last], distances[last]);
+            }
+        }
+        for (long key : sorted) {
+            out.add(key);
+        }
+        return count;
+    }
+}
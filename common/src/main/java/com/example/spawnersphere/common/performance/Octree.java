@@ -0,0 +1,400 @@
+package com.example.spawnersphere.common.performance;
+
+import com.example.spawnersphere.common.data.BlockKey;
+
+import java.util.Arrays;
+
+/**
+ * Adaptive sparse octree backend for dense spawner fields
+ * Leaves split once they hold more than a few spawners, so a chunk column packed with
+ * hundreds of spawners costs a query O(log n) node visits instead of a scan of its cells.
+ * Sparse areas stay shallow: the root grows outward as a single leaf until it has to split.
+ * Copies share every node; each version changes only the nodes it owns and copies the
+ * path to any node it does not, so a copy-on-write update costs O(depth), not O(n).
+ */
+final class Octree implements SpatialBackend {
+
+    private static final int LEAF_CAPACITY = 8; // Leaves split past this, unless already one block wide
+    private static final int INITIAL_SHIFT = 4; // The first root is one 16-block cube
+    private static final int MAX_SHIFT = 30;
+
+    // Nodes created by this version carry this token; any other node is shared and copied before changing
+    private Object owner = new Object();
+    private Node root; // null while empty
+    private int size;
+
+    Octree() {
+    }
+
+    private Octree(Octree other) {
+        this.root = other.root;
+        this.size = other.size;
+    }
+
+    @Override
+    public Octree copy() {
+        // Both versions give up ownership, so neither can change nodes the other still sees
+        owner = new Object();
+        return new Octree(this);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private static final class Node {
+        final Object owner;
+        final int minX;
+        final int minY;
+        final int minZ;
+        final int shift; // Side length is 1 << shift blocks
+        Node[] children; // null for a leaf
+        long[] entries; // Leaf block keys; the first count are in use
+        int count; // Entries in this subtree
+
+        Node(Object owner, int minX, int minY, int minZ, int shift) {
+            this.owner = owner;
+            this.minX = minX;
+            this.minY = minY;
+            this.minZ = minZ;
+            this.shift = shift;
+        }
+
+        Node copyFor(Object newOwner) {
+            Node copy = new Node(newOwner, minX, minY, minZ, shift);
+            copy.children = children == null ? null : children.clone();
+            copy.entries = entries == null ? null : entries.clone();
+            copy.count = count;
+            return copy;
+        }
+
+        boolean containsBlock(int x, int y, int z) {
+            int side = 1 << shift;
+            return x >= minX && x - minX < side && y >= minY && y - minY < side && z >= minZ && z - minZ < side;
+        }
+
+        int childIndex(int x, int y, int z) {
+            int half = 1 << (shift - 1);
+            return (x - minX >= half ? 1 : 0) | (y - minY >= half ? 2 : 0) | (z - minZ >= half ? 4 : 0);
+        }
+
+        double distanceSquared(double x, double y, double z) {
+            int side = 1 << shift;
+            return QueryRegion.boxDistanceSquared(x, y, z, minX, minY, minZ,
+                (double) minX + side, (double) minY + side, (double) minZ + side);
+        }
+    }
+
+    private Node own(Node node) {
+        return node.owner == owner ? node : node.copyFor(owner);
+    }
+
+    @Override
+    public void insert(long key) {
+        int x = BlockKey.x(key);
+        int y = BlockKey.y(key);
+        int z = BlockKey.z(key);
+        if (root == null) {
+            int mask = ~((1 << INITIAL_SHIFT) - 1);
+            root = new Node(owner, x & mask, y & mask, z & mask, INITIAL_SHIFT);
+            root.entries = new long[LEAF_CAPACITY];
+        }
+        while (!root.containsBlock(x, y, z)) {
+            grow(x, y, z);
+        }
+        root = insert(root, key, x, y, z);
+        size++;
+    }
+
+    /**
+     * Double the root toward a block outside it
+     * A leaf root simply becomes a bigger leaf; otherwise the old root becomes one octant.
+     */
+    private void grow(int x, int y, int z) {
+        if (root.shift >= MAX_SHIFT) {
+            throw new IllegalArgumentException("position is outside the indexable range");
+        }
+        int side = 1 << root.shift;
+        Node grown = new Node(owner,
+            x < root.minX ? root.minX - side : root.minX,
+            y < root.minY ? root.minY - side : root.minY,
+            z < root.minZ ? root.minZ - side : root.minZ,
+            root.shift + 1);
+        grown.count = root.count;
+        if (root.children == null) {
+            grown.entries = root.entries.clone();
+        } else {
+            grown.children = new Node[8];
+            grown.children[grown.childIndex(root.minX, root.minY, root.minZ)] = root;
+        }
+        root = grown;
+    }
+
+    private Node insert(Node node, long key, int x, int y, int z) {
+        node = own(node);
+        node.count++;
+        if (node.children == null) {
+            if (node.count > node.entries.length) {
+                node.entries = Arrays.copyOf(node.entries, node.entries.length * 2);
+            }
+            node.entries[node.count - 1] = key;
+            if (node.count > LEAF_CAPACITY && node.shift > 0) {
+                split(node);
+            }
+            return node;
+        }
+        int index = node.childIndex(x, y, z);
+        Node child = node.children[index];
+        if (child == null) {
+            child = newChild(node, index);
+        }
+        node.children[index] = insert(child, key, x, y, z);
+        return node;
+    }
+
+    private Node newChild(Node parent, int index) {
+        int half = 1 << (parent.shift - 1);
+        Node child = new Node(owner,
+            parent.minX + ((index & 1) != 0 ? half : 0),
+            parent.minY + ((index & 2) != 0 ? half : 0),
+            parent.minZ + ((index & 4) != 0 ? half : 0),
+            parent.shift - 1);
+        child.entries = new long[LEAF_CAPACITY];
+        return child;
+    }
+
+    /**
+     * Turn an owned, overfull leaf into an inner node, splitting children that are still overfull
+     */
+    private void split(Node node) {
+        long[] entries = node.entries;
+        node.entries = null;
+        node.children = new Node[8];
+        for (int i = 0; i < node.count; i++) {
+            long entry = entries[i];
+            int index = node.childIndex(BlockKey.x(entry), BlockKey.y(entry), BlockKey.z(entry));
+            Node child = node.children[index];
+            if (child == null) {
+                child = newChild(node, index);
+                node.children[index] = child;
+            }
+            if (child.count == child.entries.length) {
+                child.entries = Arrays.copyOf(child.entries, child.entries.length * 2);
+            }
+            child.entries[child.count++] = entry;
+        }
+        for (Node child : node.children) {
+            if (child != null && child.count > LEAF_CAPACITY && child.shift > 0) {
+                split(child);
+            }
+        }
+    }
+
+    @Override
+    public boolean contains(long key) {
+        Node node = leaf(BlockKey.x(key), BlockKey.y(key), BlockKey.z(key));
+        if (node == null) {
+            return false;
+        }
+        for (int i = 0; i < node.count; i++) {
+            if (node.entries[i] == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Leaf whose bounds hold the block, or null if no entry could be there
+     */
+    private Node leaf(int x, int y, int z) {
+        Node node = root;
+        if (node == null || !node.containsBlock(x, y, z)) {
+            return null;
+        }
+        while (node.children != null) {
+            node = node.children[node.childIndex(x, y, z)];
+            if (node == null) {
+                return null;
+            }
+        }
+        return node;
+    }
+
+    @Override
+    public void delete(long key) {
+        if (!contains(key)) {
+            return;
+        }
+        root = delete(root, key, BlockKey.x(key), BlockKey.y(key), BlockKey.z(key));
+        size--;
+    }
+
+    /**
+     * @return the node after removing {@code key} from its subtree, or null once it is empty
+     */
+    private Node delete(Node node, long key, int x, int y, int z) {
+        node = own(node);
+        node.count--;
+        if (node.count == 0) {
+            return null;
+        }
+        if (node.children == null) {
+            int kept = 0;
+            for (int i = 0; i <= node.count; i++) {
+                long entry = node.entries[i];
+                if (entry != key) {
+                    node.entries[kept++] = entry;
+                }
+            }
+            return node;
+        }
+
+        int index = node.childIndex(x, y, z);
+        node.children[index] = delete(node.children[index], key, x, y, z);
+        if (node.count <= LEAF_CAPACITY) {
+            // Few enough left to merge the subtree back into one leaf
+            long[] entries = new long[LEAF_CAPACITY];
+            int[] filled = new int[1];
+            collect(node, entries, filled);
+            node.children = null;
+            node.entries = entries;
+        }
+        return node;
+    }
+
+    private static void collect(Node node, long[] into, int[] filled) {
+        if (node.children == null) {
+            System.arraycopy(node.entries, 0, into, filled[0], node.count);
+            filled[0] += node.count;
+            return;
+        }
+        for (Node child : node.children) {
+            if (child != null) {
+                collect(child, into, filled);
+            }
+        }
+    }
+
+    @Override
+    public int query(double x, double y, double z, double radius, SpatialIndex.Visitor visitor, LongList out) {
+        if (root == null) {
+            return 0;
+        }
+        return query(root, x, y, z, radius * radius, visitor, out);
+    }
+
+    private static int query(Node node, double x, double y, double z, double radiusSquared,
+                             SpatialIndex.Visitor visitor, LongList out) {
+        if (node.distanceSquared(x, y, z) > radiusSquared) {
+            return 0;
+        }
+        int found = 0;
+        if (node.children != null) {
+            for (Node child : node.children) {
+                if (child != null) {
+                    found += query(child, x, y, z, radiusSquared, visitor, out);
+                }
+            }
+            return found;
+        }
+        for (int i = 0; i < node.count; i++) {
+            long entry = node.entries[i];
+            double ex = BlockKey.centerX(entry) - x;
+            double ey = BlockKey.centerY(entry) - y;
+            double ez = BlockKey.centerZ(entry) - z;
+            double distanceSquared = ex * ex + ey * ey + ez * ez;
+            if (distanceSquared <= radiusSquared) {
+                found++;
+                if (visitor != null) {
+                    visitor.visit(entry, distanceSquared);
+                }
+                if (out != null) {
+                    out.add(entry);
+                }
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public int query(QueryRegion region, LongList out) {
+        if (root == null) {
+            return 0;
+        }
+        return query(root, region, out);
+    }
+
+    private static int query(Node node, QueryRegion region, LongList out) {
+        int side = 1 << node.shift;
+        if (!region.intersects(node.minX, node.minY, node.minZ,
+                (double) node.minX + side, (double) node.minY + side, (double) node.minZ + side)) {
+            return 0;
+        }
+        int found = 0;
+        if (node.children != null) {
+            for (Node child : node.children) {
+                if (child != null) {
+                    found += query(child, region, out);
+                }
+            }
+            return found;
+        }
+        for (int i = 0; i < node.count; i++) {
+            long entry = node.entries[i];
+            if (region.contains(BlockKey.centerX(entry), BlockKey.centerY(entry), BlockKey.centerZ(entry))) {
+                found++;
+                if (out != null) {
+                    out.add(entry);
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Depth-first, nearest octant first, skipping octants no closer than the current candidates
+     */
+    @Override
+    public void nearest(double x, double y, double z, double maxDistance, NearestHeap heap) {
+        if (root != null) {
+            nearest(root, x, y, z, maxDistance * maxDistance, heap);
+        }
+    }
+
+    private static void nearest(Node node, double x, double y, double z, double limitSquared, NearestHeap heap) {
+        if (node.children == null) {
+            for (int i = 0; i < node.count; i++) {
+                long entry = node.entries[i];
+                double ex = BlockKey.centerX(entry) - x;
+                double ey = BlockKey.centerY(entry) - y;
+                double ez = BlockKey.centerZ(entry) - z;
+                double distanceSquared = ex * ex + ey * ey + ez * ez;
+                if (distanceSquared <= limitSquared) {
+                    heap.offer(entry, distanceSquared);
+                }
+            }
+            return;
+        }
+
+        double[] distances = new double[8];
+        for (int i = 0; i < 8; i++) {
+            Node child = node.children[i];
+            distances[i] = child == null ? Double.POSITIVE_INFINITY : child.distanceSquared(x, y, z);
+        }
+        while (true) {
+            int closest = -1;
+            for (int i = 0; i < 8; i++) {
+                if (distances[i] != Double.POSITIVE_INFINITY && (closest < 0 || distances[i] < distances[closest])) {
+                    closest = i;
+                }
+            }
+            if (closest < 0 || distances[closest] > heap.limit(limitSquared)) {
+                return; // Every remaining octant is farther than the current candidates
+            }
+            distances[closest] = Double.POSITIVE_INFINITY;
+            nearest(node.children[closest], x, y, z, limitSquared, heap);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.spawnersphere.common.performance;
+
+import com.example.spawnersphere.common.platform.IPlatformHelper.Position;
+
+/**
+ * Query shape for SpatialIndex backends: a bounding box to limit the walk, a conservative
+ * test that prunes whole blocks of space, and an exact test for single spawners
+ */
+abstract class QueryRegion {
+    final double minX;
+    final double minY;
+    final double minZ;
+    final double maxX;
+    final double maxY;
+    final double maxZ;
+
+    QueryRegion(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.maxZ = maxZ;
+    }
+
+    /**
+     * @return false only if no spawner center inside the box can be contained
+     */
+    abstract boolean intersects(double boxMinX, double boxMinY, double boxMinZ,
+                                double boxMaxX, double boxMaxY, double boxMaxZ);
+
+    /**
+     * Whether the spawner centered on this point is in the region
+     */
+    abstract boolean contains(double x, double y, double z);
+
+    /**
+     * Squared distance from a point to a box (0 if inside it)
+     */
+    static double boxDistanceSquared(double x, double y, double z,
+                                     double boxMinX, double boxMinY, double boxMinZ,
+                                     double boxMaxX, double boxMaxY, double boxMaxZ) {
+        double dx = Math.max(0.0, Math.max(boxMinX - x, x - boxMaxX));
+        double dy = Math.max(0.0, Math.max(boxMinY - y, y - boxMaxY));
+        double dz = Math.max(0.0, Math.max(boxMinZ - z, z - boxMaxZ));
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * Spawners whose center lies inside an axis-aligned box, bounds inclusive
+     */
+    static final class Box extends QueryRegion {
+
+        Box(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+            super(minX, minY, minZ, maxX, maxY, maxZ);
+        }
+
+        @Override
+        boolean intersects(double boxMinX, double boxMinY, double boxMinZ,
+                           double boxMaxX, double boxMaxY, double boxMaxZ) {
+            return boxMinX <= maxX && boxMaxX >= minX
+                && boxMinY <= maxY && boxMaxY >= minY
+                && boxMinZ <= maxZ && boxMaxZ >= minZ;
+        }
+
+        @Override
+        boolean contains(double x, double y, double z) {
+            return x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ;
+        }
+    }
+
+    /**
+     * Spawners within {@code maxDistance} of the eye whose sphere {@link FrustumCuller} considers visible
+     */
+    static final class View extends QueryRegion {
+        private final Position eye;
+        private final double lookX;
+        private final double lookY;
+        private final double lookZ;
+        private final float fov;
+        private final float sphereRadius;
+        private final double maxDistanceSquared;
+        private final boolean directionless;
+
+        View(Position eye, double lookX, double lookY, double lookZ, float fov, float sphereRadius, double maxDistance) {
+            super(eye.x - maxDistance, eye.y - maxDistance, eye.z - maxDistance,
+                eye.x + maxDistance, eye.y + maxDistance, eye.z + maxDistance);
+            this.eye = eye;
+            this.lookX = lookX;
+            this.lookY = lookY;
+            this.lookZ = lookZ;
+            this.fov = fov;
+            this.sphereRadius = sphereRadius;
+            this.maxDistanceSquared = maxDistance * maxDistance;
+            // FrustumCuller treats every sphere as visible without a usable look direction
+            this.directionless = lookX * lookX + lookY * lookY + lookZ * lookZ < 0.0001;
+        }
+
+        @Override
+        boolean intersects(double boxMinX, double boxMinY, double boxMinZ,
+                           double boxMaxX, double boxMaxY, double boxMaxZ) {
+            double nearestSquared = boxDistanceSquared(eye.x, eye.y, eye.z,
+                boxMinX, boxMinY, boxMinZ, boxMaxX, boxMaxY, boxMaxZ);
+            if (nearestSquared > maxDistanceSquared) {
+                return false;
+            }
+            if (directionless || nearestSquared < 4.0 * sphereRadius * sphereRadius) {
+                return true; // Spheres this close always count as visible
+            }
+
+            // Bounding sphere of the box, seen from the eye
+            double dx = (boxMinX + boxMaxX) * 0.5 - eye.x;
+            double dy = (boxMinY + boxMaxY) * 0.5 - eye.y;
+            double dz = (boxMinZ + boxMaxZ) * 0.5 - eye.z;
+            double sx = boxMaxX - boxMinX;
+            double sy = boxMaxY - boxMinY;
+            double sz = boxMaxZ - boxMinZ;
+            double boundRadius = 0.5 * Math.sqrt(sx * sx + sy * sy + sz * sz);
+            double distance = Math.sqrt(dx * dx + dy * dy + dz * dz);
+            if (distance <= boundRadius) {
+                return true;
+            }
+
+            // Widest angle any sphere in the box can be off-axis and still pass the per-sphere test:
+            // its center is at most asin(boundRadius / distance) from the box center's direction,
+            // and no closer than distance - boundRadius, which bounds the sphere's angular margin
+            double angle = Math.acos(Math.max(-1.0, Math.min(1.0, (dx * lookX + dy * lookY + dz * lookZ) / distance)));
+            double allowed = Math.toRadians(fov / 2.0)
+                + Math.atan(sphereRadius / (distance - boundRadius))
+                + Math.asin(boundRadius / distance);
+            return angle < allowed;
+        }
+
+        @Override
+        boolean contains(double x, double y, double z) {
+            double dx = x - eye.x;
+            double dy = y - eye.y;
+            double dz = z - eye.z;
+            if (dx * dx + dy * dy + dz * dz > maxDistanceSquared) {
+                return false;
+            }
+            return FrustumCuller.isVisible(x, y, z, sphereRadius, eye, lookX, lookY, lookZ, fov);
+        }
+    }
+
+    /**
+     * Spawners whose sphere of {@code sphereRadius} a line segment passes through
+     */
+    static final class Ray extends QueryRegion {
+        private final double originX;
+        private final double originY;
+        private final double originZ;
+        private final double dirX;
+        private final double dirY;
+        private final double dirZ;
+        private final double length;
+        private final double sphereRadius;
+
+        Ray(Position origin, double dirX, double dirY, double dirZ, double length, double sphereRadius) {
+            this(origin, normalize(dirX, dirY, dirZ), length, sphereRadius);
+        }
+
+        private Ray(Position origin, double[] dir, double length, double sphereRadius) {
+            super(Math.min(origin.x, origin.x + dir[0] * length) - sphereRadius,
+                Math.min(origin.y, origin.y + dir[1] * length) - sphereRadius,
+                Math.min(origin.z, origin.z + dir[2] * length) - sphereRadius,
+                Math.max(origin.x, origin.x + dir[0] * length) + sphereRadius,
+                Math.max(origin.y, origin.y + dir[1] * length) + sphereRadius,
+                Math.max(origin.z, origin.z + dir[2] * length) + sphereRadius);
+            this.originX = origin.x;
+            this.originY = origin.y;
+            this.originZ = origin.z;
+            this.dirX = dir[0];
+            this.dirY = dir[1];
+            this.dirZ = dir[2];
+            this.length = length;
+            this.sphereRadius = sphereRadius;
+        }
+
+        private static double[] normalize(double x, double y, double z) {
+            double length = Math.sqrt(x * x + y * y + z * z);
+            if (length < 1.0E-9) {
+                return new double[] {0.0, 0.0, 0.0}; // Degenerates to a point at the origin
+            }
+            return new double[] {x / length, y / length, z / length};
+        }
+
+        @Override
+        boolean intersects(double boxMinX, double boxMinY, double boxMinZ,
+                           double boxMaxX, double boxMaxY, double boxMaxZ) {
+            // Slab test of the segment against the box grown by the sphere radius
+            double[] range = {0.0, length};
+            return clip(originX, dirX, boxMinX - sphereRadius, boxMaxX + sphereRadius, range)
+                && clip(originY, dirY, boxMinY - sphereRadius, boxMaxY + sphereRadius, range)
+                && clip(originZ, dirZ, boxMinZ - sphereRadius, boxMaxZ + sphereRadius, range);
+        }
+
+        /**
+         * Narrow {@code range} of the segment parameter to the part inside one slab
+         */
+        private static boolean clip(double origin, double dir, double min, double max, double[] range) {
+            if (dir == 0.0) {
+                return origin >= min && origin <= max;
+            }
+            double t1 = (min - origin) / dir;
+            double t2 = (max - origin) / dir;
+            range[0] = Math.max(range[0], Math.min(t1, t2));
+            range[1] = Math.min(range[1], Math.max(t1, t2));
+            return range[0] <= range[1];
+        }
+
+        @Override
+        boolean contains(double x, double y, double z) {
+            double cx = x - originX;
+            double cy = y - originY;
+            double cz = z - originZ;
+            double t = Math.max(0.0, Math.min(length, cx * dirX + cy * dirY + cz * dirZ));
+            double ex = cx - dirX * t;
+            double ey = cy - dirY * t;
+            double ez = cz - dirZ * t;
+            return ex * ex + ey * ey + ez * ez <= sphereRadius * sphereRadius;
+        }
+    }
+}
@@ -0,0 +1,624 @@
+package com.example.spawnersphere.common.performance;
+
+import com.example.spawnersphere.common.data.BlockKey;
+
+import java.util.Arrays;
+
+/**
+ * Uniform grid backend: spawners grouped by 16x16x16 chunk section, keyed by a packed long
+ * in a primitive map, plus a summary of the occupied sections of each chunk column and an
+ * occupancy bitmap of the columns of each 32x32-chunk region
+ * Range queries walk regions first, so an empty region costs one lookup instead of 1024
+ * column probes and query cost follows the occupied area rather than the radius.
+ * Each cell maps the block keys it holds to their slots, so finding, adding or removing one spawner is O(1).
+ * Columns and bitmaps are never changed in place, only replaced; cells are changed in place
+ * only by the version that created them, so a copy of the three maps is enough to give
+ * writers a version no reader can see.
+ */
+final class SectionGrid implements SpatialBackend {
+
+    private static final int CELL_SHIFT = 4; // 16 blocks per cell on each axis
+    private static final int REGION_SHIFT = 5; // 32 chunk columns per region on each axis
+    private static final int REGION_MASK = (1 << REGION_SHIFT) - 1;
+
+    private final LongObjectMap<Cell> cells;
+    // Occupied chunk columns, so queries only probe the sections of columns that hold spawners
+    private final LongObjectMap<Column> columns;
+    // Occupied columns of each region: row Z of the region, bit X
+    private final LongObjectMap<int[]> regions;
+    private int size;
+    // Cells created by this version carry this token; any other cell is shared and copied before changing
+    private Object owner = new Object();
+
+    SectionGrid() {
+        this.cells = new LongObjectMap<Cell>();
+        this.columns = new LongObjectMap<Column>();
+        this.regions = new LongObjectMap<int[]>();
+    }
+
+    private SectionGrid(SectionGrid other) {
+        this.cells = new LongObjectMap<Cell>(other.cells);
+        this.columns = new LongObjectMap<Column>(other.columns);
+        this.regions = new LongObjectMap<int[]>(other.regions);
+        this.size = other.size;
+    }
+
+    @Override
+    public SectionGrid copy() {
+        // Both versions give up ownership, so neither can change cells the other still sees
+        owner = new Object();
+        return new SectionGrid(this);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void insert(long blockKey) {
+        int cellX = BlockKey.x(blockKey) >> CELL_SHIFT;
+        int cellY = BlockKey.y(blockKey) >> CELL_SHIFT;
+        int cellZ = BlockKey.z(blockKey) >> CELL_SHIFT;
+        long key = cellKey(cellX, cellY, cellZ);
+
+        Cell cell = cells.get(key);
+        if (cell == null) {
+            cell = new Cell(owner);
+            cells.put(key, cell);
+            long columnKey = columnKey(cellX, cellZ);
+            Column column = columns.get(columnKey);
+            if (column == null) {
+                columns.put(columnKey, new Column(1, cellY, cellY));
+                markColumn(cellX, cellZ, true);
+            } else {
+                columns.put(columnKey, column.withCell(cellY));
+            }
+        }
+        own(key, cell).add(blockKey);
+        size++;
+    }
+
+    @Override
+    public boolean contains(long blockKey) {
+        Cell cell = cells.get(cellOf(blockKey));
+        return cell != null && cell.indexOf(blockKey) >= 0;
+    }
+
+    @Override
+    public void delete(long blockKey) {
+        int cellX = BlockKey.x(blockKey) >> CELL_SHIFT;
+        int cellZ = BlockKey.z(blockKey) >> CELL_SHIFT;
+        long key = cellKey(cellX, BlockKey.y(blockKey) >> CELL_SHIFT, cellZ);
+        Cell cell = cells.get(key);
+        int slot = cell == null ? -1 : cell.indexOf(blockKey);
+        if (slot < 0) {
+            return;
+        }
+
+        size--;
+        if (cell.count > 1) {
+            own(key, cell).removeAt(slot);
+            return;
+        }
+
+        // Clean up empty cells to prevent memory waste
+        cells.remove(key);
+        long columnKey = columnKey(cellX, cellZ);
+        Column column = columns.get(columnKey).withoutCell();
+        if (column == null) {
+            columns.remove(columnKey);
+            markColumn(cellX, cellZ, false);
+        } else {
+            columns.put(columnKey, column);
+        }
+    }
+
+    private static long cellOf(long blockKey) {
+        return cellKey(BlockKey.x(blockKey) >> CELL_SHIFT, BlockKey.y(blockKey) >> CELL_SHIFT,
+            BlockKey.z(blockKey) >> CELL_SHIFT);
+    }
+
+    /**
+     * The cell itself if this version created it, otherwise a private copy that replaces it in this version
+     */
+    private Cell own(long key, Cell cell) {
+        if (cell.owner == owner) {
+            return cell;
+        }
+        Cell copy = cell.copyFor(owner);
+        cells.put(key, copy);
+        return copy;
+    }
+
+    /**
+     * Flip a column's bit in its region's bitmap, dropping bitmaps that become empty
+     */
+    private void markColumn(int cellX, int cellZ, boolean occupied) {
+        long key = columnKey(cellX >> REGION_SHIFT, cellZ >> REGION_SHIFT);
+        int[] rows = regions.get(key);
+        int[] marked = rows == null ? new int[1 << REGION_SHIFT] : rows.clone();
+        int bit = 1 << (cellX & REGION_MASK);
+        if (occupied) {
+            marked[cellZ & REGION_MASK] |= bit;
+        } else {
+            marked[cellZ & REGION_MASK] &= ~bit;
+            for (int row : marked) {
+                if (row != 0) {
+                    regions.put(key, marked);
+                    return;
+                }
+            }
+            regions.remove(key);
+            return;
+        }
+        regions.put(key, marked);
+    }
+
+    /**
+     * Probes only the occupied columns of the regions that intersect the query sphere
+     * Compares squared distances, so no square root is taken per entry
+     */
+    @Override
+    public int query(final double x, final double y, final double z, double radius,
+                     final SpatialIndex.Visitor visitor, final LongList out) {
+        if (size == 0) {
+            return 0;
+        }
+
+        final int minX = (int) Math.floor(x - radius) >> CELL_SHIFT;
+        final int maxX = (int) Math.floor(x + radius) >> CELL_SHIFT;
+        final int minY = (int) Math.floor(y - radius) >> CELL_SHIFT;
+        final int maxY = (int) Math.floor(y + radius) >> CELL_SHIFT;
+        final int minZ = (int) Math.floor(z - radius) >> CELL_SHIFT;
+        final int maxZ = (int) Math.floor(z + radius) >> CELL_SHIFT;
+        final double radiusSquared = radius * radius;
+        int regionMinX = minX >> REGION_SHIFT;
+        int regionMaxX = maxX >> REGION_SHIFT;
+        int regionMinZ = minZ >> REGION_SHIFT;
+        int regionMaxZ = maxZ >> REGION_SHIFT;
+
+        if ((long) (regionMaxX - regionMinX + 1) * (regionMaxZ - regionMinZ + 1) > regions.size()) {
+            // The sphere spans more regions than are occupied: walk the occupied ones instead
+            final int[] found = new int[1];
+            regions.forEach((key, rows) -> found[0] += queryRegion(x, y, z, radiusSquared, (int) (key >> 32), (int) key,
+                rows, minX, maxX, minY, maxY, minZ, maxZ, visitor, out));
+            return found[0];
+        }
+
+        int found = 0;
+        for (int rx = regionMinX; rx <= regionMaxX; rx++) {
+            for (int rz = regionMinZ; rz <= regionMaxZ; rz++) {
+                int[] rows = regions.get(columnKey(rx, rz));
+                if (rows != null) {
+                    found += queryRegion(x, y, z, radiusSquared, rx, rz, rows, minX, maxX, minY, maxY, minZ, maxZ,
+                        visitor, out);
+                }
+            }
+        }
+        return found;
+    }
+
+    private int queryRegion(double x, double y, double z, double radiusSquared, int rx, int rz, int[] rows,
+                            int minX, int maxX, int minY, int maxY, int minZ, int maxZ,
+                            SpatialIndex.Visitor visitor, LongList out) {
+        double dx = axisDistance(x, rx, CELL_SHIFT + REGION_SHIFT);
+        double dz = axisDistance(z, rz, CELL_SHIFT + REGION_SHIFT);
+        if (dx * dx + dz * dz > radiusSquared) {
+            return 0; // Region lies entirely outside the query sphere
+        }
+        int baseX = rx << REGION_SHIFT;
+        int baseZ = rz << REGION_SHIFT;
+        int lowZ = Math.max(minZ, baseZ) - baseZ;
+        int highZ = Math.min(maxZ, baseZ + REGION_MASK) - baseZ;
+        int mask = rowMask(Math.max(minX, baseX) - baseX, Math.min(maxX, baseX + REGION_MASK) - baseX);
+        int found = 0;
+        for (int row = lowZ; row <= highZ; row++) {
+            for (int bits = rows[row] & mask; bits != 0; bits &= bits - 1) {
+                found += queryColumn(x, y, z, radiusSquared, baseX + Integer.numberOfTrailingZeros(bits), baseZ + row,
+                    minY, maxY, visitor, out);
+            }
+        }
+        return found;
+    }
+
+    private int queryColumn(double x, double y, double z, double radiusSquared, int cx, int cz, int minY, int maxY,
+                            SpatialIndex.Visitor visitor, LongList out) {
+        double dx = axisDistance(x, cx);
+        double dz = axisDistance(z, cz);
+        double columnDistance = dx * dx + dz * dz;
+        if (columnDistance > radiusSquared) {
+            return 0; // Column lies entirely outside the query sphere
+        }
+        Column column = columns.get(columnKey(cx, cz));
+        int lowY = Math.max(minY, column.minCellY);
+        int highY = Math.min(maxY, column.maxCellY);
+        int found = 0;
+        for (int cy = lowY; cy <= highY; cy++) {
+            double dy = axisDistance(y, cy);
+            if (columnDistance + dy * dy > radiusSquared) {
+                continue;
+            }
+
+            Cell cell = cells.get(cellKey(cx, cy, cz));
+            if (cell == null) {
+                continue;
+            }
+            for (int i = 0; i < cell.count; i++) {
+                long entry = cell.keys[i];
+                double ex = BlockKey.centerX(entry) - x;
+                double ey = BlockKey.centerY(entry) - y;
+                double ez = BlockKey.centerZ(entry) - z;
+                double distanceSquared = ex * ex + ey * ey + ez * ez;
+                if (distanceSquared <= radiusSquared) {
+                    found++;
+                    if (visitor != null) {
+                        visitor.visit(entry, distanceSquared);
+                    }
+                    if (out != null) {
+                        out.add(entry);
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public int query(final QueryRegion region, final LongList out) {
+        if (size == 0) {
+            return 0;
+        }
+        final int minX = (int) Math.floor(region.minX) >> CELL_SHIFT;
+        final int maxX = (int) Math.floor(region.maxX) >> CELL_SHIFT;
+        final int minY = (int) Math.floor(region.minY) >> CELL_SHIFT;
+        final int maxY = (int) Math.floor(region.maxY) >> CELL_SHIFT;
+        final int minZ = (int) Math.floor(region.minZ) >> CELL_SHIFT;
+        final int maxZ = (int) Math.floor(region.maxZ) >> CELL_SHIFT;
+        int regionMinX = minX >> REGION_SHIFT;
+        int regionMaxX = maxX >> REGION_SHIFT;
+        int regionMinZ = minZ >> REGION_SHIFT;
+        int regionMaxZ = maxZ >> REGION_SHIFT;
+
+        if ((long) (regionMaxX - regionMinX + 1) * (regionMaxZ - regionMinZ + 1) > regions.size()) {
+            // The region spans more grid regions than are occupied: walk the occupied ones instead
+            final int[] found = new int[1];
+            regions.forEach((key, rows) -> found[0] += queryRegion(region, (int) (key >> 32), (int) key, rows,
+                minX, maxX, minY, maxY, minZ, maxZ, out));
+            return found[0];
+        }
+
+        int found = 0;
+        for (int rx = regionMinX; rx <= regionMaxX; rx++) {
+            for (int rz = regionMinZ; rz <= regionMaxZ; rz++) {
+                int[] rows = regions.get(columnKey(rx, rz));
+                if (rows != null) {
+                    found += queryRegion(region, rx, rz, rows, minX, maxX, minY, maxY, minZ, maxZ, out);
+                }
+            }
+        }
+        return found;
+    }
+
+    private int queryRegion(QueryRegion region, int rx, int rz, int[] rows, int minX, int maxX,
+                            int minY, int maxY, int minZ, int maxZ, LongList out) {
+        int baseX = rx << REGION_SHIFT;
+        int baseZ = rz << REGION_SHIFT;
+        int lowX = Math.max(minX, baseX) - baseX;
+        int highX = Math.min(maxX, baseX + REGION_MASK) - baseX;
+        int lowZ = Math.max(minZ, baseZ) - baseZ;
+        int highZ = Math.min(maxZ, baseZ + REGION_MASK) - baseZ;
+        if (lowX > highX || lowZ > highZ || !region.intersects(
+                (double) ((baseX + lowX) << CELL_SHIFT), (double) (minY << CELL_SHIFT), (double) ((baseZ + lowZ) << CELL_SHIFT),
+                (double) ((baseX + highX + 1) << CELL_SHIFT), (double) ((maxY + 1) << CELL_SHIFT),
+                (double) ((baseZ + highZ + 1) << CELL_SHIFT))) {
+            return 0;
+        }
+        int mask = rowMask(lowX, highX);
+        int found = 0;
+        for (int row = lowZ; row <= highZ; row++) {
+            for (int bits = rows[row] & mask; bits != 0; bits &= bits - 1) {
+                int cx = baseX + Integer.numberOfTrailingZeros(bits);
+                int cz = baseZ + row;
+                found += queryColumn(region, cx, cz, columns.get(columnKey(cx, cz)), minY, maxY, out);
+            }
+        }
+        return found;
+    }
+
+    private int queryColumn(QueryRegion region, int cx, int cz, Column column, int minY, int maxY,
+                            LongList out) {
+        int lowY = Math.max(minY, column.minCellY);
+        int highY = Math.min(maxY, column.maxCellY);
+        double blockX = cx << CELL_SHIFT;
+        double blockZ = cz << CELL_SHIFT;
+        double cellSize = 1 << CELL_SHIFT;
+        if (lowY > highY || !region.intersects(blockX, lowY << CELL_SHIFT, blockZ,
+                blockX + cellSize, (highY + 1) << CELL_SHIFT, blockZ + cellSize)) {
+            return 0;
+        }
+
+        int found = 0;
+        for (int cy = lowY; cy <= highY; cy++) {
+            double blockY = cy << CELL_SHIFT;
+            if (!region.intersects(blockX, blockY, blockZ, blockX + cellSize, blockY + cellSize, blockZ + cellSize)) {
+                continue;
+            }
+            Cell cell = cells.get(cellKey(cx, cy, cz));
+            if (cell == null) {
+                continue;
+            }
+            for (int i = 0; i < cell.count; i++) {
+                long entry = cell.keys[i];
+                if (region.contains(BlockKey.centerX(entry), BlockKey.centerY(entry), BlockKey.centerZ(entry))) {
+                    found++;
+                    if (out != null) {
+                        out.add(entry);
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Offer the spawners nearest to a point to {@code heap}
+     * Walks chunk columns in square rings around the point's column, and stops once the
+     * next ring cannot hold anything closer than what the heap already has. If the rings
+     * would probe more columns than are occupied, the rest are visited straight from the map.
+     */
+    @Override
+    public void nearest(double x, double y, double z, double maxDistance, NearestHeap heap) {
+        if (size == 0) {
+            return;
+        }
+        double limitSquared = maxDistance * maxDistance;
+        int centerX = (int) Math.floor(x) >> CELL_SHIFT;
+        int centerZ = (int) Math.floor(z) >> CELL_SHIFT;
+        int occupied = columns.size();
+        int visited = 0;
+        int probed = 0;
+
+        for (int ring = 0; visited < occupied; ring++) {
+            if (ring > 0) {
+                double bound = ringDistance(x, z, centerX, centerZ, ring);
+                if (bound * bound > heap.limit(limitSquared)) {
+                    return; // Every remaining column is farther than the current candidates
+                }
+            }
+            if (probed > occupied) {
+                final int firstRing = ring;
+                columns.forEach((key, column) -> {
+                    int cx = (int) (key >> 32);
+                    int cz = (int) key;
+                    if (Math.max(Math.abs(cx - centerX), Math.abs(cz - centerZ)) >= firstRing) {
+                        visitColumn(x, y, z, cx, cz, column, limitSquared, heap);
+                    }
+                });
+                return;
+            }
+
+            int side = 2 * ring;
+            for (int step = 0; step < Math.max(1, 4 * side); step++) {
+                // Walk the ring's perimeter: top edge, right edge, bottom edge, left edge
+                int cx;
+                int cz;
+                if (side == 0) {
+                    cx = centerX;
+                    cz = centerZ;
+                } else if (step < side) {
+                    cx = centerX - ring + step;
+                    cz = centerZ - ring;
+                } else if (step < 2 * side) {
+                    cx = centerX + ring;
+                    cz = centerZ - ring + (step - side);
+                } else if (step < 3 * side) {
+                    cx = centerX + ring - (step - 2 * side);
+                    cz = centerZ + ring;
+                } else {
+                    cx = centerX - ring;
+                    cz = centerZ + ring - (step - 3 * side);
+                }
+                probed++;
+                Column column = columns.get(columnKey(cx, cz));
+                if (column != null) {
+                    visited++;
+                    visitColumn(x, y, z, cx, cz, column, limitSquared, heap);
+                }
+            }
+        }
+    }
+
+    private void visitColumn(double x, double y, double z, int cx, int cz, Column column,
+                             double limitSquared, NearestHeap heap) {
+        double dx = axisDistance(x, cx);
+        double dz = axisDistance(z, cz);
+        double columnDistance = dx * dx + dz * dz;
+        if (columnDistance > heap.limit(limitSquared)) {
+            return;
+        }
+        for (int cy = column.minCellY; cy <= column.maxCellY; cy++) {
+            double dy = axisDistance(y, cy);
+            if (columnDistance + dy * dy > heap.limit(limitSquared)) {
+                continue;
+            }
+            Cell cell = cells.get(cellKey(cx, cy, cz));
+            if (cell == null) {
+                continue;
+            }
+            for (int i = 0; i < cell.count; i++) {
+                long entry = cell.keys[i];
+                double ex = BlockKey.centerX(entry) - x;
+                double ey = BlockKey.centerY(entry) - y;
+                double ez = BlockKey.centerZ(entry) - z;
+                double distanceSquared = ex * ex + ey * ey + ez * ez;
+                if (distanceSquared <= limitSquared) {
+                    heap.offer(entry, distanceSquared);
+                }
+            }
+        }
+    }
+
+    /**
+     * Pack section coordinates into one key: 22 bits each for X and Z, 20 bits for Y
+     * Covers the whole world border (+-30M blocks) and any build height
+     */
+    static long cellKey(int cellX, int cellY, int cellZ) {
+        return ((long) (cellX & 0x3FFFFF) << 42)
+            | ((long) (cellZ & 0x3FFFFF) << 20)
+            | (cellY & 0xFFFFF);
+    }
+
+    static long columnKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Bits {@code low} to {@code high} of a region row; empty if low > high
+     */
+    private static int rowMask(int low, int high) {
+        return low > high ? 0 : (-1 >>> (REGION_MASK - (high - low))) << low;
+    }
+
+    /**
+     * Distance along one axis from a coordinate to a cell's extent (0 if inside it)
+     */
+    private static double axisDistance(double value, int cell) {
+        return axisDistance(value, cell, CELL_SHIFT);
+    }
+
+    /**
+     * Distance along one axis from a coordinate to the extent of a cell of {@code 1 << shift} blocks
+     */
+    private static double axisDistance(double value, int cell, int shift) {
+        double min = (double) ((long) cell << shift);
+        double max = min + (1 << shift);
+        if (value < min) {
+            return min - value;
+        }
+        if (value > max) {
+            return value - max;
+        }
+        return 0.0;
+    }
+
+    /**
+     * Lower bound on the horizontal distance from a point in column (centerX, centerZ)
+     * to any column in ring {@code ring} or beyond, i.e. outside the square of the rings within it
+     */
+    private static double ringDistance(double x, double z, int centerX, int centerZ, int ring) {
+        double minX = (double) ((centerX - ring + 1) << CELL_SHIFT);
+        double maxX = (double) ((centerX + ring) << CELL_SHIFT);
+        double minZ = (double) ((centerZ - ring + 1) << CELL_SHIFT);
+        double maxZ = (double) ((centerZ + ring) << CELL_SHIFT);
+        return Math.min(Math.min(x - minX, maxX - x), Math.min(z - minZ, maxZ - z));
+    }
+
+    /**
+     * Spawners of one chunk section; the first {@code count} keys are in use
+     * Small cells are scanned; once a cell outgrows that it also maps each of its 4096 blocks to a slot.
+     */
+    private static final class Cell {
+        private static final int SCAN_LIMIT = 8;
+        private static final int BLOCKS = 1 << (3 * CELL_SHIFT);
+
+        final Object owner;
+        long[] keys;
+        int count;
+        private short[] slots; // Slot + 1 per block of the section, 0 when empty; null while the cell is small
+
+        Cell(Object owner) {
+            this.owner = owner;
+            this.keys = new long[2];
+        }
+
+        Cell copyFor(Object newOwner) {
+            Cell copy = new Cell(newOwner);
+            copy.keys = keys.clone();
+            copy.count = count;
+            copy.slots = slots == null ? null : slots.clone();
+            return copy;
+        }
+
+        /**
+         * Position of a block within its section
+         */
+        private static int local(long key) {
+            int mask = (1 << CELL_SHIFT) - 1;
+            return (BlockKey.x(key) & mask)
+                | (BlockKey.z(key) & mask) << CELL_SHIFT
+                | (BlockKey.y(key) & mask) << (2 * CELL_SHIFT);
+        }
+
+        /**
+         * @return slot of the spawner in block {@code key}, or -1
+         */
+        int indexOf(long key) {
+            if (slots != null) {
+                return slots[local(key)] - 1;
+            }
+            for (int i = 0; i < count; i++) {
+                if (keys[i] == key) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        void add(long key) {
+            if (count == keys.length) {
+                keys = Arrays.copyOf(keys, count * 2);
+            }
+            keys[count++] = key;
+            if (slots != null) {
+                slots[local(key)] = (short) count;
+            } else if (count > SCAN_LIMIT) {
+                slots = new short[BLOCKS];
+                for (int i = 0; i < count; i++) {
+                    slots[local(keys[i])] = (short) (i + 1);
+                }
+            }
+        }
+
+        /**
+         * Remove the spawner in {@code slot} by moving the last one into its place
+         */
+        void removeAt(int slot) {
+            int last = --count;
+            if (slots != null) {
+                slots[local(keys[slot])] = 0;
+                if (slot != last) {
+                    slots[local(keys[last])] = (short) (slot + 1);
+                }
+            }
+            keys[slot] = keys[last];
+        }
+    }
+
+    /**
+     * Occupied cells of one chunk column; immutable
+     * The Y range only grows while the column exists; it may overstate after removals, never understate.
+     */
+    private static final class Column {
+        final int cells;
+        final int minCellY;
+        final int maxCellY;
+
+        Column(int cells, int minCellY, int maxCellY) {
+            this.cells = cells;
+            this.minCellY = minCellY;
+            this.maxCellY = maxCellY;
+        }
+
+        Column withCell(int cellY) {
+            return new Column(cells + 1, Math.min(minCellY, cellY), Math.max(maxCellY, cellY));
+        }
+
+        /**
+         * @return column with one cell fewer, or null once it has none left
+         */
+        Column withoutCell() {
+            return cells == 1 ? null : new Column(cells - 1, minCellY, maxCellY);
+        }
+    }
+}
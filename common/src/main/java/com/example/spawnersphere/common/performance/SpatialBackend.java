@@ -0,0 +1,66 @@
+package com.example.spawnersphere.common.performance;
+
+/**
+ * Storage strategy behind a SpatialIndex
+ * Entries are packed block keys (see BlockKey); a spawner's center is the center of its block.
+ * Not thread-safe; SpatialIndex does the locking and, in copy-on-write mode, only ever
+ * mutates a {@link #copy()} that no reader can see yet.
+ */
+interface SpatialBackend {
+
+    int size();
+
+    /**
+     * A version that can be changed without affecting this one
+     * Backends may share unchanged structure between the two.
+     */
+    SpatialBackend copy();
+
+    /**
+     * Store a spawner; SpatialIndex only calls this for blocks not already stored
+     */
+    void insert(long key);
+
+    /**
+     * Insert a batch of spawners not already stored, with no block twice
+     * Backends that keep their entries ordered can sort it once instead of per entry.
+     */
+    default void insertAll(LongList batch) {
+        for (int i = 0, n = batch.size(); i < n; i++) {
+            insert(batch.get(i));
+        }
+    }
+
+    boolean contains(long key);
+
+    /**
+     * Remove the entry for the block, if there is one
+     */
+    void delete(long key);
+
+    /**
+     * Remove the entry for each block of a batch, where there is one
+     */
+    default void deleteAll(LongList batch) {
+        for (int i = 0, n = batch.size(); i < n; i++) {
+            delete(batch.get(i));
+        }
+    }
+
+    /**
+     * Visit, collect and count the spawners within {@code radius} of a point
+     * Either of {@code visitor} and {@code out} may be null.
+     */
+    int query(double x, double y, double z, double radius, SpatialIndex.Visitor visitor, LongList out);
+
+    /**
+     * Collect and count the spawners a region contains
+     * {@code out} may be null.
+     */
+    int query(QueryRegion region, LongList out);
+
+    /**
+     * Offer the spawners within {@code maxDistance} of a point to {@code heap}, nearest first where possible
+     */
+    void nearest(double x, double y, double z, double maxDistance, NearestHeap heap);
+}
@@ -1,201 +1,421 @@
 package com.example.spawnersphere.common.performance;
 
-import com.example.spawnersphere.common.data.SpawnerData;
+import com.example.spawnersphere.common.data.BlockKey;
 import com.example.spawnersphere.common.platform.IPlatformHelper.Position;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Arrays;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
- * Chunk-based spatial index for efficient spawner lookup
- * Groups spawners by chunk coordinates for faster queries
- * Thread-safe implementation using read-write locks
+ * Spatial index for efficient spawner lookup
+ * Storage is pluggable: a section grid by default, an octree for dense spawner fields, or a
+ * Morton-ordered packed array for sets that are rebuilt by scans and otherwise only read
+ * Spawners are packed block keys (see BlockKey), centered in their block: adding one that is
+ * already stored, or removing one that is not, changes nothing.
+ * Thread-safe in two modes: read-write locked (the default), or copy-on-write, where
+ * writers publish a new immutable version and readers never lock or block
  */
 public class SpatialIndex {
 
-    private final Map<ChunkCoord, List<SpawnerData>> chunkMap;
-    private static final int CHUNK_SIZE = 16;
+    /**
+     * Storage strategy
+     */
+    public enum Backend {
+        /**
+         * Spawners grouped by 16x16x16 chunk section in a primitive hash map; best for spread-out spawners
+         */
+        GRID {
+            @Override
+            SpatialBackend create() {
+                return new SectionGrid();
+            }
+        },
+        /**
+         * Adaptive octree; stays logarithmic when hundreds of spawners share a chunk column
+         */
+        OCTREE {
+            @Override
+            SpatialBackend create() {
+                return new Octree();
+            }
+        },
+        /**
+         * Z-order sorted packed array; fastest to read and bulk-load, but single updates cost O(n)
+         */
+        MORTON {
+            @Override
+            SpatialBackend create() {
+                return new MortonArray();
+            }
+        };
+
+        abstract SpatialBackend create();
+    }
+
+    private final Backend backend;
+    private final boolean copyOnWrite;
+
+    // Current version of the contents; replaced wholesale in copy-on-write mode
+    private volatile SpatialBackend state;
 
     // Use read-write lock for better concurrency (multiple readers, single writer)
+    // In copy-on-write mode only writers take it, to serialize building new versions
     private final ReadWriteLock lock = new ReentrantReadWriteLock();
 
     public SpatialIndex() {
-        this.chunkMap = new ConcurrentHashMap<ChunkCoord, List<SpawnerData>>();
+        this(false);
     }
 
     /**
-     * Add a spawner to the spatial index
+     * @param copyOnWrite Publish a new immutable version on every change so queries never lock;
+     *                    suits indexes that are read every frame and written rarely
      */
-    public void add(Object blockPos, Position center) {
-        if (blockPos == null || center == null) {
-            throw new IllegalArgumentException("blockPos and center cannot be null");
+    public SpatialIndex(boolean copyOnWrite) {
+        this(Backend.GRID, copyOnWrite);
+    }
+
+    public SpatialIndex(Backend backend, boolean copyOnWrite) {
+        if (backend == null) {
+            throw new IllegalArgumentException("backend cannot be null");
         }
+        this.backend = backend;
+        this.copyOnWrite = copyOnWrite;
+        this.state = backend.create();
+    }
+
+    public Backend getBackend() {
+        return backend;
+    }
+
+    public boolean isCopyOnWrite() {
+        return copyOnWrite;
+    }
+
+    /**
+     * Add the spawner in the block {@code key} packs, unless the index already holds it
+     */
+    public void add(long key) {
         lock.writeLock().lock();
         try {
-            ChunkCoord chunkCoord = getChunkCoord(center);
-            List<SpawnerData> spawners = chunkMap.get(chunkCoord);
-            if (spawners == null) {
-                spawners = new ArrayList<SpawnerData>();
-                chunkMap.put(chunkCoord, spawners);
-            }
-            // Synchronize list access since ArrayList is not thread-safe
-            synchronized (spawners) {
-                spawners.add(new SpawnerData(blockPos, center));
+            if (state.contains(key)) {
+                return; // Already indexed; skip copying a version
             }
+            SpatialBackend target = beginWrite();
+            target.insert(key);
+            state = target;
         } finally {
             lock.writeLock().unlock();
         }
     }
 
     /**
-     * Add a spawner to the spatial index using existing SpawnerData
+     * Add a batch of spawners under one lock, publishing one new version in copy-on-write mode
+     * Spawners already indexed, and repeats of a block within the batch, are skipped.
+     * Ordered backends sort the batch once rather than placing each spawner on its own.
      */
-    public void add(SpawnerData data) {
-        if (data == null) {
-            throw new IllegalArgumentException("data cannot be null");
+    public void addAll(LongList keys) {
+        if (keys == null) {
+            throw new IllegalArgumentException("keys cannot be null");
         }
+        // Repeats end up adjacent once sorted, so they are dropped without a set of boxed keys
+        long[] sorted = keys.toArray();
+        Arrays.sort(sorted);
         lock.writeLock().lock();
         try {
-            ChunkCoord chunkCoord = getChunkCoord(data.center);
-            List<SpawnerData> spawners = chunkMap.get(chunkCoord);
-            if (spawners == null) {
-                spawners = new ArrayList<SpawnerData>();
-                chunkMap.put(chunkCoord, spawners);
+            LongList fresh = new LongList(sorted.length);
+            for (int i = 0; i < sorted.length; i++) {
+                long key = sorted[i];
+                if ((i == 0 || key != sorted[i - 1]) && !state.contains(key)) {
+                    fresh.add(key);
+                }
             }
-            // Synchronize list access since ArrayList is not thread-safe
-            synchronized (spawners) {
-                spawners.add(data);
+            if (fresh.isEmpty()) {
+                return;
             }
+            SpatialBackend target = beginWrite();
+            target.insertAll(fresh);
+            state = target;
         } finally {
             lock.writeLock().unlock();
         }
     }
 
+    /**
+     * Whether the index holds the spawner in the block {@code key} packs
+     */
+    public boolean contains(long key) {
+        if (copyOnWrite) {
+            return state.contains(key);
+        }
+        lock.readLock().lock();
+        try {
+            return state.contains(key);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Receives each spawner a query finds
+     */
+    public interface Visitor {
+        /**
+         * @param distanceSquared Squared distance from the query point to the spawner's center
+         */
+        void visit(long key, double distanceSquared);
+    }
+
     /**
      * Get all spawners within a given radius of a position
-     * Uses chunk-based lookup for efficiency
-     * Thread-safe with read lock for concurrent queries
+     * Only probes the cells that intersect the query sphere
      */
-    public List<SpawnerData> getNearby(Position center, int radius) {
+    public LongList getNearby(Position center, int radius) {
         if (center == null) {
             throw new IllegalArgumentException("center cannot be null");
         }
-        if (radius < 0) {
-            throw new IllegalArgumentException("radius must be non-negative");
+        LongList result = new LongList();
+        getNearby(center.x, center.y, center.z, radius, result);
+        return result;
+    }
+
+    /**
+     * Add all spawners within a given radius of a point to a caller-owned list
+     * Allocates nothing once {@code out} has grown to fit, so callers can reuse one buffer per frame
+     *
+     * @return number of spawners added
+     */
+    public int getNearby(double x, double y, double z, double radius, LongList out) {
+        if (out == null) {
+            throw new IllegalArgumentException("out cannot be null");
+        }
+        return query(x, y, z, radius, null, out);
+    }
+
+    /**
+     * Call {@code visitor} for every spawner within a given radius of a point
+     * The visitor may run under the read lock, so it must not modify this index
+     */
+    public void forEachNearby(double x, double y, double z, double radius, Visitor visitor) {
+        if (visitor == null) {
+            throw new IllegalArgumentException("visitor cannot be null");
         }
+        query(x, y, z, radius, visitor, null);
+    }
 
+    /**
+     * Count the spawners within a given radius of a point
+     */
+    public int countNearby(double x, double y, double z, double radius) {
+        return query(x, y, z, radius, null, null);
+    }
+
+    /**
+     * Add all spawners whose center lies inside an axis-aligned box, bounds inclusive, to a caller-owned list
+     *
+     * @return number of spawners added
+     */
+    public int getWithinBox(double minX, double minY, double minZ, double maxX, double maxY, double maxZ,
+                            LongList out) {
+        if (minX > maxX || minY > maxY || minZ > maxZ) {
+            throw new IllegalArgumentException("box minimum must not exceed its maximum");
+        }
+        return query(new QueryRegion.Box(minX, minY, minZ, maxX, maxY, maxZ), out);
+    }
+
+    /**
+     * Add all spawners within {@code maxDistance} of the eye whose sphere is in view to a caller-owned list
+     * Visibility is the same view-cone test {@link FrustumCuller#isVisible} applies to one sphere.
+     *
+     * @return number of spawners added
+     */
+    public int getInView(Position eye, double lookX, double lookY, double lookZ, float fov,
+                         float sphereRadius, double maxDistance, LongList out) {
+        if (eye == null) {
+            throw new IllegalArgumentException("eye cannot be null");
+        }
+        if (!(maxDistance >= 0) || Double.isInfinite(maxDistance)) {
+            throw new IllegalArgumentException("maxDistance must be finite and non-negative");
+        }
+        return query(new QueryRegion.View(eye, lookX, lookY, lookZ, fov, sphereRadius, maxDistance), out);
+    }
+
+    /**
+     * Add all spawners whose sphere of {@code sphereRadius} a ray passes through within {@code length}
+     * blocks of its origin to a caller-owned list, in no particular order
+     *
+     * @return number of spawners added
+     */
+    public int getAlongRay(Position origin, double dirX, double dirY, double dirZ, double length,
+                           double sphereRadius, LongList out) {
+        if (origin == null) {
+            throw new IllegalArgumentException("origin cannot be null");
+        }
+        if (!(length >= 0) || Double.isInfinite(length) || !(sphereRadius >= 0)) {
+            throw new IllegalArgumentException("length must be finite and non-negative, sphereRadius non-negative");
+        }
+        return query(new QueryRegion.Ray(origin, dirX, dirY, dirZ, length, sphereRadius), out);
+    }
+
+    private int query(QueryRegion region, LongList out) {
+        if (out == null) {
+            throw new IllegalArgumentException("out cannot be null");
+        }
+        if (copyOnWrite) {
+            return state.query(region, out);
+        }
         lock.readLock().lock();
         try {
-            List<SpawnerData> result = new ArrayList<SpawnerData>();
-
-            int chunkRadius = (radius / CHUNK_SIZE) + 1;
-            ChunkCoord centerChunk = getChunkCoord(center);
-
-            for (int cx = -chunkRadius; cx <= chunkRadius; cx++) {
-                for (int cz = -chunkRadius; cz <= chunkRadius; cz++) {
-                    ChunkCoord coord = new ChunkCoord(
-                        centerChunk.x + cx,
-                        centerChunk.z + cz
-                    );
-
-                    List<SpawnerData> spawners = chunkMap.get(coord);
-                    if (spawners != null) {
-                        // Synchronize list access to create thread-safe snapshot
-                        synchronized (spawners) {
-                            // Filter by actual distance
-                            for (SpawnerData entry : spawners) {
-                                double distance = center.distanceTo(entry.center);
-                                if (distance <= radius) {
-                                    result.add(entry);
-                                }
-                            }
-                        }
-                    }
-                }
-            }
+            return state.query(region, out);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
 
-            return result;
+    private int query(double x, double y, double z, double radius, Visitor visitor, LongList out) {
+        if (radius < 0) {
+            throw new IllegalArgumentException("radius must be non-negative");
+        }
+        if (copyOnWrite) {
+            // The version read here is never modified, so no lock is needed
+            return state.query(x, y, z, radius, visitor, out);
+        }
+        lock.readLock().lock();
+        try {
+            return state.query(x, y, z, radius, visitor, out);
         } finally {
             lock.readLock().unlock();
         }
     }
 
     /**
-     * Remove a spawner from the spatial index
+     * Get the spawner closest to a position, at any distance
+     *
+     * @return key of the nearest spawner, or {@link BlockKey#NONE} if the index is empty
      */
-    public void remove(Object blockPos, Position center) {
-        if (blockPos == null || center == null) {
-            return; // Gracefully handle null inputs
+    public long nearest(Position center) {
+        if (center == null) {
+            throw new IllegalArgumentException("center cannot be null");
         }
-        lock.writeLock().lock();
+        return nearest(center.x, center.y, center.z, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Get the spawner closest to a point, if one lies within {@code maxDistance}
+     *
+     * @return key of the nearest spawner, or {@link BlockKey#NONE} if there is none within range
+     */
+    public long nearest(double x, double y, double z, double maxDistance) {
+        NearestHeap heap = new NearestHeap(1);
+        search(x, y, z, maxDistance, heap);
+        return heap.size == 0 ? BlockKey.NONE : heap.keys[0];
+    }
+
+    /**
+     * Get the {@code k} spawners closest to a position, at any distance, nearest first
+     */
+    public LongList kNearest(Position center, int k) {
+        if (center == null) {
+            throw new IllegalArgumentException("center cannot be null");
+        }
+        LongList result = new LongList();
+        kNearest(center.x, center.y, center.z, k, Double.POSITIVE_INFINITY, result);
+        return result;
+    }
+
+    /**
+     * Add the {@code k} spawners closest to a point and within {@code maxDistance}
+     * to a caller-owned list, nearest first
+     *
+     * @return number of spawners added
+     */
+    public int kNearest(double x, double y, double z, int k, double maxDistance, LongList out) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must be non-negative");
+        }
+        if (out == null) {
+            throw new IllegalArgumentException("out cannot be null");
+        }
+        if (k == 0) {
+            return 0;
+        }
+        // The heap never holds more than the index does, so a huge k costs nothing extra
+        NearestHeap heap = new NearestHeap(Math.min(k, Math.max(1, size())));
+        search(x, y, z, maxDistance, heap);
+        return heap.drainInto(out);
+    }
+
+    private void search(double x, double y, double z, double maxDistance, NearestHeap heap) {
+        if (maxDistance < 0) {
+            throw new IllegalArgumentException("maxDistance must be non-negative");
+        }
+        if (copyOnWrite) {
+            state.nearest(x, y, z, maxDistance, heap);
+            return;
+        }
+        lock.readLock().lock();
         try {
-            ChunkCoord chunkCoord = getChunkCoord(center);
-            List<SpawnerData> spawners = chunkMap.get(chunkCoord);
-            if (spawners != null) {
-                // Synchronize list access and cleanup in single block
-                synchronized (spawners) {
-                    spawners.removeIf(entry -> entry.blockPos.equals(blockPos));
-                    // Clean up empty chunk lists to prevent memory waste
-                    if (spawners.isEmpty()) {
-                        chunkMap.remove(chunkCoord);
-                    }
-                }
-            }
+            state.nearest(x, y, z, maxDistance, heap);
         } finally {
-            lock.writeLock().unlock();
+            lock.readLock().unlock();
         }
     }
 
     /**
-     * Clear all entries
+     * Remove the spawner in the block {@code key} packs, if the index holds it
      */
-    public void clear() {
+    public void remove(long key) {
         lock.writeLock().lock();
         try {
-            chunkMap.clear();
+            if (!state.contains(key)) {
+                return; // Nothing to remove; skip copying a version
+            }
+            SpatialBackend target = beginWrite();
+            target.delete(key);
+            state = target;
         } finally {
             lock.writeLock().unlock();
         }
     }
 
     /**
-     * Get chunk coordinate from world position
+     * Remove the spawner in each block a key packs under one lock, publishing one new version in
+     * copy-on-write mode
+     * Keys with no spawner are skipped.
      */
-    private ChunkCoord getChunkCoord(Position pos) {
-        return new ChunkCoord(
-            (int) Math.floor(pos.x / CHUNK_SIZE),
-            (int) Math.floor(pos.z / CHUNK_SIZE)
-        );
+    public void removeAll(LongList keys) {
+        if (keys == null) {
+            throw new IllegalArgumentException("keys cannot be null");
+        }
+        lock.writeLock().lock();
+        try {
+            LongList present = new LongList(keys.size());
+            for (int i = 0, n = keys.size(); i < n; i++) {
+                long key = keys.get(i);
+                if (state.contains(key)) {
+                    present.add(key);
+                }
+            }
+            if (present.isEmpty()) {
+                return; // Nothing to remove; skip copying a version
+            }
+            SpatialBackend target = beginWrite();
+            target.deleteAll(present);
+            state = target;
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     /**
-     * Chunk coordinate for spatial indexing
+     * Clear all entries
      */
-    private static class ChunkCoord {
-        final int x;
-        final int z;
-
-        ChunkCoord(int x, int z) {
-            this.x = x;
-            this.z = z;
-        }
-
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
-            ChunkCoord that = (ChunkCoord) o;
-            return x == that.x && z == that.z;
-        }
-
-        @Override
-        public int hashCode() {
-            return Objects.hash(x, z);
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            state = backend.create();
+        } finally {
+            lock.writeLock().unlock();
         }
     }
 
@@ -203,17 +423,22 @@ public class SpatialIndex {
      * Get the number of spawners in the index
      */
     public int size() {
+        if (copyOnWrite) {
+            return state.size();
+        }
         lock.readLock().lock();
         try {
-            int count = 0;
-            for (List<SpawnerData> spawners : chunkMap.values()) {
-                synchronized (spawners) {
-                    count += spawners.size();
-                }
-            }
-            return count;
+            return state.size();
         } finally {
             lock.readLock().unlock();
         }
     }
+
+    /**
+     * Version to apply a change to; call with the write lock held
+     * Copy-on-write mode gets a private copy, which is published once the change is done.
+     */
+    private SpatialBackend beginWrite() {
+        return copyOnWrite ? state.copy() : state;
+    }
 }
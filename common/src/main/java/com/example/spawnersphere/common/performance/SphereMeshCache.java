@@ -0,0 +1,145 @@
+package com.example.spawnersphere.common.performance;
+
+/**
+ * Unit-sphere wireframes, built once per layout and segment count
+ * Renderers used to evaluate sin and cos for every vertex of every sphere each frame; with a
+ * cached mesh they only scale by the radius and translate to the center. Segment counts come
+ * from the LOD range or the fixed segment setting, so a config change simply starts using
+ * (and on first use builds) the meshes for the new counts.
+ * Safe to use from any thread: meshes are immutable, and a race at most builds one twice.
+ */
+public final class SphereMeshCache {
+
+    /**
+     * Which circles make up the wireframe
+     */
+    public enum Layout {
+        /** Latitudes every 30 degrees and 6 longitudes, as drawn by the modern renderers */
+        STANDARD(6, 2, 6),
+        /** Latitudes every 11.25 degrees and 8 longitudes, as drawn by the legacy renderers */
+        DENSE(8, 1, 8);
+
+        // Latitude k sits at k * PI / (2 * latitudeSteps), for k stepping by latitudeStride
+        final int latitudeSteps;
+        final int latitudeStride;
+        final int longitudes;
+
+        Layout(int latitudeSteps, int latitudeStride, int longitudes) {
+            this.latitudeSteps = latitudeSteps;
+            this.latitudeStride = latitudeStride;
+            this.longitudes = longitudes;
+        }
+    }
+
+    // Highest segment count the config allows; larger counts are built but not cached
+    private static final int MAX_CACHED_SEGMENTS = 64;
+
+    private static final Mesh[][] CACHE = new Mesh[Layout.values().length][MAX_CACHED_SEGMENTS + 1];
+
+    private SphereMeshCache() {
+    }
+
+    /**
+     * Wireframe of a unit sphere with {@code segments} line segments per circle
+     */
+    public static Mesh get(Layout layout, int segments) {
+        if (layout == null) {
+            throw new IllegalArgumentException("layout cannot be null");
+        }
+        if (segments < 3) {
+            throw new IllegalArgumentException("segments must be at least 3, got " + segments);
+        }
+        if (segments > MAX_CACHED_SEGMENTS) {
+            return build(layout, segments);
+        }
+        Mesh[] meshes = CACHE[layout.ordinal()];
+        Mesh mesh = meshes[segments];
+        if (mesh == null) {
+            mesh = build(layout, segments);
+            meshes[segments] = mesh;
+        }
+        return mesh;
+    }
+
+    private static Mesh build(Layout layout, int segments) {
+        // The pole latitudes are single points, so they are left out
+        int latitudes = 0;
+        for (int lat = -layout.latitudeSteps + layout.latitudeStride; lat < layout.latitudeSteps; lat += layout.latitudeStride) {
+            if (lat != 0) {
+                latitudes++;
+            }
+        }
+        int circles = latitudes + layout.longitudes + 1;
+        float[] lines = new float[circles * segments * 6];
+
+        // One angle table shared by every circle
+        double[] cos = new double[segments + 1];
+        double[] sin = new double[segments + 1];
+        for (int i = 0; i <= segments; i++) {
+            double angle = 2 * Math.PI * i / segments;
+            cos[i] = Math.cos(angle);
+            sin[i] = Math.sin(angle);
+        }
+
+        int offset = 0;
+        for (int lat = -layout.latitudeSteps + layout.latitudeStride; lat < layout.latitudeSteps; lat += layout.latitudeStride) {
+            if (lat != 0) {
+                double latAngle = lat * Math.PI / (2 * layout.latitudeSteps);
+                offset = latitude(lines, offset, cos, sin, segments, Math.cos(latAngle), Math.sin(latAngle));
+            }
+        }
+        for (int lon = 0; lon < layout.longitudes; lon++) {
+            double lonAngle = lon * Math.PI / layout.longitudes;
+            double cosLon = Math.cos(lonAngle);
+            double sinLon = Math.sin(lonAngle);
+            for (int i = 0; i < segments; i++) {
+                for (int end = i; end <= i + 1; end++) {
+                    lines[offset++] = (float) (sin[end] * cosLon);
+                    lines[offset++] = (float) cos[end];
+                    lines[offset++] = (float) (sin[end] * sinLon);
+                }
+            }
+        }
+        int equatorOffset = offset;
+        latitude(lines, offset, cos, sin, segments, 1.0, 0.0);
+
+        return new Mesh(segments, lines, equatorOffset);
+    }
+
+    private static int latitude(float[] lines, int offset, double[] cos, double[] sin, int segments, double ringRadius, double ringY) {
+        for (int i = 0; i < segments; i++) {
+            for (int end = i; end <= i + 1; end++) {
+                lines[offset++] = (float) (ringRadius * cos[end]);
+                lines[offset++] = (float) ringY;
+                lines[offset++] = (float) (ringRadius * sin[end]);
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * Line segments of a unit sphere centered on the origin
+     */
+    public static final class Mesh {
+        public final int segments;
+        /**
+         * Endpoint pairs for GL_LINES, packed as x, y, z; must not be modified
+         */
+        public final float[] lines;
+        /**
+         * Index in {@link #lines} where the equator's segments start; they run to the end,
+         * so renderers that highlight the equator can draw it separately
+         */
+        public final int equatorOffset;
+
+        Mesh(int segments, float[] lines, int equatorOffset) {
+            this.segments = segments;
+            this.lines = lines;
+            this.equatorOffset = equatorOffset;
+        }
+
+        public int vertexCount() {
+            return lines.length / 3;
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package com.example.spawnersphere.common.platform;
 
+import com.example.spawnersphere.common.data.BlockKey;
+import com.example.spawnersphere.common.scan.SectionSnapshot;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.List;
+import java.util.concurrent.Executor;
+
 /**
  * Platform abstraction interface for Fabric/Forge compatibility
  */
@@ -18,6 +23,99 @@ public interface IPlatformHelper {
      */
     boolean isSpawner(Object world, Object blockPos);
 
+    /**
+     * Check if the block at the given coordinates is a spawner
+     * Hot-path variant of {@link #isSpawner} that needs no block position object. Implementations
+     * should reuse a per-thread mutable position; the default adapter allocates one per call.
+     */
+    default boolean isSpawnerAt(Object world, int x, int y, int z) {
+        return isSpawner(world, createBlockPos(x, y, z));
+    }
+
+    /**
+     * Check whether a 16x16x16 chunk section could contain a spawner at all
+     * Implementations should answer from the section's block-state palette
+     * without reading individual blocks. Returning true is always safe - the
+     * core then checks every block in the section with {@link #isSpawner}.
+     *
+     * @param sectionX Section X coordinate (block X >> 4)
+     * @param sectionY Section Y coordinate (block Y >> 4)
+     * @param sectionZ Section Z coordinate (block Z >> 4)
+     * @return false only if the section definitely contains no spawner
+     */
+    default boolean sectionMayContainSpawner(Object world, int sectionX, int sectionY, int sectionZ) {
+        return true;
+    }
+
+    /**
+     * Whether {@link #snapshotSection} returns cheap copies of section palettes
+     * When false, the core reads the blocks of candidate sections itself on the tick thread.
+     */
+    default boolean supportsSectionSnapshots() {
+        return false;
+    }
+
+    /**
+     * Capture an immutable copy of a chunk section's blocks for the background scan worker
+     * Called on the client tick thread; the returned snapshot is read from the worker thread.
+     *
+     * @return snapshot, or null if the section is not loaded or has no spawner
+     */
+    default SectionSnapshot snapshotSection(Object world, int sectionX, int sectionY, int sectionZ) {
+        return null;
+    }
+
+    /**
+     * Executor that background scans fan captured sections out to
+     * Return a loader-owned worker pool to share it; null lets the core run its own fork-join pool.
+     */
+    default Executor getScanExecutor() {
+        return null;
+    }
+
+    /**
+     * Whether this platform can list spawners from a chunk's block entities
+     * When true, the core may use {@link #collectSpawnerBlockEntities} instead of reading blocks
+     */
+    default boolean supportsBlockEntityScan() {
+        return false;
+    }
+
+    /**
+     * Add the block position of every spawner block entity in a loaded chunk to {@code out}
+     * Chunks that are not loaded add nothing.
+     *
+     * @param chunkX Chunk X coordinate (block X >> 4)
+     * @param chunkZ Chunk Z coordinate (block Z >> 4)
+     * @param out Receives platform block positions, as returned by {@link #createBlockPos}
+     */
+    default void collectSpawnerBlockEntities(Object world, int chunkX, int chunkZ, List<Object> out) {
+    }
+
+    /**
+     * Whether a chunk is loaded in the given world
+     * Used to skip work for chunks the client does not have; returning true is always safe.
+     */
+    default boolean isChunkLoaded(Object world, int chunkX, int chunkZ) {
+        return true;
+    }
+
+    /**
+     * Lowest block Y a world can hold (inclusive)
+     * Scans are clipped to the build limits; the default reports no limit.
+     */
+    default int getMinBuildHeight(Object world) {
+        return Integer.MIN_VALUE;
+    }
+
+    /**
+     * One above the highest block Y a world can hold (exclusive)
+     * Scans are clipped to the build limits; the default reports no limit.
+     */
+    default int getMaxBuildHeight(Object world) {
+        return Integer.MAX_VALUE;
+    }
+
     /**
      * Get the player's current position
      * @return Vec3-like object with x, y, z coordinates
@@ -25,18 +123,50 @@ public interface IPlatformHelper {
     @NotNull
     Position getPlayerPosition(Object player);
 
+    /**
+     * Get the player's X coordinate without allocating a {@link Position}
+     */
+    default double getPlayerX(Object player) {
+        return getPlayerPosition(player).x;
+    }
+
+    /**
+     * Get the player's Y coordinate without allocating a {@link Position}
+     */
+    default double getPlayerY(Object player) {
+        return getPlayerPosition(player).y;
+    }
+
+    /**
+     * Get the player's Z coordinate without allocating a {@link Position}
+     */
+    default double getPlayerZ(Object player) {
+        return getPlayerPosition(player).z;
+    }
+
     /**
      * Get a block position from coordinates
+     * May be called from the background scan worker, so it must not touch world state
      */
     @NotNull
     Object createBlockPos(int x, int y, int z);
 
     /**
      * Get the center position of a block
+     * May be called from the background scan worker, so it must not touch world state
      */
     @NotNull
     Position getBlockCenter(Object blockPos);
 
+    /**
+     * Get the packed {@link BlockKey} of a block position
+     * Implementations should pack the block coordinates directly; the default goes through
+     * {@link #getBlockCenter}, which allocates a position.
+     */
+    default long blockKey(Object blockPos) {
+        return BlockKey.of(getBlockCenter(blockPos));
+    }
+
     /**
      * Calculate Euclidean distance between two positions
      */
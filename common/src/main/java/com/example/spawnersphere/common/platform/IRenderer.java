@@ -28,6 +28,22 @@ public interface IRenderer {
         int segments
     );
 
+    /**
+     * Render every sphere of a frame
+     * Platforms override this to emit the whole batch into one buffer with one draw; by default
+     * each sphere goes through {@link #renderSphere}.
+     *
+     * @param context Platform-specific rendering context
+     * @param batch Spheres to render; only valid for the duration of the call
+     */
+    default void renderSpheres(@NotNull Object context, @NotNull SphereBatch batch) {
+        SphereColor color = null;
+        for (int i = 0, n = batch.size(); i < n; i++) {
+            color = batch.color(i, color);
+            renderSphere(context, batch.x(i), batch.y(i), batch.z(i), batch.radius(i), color, batch.segments(i));
+        }
+    }
+
     /**
      * Color configuration for sphere rendering
      */
@@ -0,0 +1,150 @@
+package com.example.spawnersphere.common.platform;
+
+import com.example.spawnersphere.common.platform.IRenderer.SphereColor;
+
+import java.util.Arrays;
+
+/**
+ * Every sphere of one frame, packed into parallel arrays
+ * Lets a renderer fetch its buffer and matrix once and emit the whole frame in one draw
+ * instead of being called per sphere. Reused from frame to frame, so filling it allocates
+ * nothing once the arrays have grown; not thread-safe.
+ * Each frame is compared with the previous one as it is filled, and {@link #version()} only
+ * changes when the content does, so renderers can keep whatever they built for a version
+ * and replay it while nothing moves.
+ */
+public final class SphereBatch {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private double[] centers = new double[3 * MIN_CAPACITY]; // x, y, z per sphere
+    private float[] radii = new float[MIN_CAPACITY];
+    private float[] colors = new float[4 * MIN_CAPACITY]; // red, green, blue, alpha per sphere
+    private int[] segments = new int[MIN_CAPACITY];
+    private int size;
+
+    private int previousSize;
+    private boolean changed;
+    private long version;
+
+    /**
+     * Start a new frame; its spheres are compared with the previous frame's as they are added
+     */
+    public void clear() {
+        previousSize = size;
+        size = 0;
+        changed = false;
+    }
+
+    /**
+     * End the frame, moving to a new {@link #version()} if it differs from the previous one
+     */
+    public void finish() {
+        if (changed || size != previousSize) {
+            version++;
+        }
+        previousSize = size;
+        changed = false;
+    }
+
+    /**
+     * Identifies the batch content; equal versions mean identical spheres
+     */
+    public long version() {
+        return version;
+    }
+
+    public void add(double x, double y, double z, float radius, SphereColor color, int segments) {
+        if (color == null) {
+            throw new IllegalArgumentException("color cannot be null");
+        }
+        if (size == radii.length) {
+            grow();
+        }
+        if (!changed && (size >= previousSize || !matches(size, x, y, z, radius, color, segments))) {
+            changed = true;
+        }
+        centers[3 * size] = x;
+        centers[3 * size + 1] = y;
+        centers[3 * size + 2] = z;
+        radii[size] = radius;
+        colors[4 * size] = color.red;
+        colors[4 * size + 1] = color.green;
+        colors[4 * size + 2] = color.blue;
+        colors[4 * size + 3] = color.alpha;
+        this.segments[size] = segments;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public double x(int index) {
+        return centers[3 * index];
+    }
+
+    public double y(int index) {
+        return centers[3 * index + 1];
+    }
+
+    public double z(int index) {
+        return centers[3 * index + 2];
+    }
+
+    public float radius(int index) {
+        return radii[index];
+    }
+
+    public float red(int index) {
+        return colors[4 * index];
+    }
+
+    public float green(int index) {
+        return colors[4 * index + 1];
+    }
+
+    public float blue(int index) {
+        return colors[4 * index + 2];
+    }
+
+    public float alpha(int index) {
+        return colors[4 * index + 3];
+    }
+
+    public int segments(int index) {
+        return segments[index];
+    }
+
+    /**
+     * Color of a sphere as a SphereColor, reusing {@code previous} when it already matches
+     * Spheres share one of a few colors, so per-sphere callers rarely allocate.
+     */
+    public SphereColor color(int index, SphereColor previous) {
+        if (previous != null
+                && previous.red == red(index) && previous.green == green(index)
+                && previous.blue == blue(index) && previous.alpha == alpha(index)) {
+            return previous;
+        }
+        return new SphereColor(red(index), green(index), blue(index), alpha(index));
+    }
+
+    private boolean matches(int index, double x, double y, double z, float radius, SphereColor color, int segments) {
+        return centers[3 * index] == x && centers[3 * index + 1] == y && centers[3 * index + 2] == z
+            && radii[index] == radius && this.segments[index] == segments
+            && colors[4 * index] == color.red && colors[4 * index + 1] == color.green
+            && colors[4 * index + 2] == color.blue && colors[4 * index + 3] == color.alpha;
+    }
+
+    private void grow() {
+        int capacity = radii.length * 2;
+        centers = Arrays.copyOf(centers, 3 * capacity);
+        radii = Arrays.copyOf(radii, capacity);
+        colors = Arrays.copyOf(colors, 4 * capacity);
+        segments = Arrays.copyOf(segments, capacity);
+    }
+}
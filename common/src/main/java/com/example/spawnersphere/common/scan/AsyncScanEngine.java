@@ -0,0 +1,202 @@
+package com.example.spawnersphere.common.scan;
+
+import com.example.spawnersphere.common.performance.LongList;
+import com.example.spawnersphere.common.platform.IPlatformHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs captured scans on a background worker thread
+ * Every submit supersedes the previous scan: a scan that is still running
+ * notices its generation is stale, stops early and its result is dropped.
+ * The worker fans the captured sections out to the platform's executor, or to
+ * a fork-join pool of its own, so large scans use every spare core.
+ */
+public final class AsyncScanEngine {
+
+    /**
+     * Receives the block keys of the spawners found by a scan that was still current when it finished
+     */
+    public interface ResultHandler {
+        void onScanComplete(long generation, ScanSnapshot snapshot, LongList found);
+    }
+
+    private final IPlatformHelper platformHelper;
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private ExecutorService worker;
+    private ForkJoinPool sectionPool;
+    // Pools replaced while a scan may still hand them tasks; shut down once no scan is in flight
+    private final List<ForkJoinPool> retiredPools = new ArrayList<>();
+    private int scanThreads = 0;
+
+    public AsyncScanEngine(IPlatformHelper platformHelper) {
+        this.platformHelper = platformHelper;
+    }
+
+    /**
+     * Scan a captured snapshot, cancelling any scan still in progress
+     *
+     * @param async Run on the worker thread; false runs the scan on the calling thread
+     * @return Generation of the submitted scan
+     */
+    public long submit(final ScanSnapshot snapshot, boolean async, final ResultHandler handler) {
+        final long scanGeneration = generation.incrementAndGet();
+        inFlight.incrementAndGet();
+        Runnable task = () -> {
+            try {
+                if (!isCurrent(scanGeneration)) {
+                    return; // Superseded while queued; do not start a section pool for it
+                }
+                Executor sectionExecutor = getSectionExecutor();
+                LongList found = snapshot.scan(platformHelper, () -> !isCurrent(scanGeneration),
+                    sectionExecutor, getParallelism(sectionExecutor));
+                if (found != null && isCurrent(scanGeneration)) {
+                    handler.onScanComplete(scanGeneration, snapshot, found);
+                }
+            } catch (Exception e) {
+                System.err.println("Error during background spawner scan: " + e.getMessage());
+            } finally {
+                inFlight.decrementAndGet();
+                shutdownRetiredPools();
+            }
+        };
+
+        if (async) {
+            getWorker().execute(task);
+        } else {
+            task.run();
+        }
+        return scanGeneration;
+    }
+
+    /**
+     * Set how many threads a scan may fan sections out to
+     *
+     * @param scanThreads Thread count, 1 to scan on the worker alone, or 0 for one per spare core
+     */
+    public synchronized void setScanThreads(int scanThreads) {
+        if (this.scanThreads != scanThreads) {
+            retireSectionPool(); // Recreated at the new size on the next scan
+        }
+        this.scanThreads = scanThreads;
+    }
+
+    /**
+     * Whether no newer scan or cancel has happened since the given generation was submitted
+     */
+    public boolean isCurrent(long scanGeneration) {
+        return generation.get() == scanGeneration;
+    }
+
+    /**
+     * Whether a submitted scan has not finished yet (including cancelled scans still winding down)
+     */
+    public boolean isBusy() {
+        return inFlight.get() > 0;
+    }
+
+    /**
+     * Cancel the running scan, if any, without starting a new one
+     */
+    public void cancel() {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Cancel any running scan and stop the worker thread and section pool once it has wound down
+     * The engine stays usable; the next submit starts new threads.
+     */
+    public synchronized void shutdown() {
+        cancel();
+        if (worker != null) {
+            // Queued and running scans see they are stale and return at their next check
+            worker.shutdown();
+            worker = null;
+        }
+        retireSectionPool();
+    }
+
+    /**
+     * Stop handing out the current section pool; it is shut down once no scan can still be using it
+     */
+    private synchronized void retireSectionPool() {
+        if (sectionPool != null) {
+            retiredPools.add(sectionPool);
+            sectionPool = null;
+        }
+        shutdownRetiredPools();
+    }
+
+    /**
+     * Shut down retired pools if no scan is in flight
+     * Scans only take a pool after being counted in flight, and never a retired one, so an idle
+     * engine cannot still be submitting tasks to them.
+     */
+    private synchronized void shutdownRetiredPools() {
+        if (retiredPools.isEmpty() || inFlight.get() > 0) {
+            return;
+        }
+        for (ForkJoinPool pool : retiredPools) {
+            pool.shutdown();
+        }
+        retiredPools.clear();
+    }
+
+    private int resolveScanThreads() {
+        if (scanThreads > 0) {
+            return scanThreads;
+        }
+        // Leave one core for the client thread
+        return Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    }
+
+    /**
+     * @return executor for section tasks, or null when scans should stay on the worker thread
+     */
+    private synchronized Executor getSectionExecutor() {
+        int threads = resolveScanThreads();
+        if (threads <= 1) {
+            return null;
+        }
+        Executor platformExecutor = platformHelper.getScanExecutor();
+        if (platformExecutor != null) {
+            return platformExecutor;
+        }
+        if (sectionPool == null) {
+            sectionPool = new ForkJoinPool(threads, pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("SpawnerSphere-Scan-" + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+            }, null, false);
+        }
+        return sectionPool;
+    }
+
+    private synchronized int getParallelism(Executor sectionExecutor) {
+        if (sectionExecutor instanceof ForkJoinPool) {
+            return ((ForkJoinPool) sectionExecutor).getParallelism();
+        }
+        return resolveScanThreads();
+    }
+
+    private synchronized ExecutorService getWorker() {
+        if (worker == null) {
+            worker = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "SpawnerSphere-Scan");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return worker;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.spawnersphere.common.scan;
+
+/**
+ * One loaded chunk section a scan has to look at, with the part of each column it covers
+ * Spans are local Y ranges (0-15) of the blocks that lie inside both the scan sphere and the
+ * world's build limits, so consumers never test individual blocks against the sphere.
+ */
+public final class PlannedSection {
+
+    // Packed (minLocalY << 4) | maxLocalY per column, indexed (localZ << 4) | localX
+    private static final byte EMPTY_COLUMN = (byte) 0xF0;
+
+    public final int sectionX;
+    public final int sectionY;
+    public final int sectionZ;
+
+    // null when every column spans the whole section
+    private final byte[] spans;
+
+    PlannedSection(int sectionX, int sectionY, int sectionZ, byte[] spans) {
+        this.sectionX = sectionX;
+        this.sectionY = sectionY;
+        this.sectionZ = sectionZ;
+        this.spans = spans;
+    }
+
+    /**
+     * Plan a section, or return null if none of its blocks lie in the sphere and build limits
+     *
+     * @param minY Lowest world Y to include
+     * @param maxY Highest world Y to include
+     */
+    static PlannedSection plan(ScanArea area, int sectionX, int sectionY, int sectionZ, int minY, int maxY) {
+        int baseY = sectionY << 4;
+        int lowY = Math.max(baseY, minY);
+        int highY = Math.min(baseY + 15, maxY);
+        if (lowY > highY) {
+            return null;
+        }
+        if (lowY == baseY && highY == baseY + 15 && area.coversSection(sectionX, sectionY, sectionZ)) {
+            return new PlannedSection(sectionX, sectionY, sectionZ, null);
+        }
+
+        byte[] spans = new byte[256];
+        boolean any = false;
+        for (int localZ = 0; localZ < 16; localZ++) {
+            int dz = (sectionZ << 4) + localZ - area.centerZ;
+            for (int localX = 0; localX < 16; localX++) {
+                int dx = (sectionX << 4) + localX - area.centerX;
+                byte span = EMPTY_COLUMN;
+
+                int remaining = area.radiusSquared - dx * dx - dz * dz;
+                if (remaining >= 0) {
+                    int halfHeight = isqrt(remaining);
+                    int columnLow = Math.max(area.centerY - halfHeight, lowY);
+                    int columnHigh = Math.min(area.centerY + halfHeight, highY);
+                    if (columnLow <= columnHigh) {
+                        span = (byte) (((columnLow - baseY) << 4) | (columnHigh - baseY));
+                        any = true;
+                    }
+                }
+                spans[(localZ << 4) | localX] = span;
+            }
+        }
+        return any ? new PlannedSection(sectionX, sectionY, sectionZ, spans) : null;
+    }
+
+    /**
+     * Lowest local Y of the column inside the plan; greater than {@link #maxLocalY} if the column is empty
+     */
+    public int minLocalY(int localX, int localZ) {
+        return spans == null ? 0 : (spans[(localZ << 4) | localX] >> 4) & 15;
+    }
+
+    /**
+     * Highest local Y of the column inside the plan
+     */
+    public int maxLocalY(int localX, int localZ) {
+        return spans == null ? 15 : spans[(localZ << 4) | localX] & 15;
+    }
+
+    /**
+     * Whether every block of the section is part of the plan
+     */
+    public boolean isFull() {
+        return spans == null;
+    }
+
+    /**
+     * Largest h with h * h <= value
+     */
+    private static int isqrt(int value) {
+        int root = (int) Math.sqrt(value);
+        while (root * root > value) {
+            root--;
+        }
+        while ((root + 1) * (root + 1) <= value) {
+            root++;
+        }
+        return root;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.spawnersphere.common.scan;
+
+import com.example.spawnersphere.common.performance.LongList;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects block and chunk change events until they can be applied together
+ * Repeated events for the same position or chunk collapse into the latest one, and the queue
+ * only reports ready once a burst has gone quiet, so a flood of events costs one pass.
+ * Events may arrive from any thread (e.g. the integrated server); draining happens on the tick thread.
+ */
+public final class PointUpdateQueue {
+
+    // A burst that never goes quiet is still drained after this many debounce periods
+    private static final int MAX_DELAY_FACTOR = 4;
+
+    // Packed block key (see BlockKey) -> true if a spawner was added there, false if one was removed
+    private final Map<Long, Boolean> blocks = new ConcurrentHashMap<>();
+    // Packed chunk key -> true if the chunk was loaded, false if it was unloaded
+    private final Map<Long, Boolean> chunks = new ConcurrentHashMap<>();
+
+    private volatile long firstEventTime = 0;
+    private volatile long lastEventTime = 0;
+
+    public void blockChanged(long blockKey, boolean added) {
+        blocks.put(blockKey, added);
+        touch();
+    }
+
+    public void chunkChanged(int chunkX, int chunkZ, boolean loaded) {
+        chunks.put(chunkKey(chunkX, chunkZ), loaded);
+        touch();
+    }
+
+    /**
+     * Whether a spawner addition at this position is waiting to be applied
+     */
+    public boolean isAddPending(long blockKey) {
+        return Boolean.TRUE.equals(blocks.get(blockKey));
+    }
+
+    /**
+     * Whether there are queued events and the burst they belong to has settled
+     */
+    public boolean isReady(long now, long debounceMillis) {
+        if (blocks.isEmpty() && chunks.isEmpty()) {
+            return false;
+        }
+        return now - lastEventTime >= debounceMillis
+            || now - firstEventTime >= debounceMillis * MAX_DELAY_FACTOR;
+    }
+
+    /**
+     * Move the queued block events into {@code added} and {@code removed} as packed block keys
+     */
+    public void drainBlocks(LongList added, LongList removed) {
+        for (Map.Entry<Long, Boolean> entry : blocks.entrySet()) {
+            // Conditional remove keeps an event that replaced this one mid-drain for the next pass
+            if (blocks.remove(entry.getKey(), entry.getValue())) {
+                (entry.getValue() ? added : removed).add(entry.getKey());
+            }
+        }
+        firstEventTime = 0;
+    }
+
+    /**
+     * Move the queued chunk events into {@code loaded} and {@code unloaded} as packed chunk keys
+     */
+    public void drainChunks(LongList loaded, LongList unloaded) {
+        for (Map.Entry<Long, Boolean> entry : chunks.entrySet()) {
+            if (chunks.remove(entry.getKey(), entry.getValue())) {
+                (entry.getValue() ? loaded : unloaded).add(entry.getKey());
+            }
+        }
+        firstEventTime = 0;
+    }
+
+    public void clear() {
+        blocks.clear();
+        chunks.clear();
+        firstEventTime = 0;
+    }
+
+    public int size() {
+        return blocks.size() + chunks.size();
+    }
+
+    private void touch() {
+        long now = System.currentTimeMillis();
+        if (firstEventTime == 0) {
+            firstEventTime = now;
+        }
+        lastEventTime = now;
+    }
+
+    public static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    public static int chunkX(long key) {
+        return (int) (key >> 32);
+    }
+
+    public static int chunkZ(long key) {
+        return (int) key;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.spawnersphere.common.scan;
+
+/**
+ * Block-aligned scan sphere
+ * Remembered after each scan so movement rescans only cover the newly entered shell
+ */
+public final class ScanArea {
+    public final int centerX;
+    public final int centerY;
+    public final int centerZ;
+    public final int radius;
+    public final int radiusSquared;
+    public final boolean blockEntities;
+
+    public ScanArea(int centerX, int centerY, int centerZ, int radius, boolean blockEntities) {
+        this.centerX = centerX;
+        this.centerY = centerY;
+        this.centerZ = centerZ;
+        this.radius = radius;
+        this.radiusSquared = radius * radius;
+        this.blockEntities = blockEntities;
+    }
+
+    /**
+     * Whether an incremental rescan can build on a scan of this area
+     */
+    public boolean isCompatibleWith(ScanArea other) {
+        return other != null && radius == other.radius && blockEntities == other.blockEntities;
+    }
+
+    public boolean contains(int x, int y, int z) {
+        int dx = x - centerX;
+        int dy = y - centerY;
+        int dz = z - centerZ;
+        return dx * dx + dy * dy + dz * dz <= radiusSquared;
+    }
+
+    /**
+     * Whether every block of the box lies inside the sphere (its farthest corner does)
+     */
+    public boolean containsBox(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        int dx = Math.max(Math.abs(minX - centerX), Math.abs(maxX - centerX));
+        int dy = Math.max(Math.abs(minY - centerY), Math.abs(maxY - centerY));
+        int dz = Math.max(Math.abs(minZ - centerZ), Math.abs(maxZ - centerZ));
+        return dx * dx + dy * dy + dz * dz <= radiusSquared;
+    }
+
+    /**
+     * Whether any block of a 16^3 chunk section lies inside the sphere
+     */
+    public boolean intersectsSection(int sectionX, int sectionY, int sectionZ) {
+        int dx = axisDistance(centerX, sectionX << 4);
+        int dy = axisDistance(centerY, sectionY << 4);
+        int dz = axisDistance(centerZ, sectionZ << 4);
+        return dx * dx + dy * dy + dz * dz <= radiusSquared;
+    }
+
+    /**
+     * Whether any block of a chunk column lies inside the sphere
+     */
+    public boolean intersectsColumn(int chunkX, int chunkZ) {
+        int dx = axisDistance(centerX, chunkX << 4);
+        int dz = axisDistance(centerZ, chunkZ << 4);
+        return dx * dx + dz * dz <= radiusSquared;
+    }
+
+    /**
+     * Whether the sphere's part of a 16^3 chunk section lies entirely inside this area
+     */
+    public boolean coversSection(int sectionX, int sectionY, int sectionZ) {
+        return containsBox(
+            sectionX << 4, sectionY << 4, sectionZ << 4,
+            (sectionX << 4) + 15, (sectionY << 4) + 15, (sectionZ << 4) + 15
+        );
+    }
+
+    /**
+     * Whether the part of a chunk column inside {@code scan}'s vertical extent lies entirely inside this area
+     */
+    public boolean coversColumn(int chunkX, int chunkZ, ScanArea scan) {
+        return containsBox(
+            chunkX << 4, scan.centerY - scan.radius, chunkZ << 4,
+            (chunkX << 4) + 15, scan.centerY + scan.radius, (chunkZ << 4) + 15
+        );
+    }
+
+    private static int axisDistance(int value, int min) {
+        if (value < min) {
+            return min - value;
+        }
+        if (value > min + 15) {
+            return value - (min + 15);
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.spawnersphere.common.scan;
+
+import com.example.spawnersphere.common.performance.LongList;
+import com.example.spawnersphere.common.platform.IPlatformHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resumable scan that runs on the client tick thread a slice at a time
+ * For platforms where the world must not be touched off-thread: each call to {@link #advance}
+ * scans sections (or chunk columns in block entity mode) until its time budget is spent,
+ * and the next call picks up where the last one stopped.
+ */
+public final class ScanCursor {
+
+    private final ScanArea area;
+    private final ScanArea exclude;
+
+    // Chunk columns of the sphere's bounding square, walked x-major
+    private final int minChunkX;
+    private final int minChunkZ;
+    private final int sizeZ;
+    private final int totalColumns;
+
+    private int nextColumn = 0;
+    // Planned sections of the column being walked, and how many of them are done
+    private final List<PlannedSection> pending = new ArrayList<>();
+    private int pendingIndex = 0;
+    // Loader block positions of one column's spawner block entities, reused between columns
+    private final List<Object> blockEntities = new ArrayList<>();
+
+    /**
+     * @param exclude Area that was already scanned, or null for a full scan
+     */
+    public ScanCursor(ScanArea area, ScanArea exclude) {
+        this.area = area;
+        this.exclude = exclude;
+
+        this.minChunkX = (area.centerX - area.radius) >> 4;
+        this.minChunkZ = (area.centerZ - area.radius) >> 4;
+        int sizeX = ((area.centerX + area.radius) >> 4) - minChunkX + 1;
+        this.sizeZ = ((area.centerZ + area.radius) >> 4) - minChunkZ + 1;
+        this.totalColumns = sizeX * sizeZ;
+    }
+
+    /**
+     * Scan until the budget is spent or the cursor is finished
+     * Columns are planned as the walk reaches them, so chunks that load mid-scan are still picked up.
+     * Always completes at least one step, so a scan makes progress under any budget.
+     * Must be called on the thread that owns the world (the client tick thread).
+     *
+     * @param budgetNanos Time this call may spend, in nanoseconds
+     * @param found Receives the block keys of the spawners found in this slice
+     * @return true once the whole area has been scanned
+     */
+    public boolean advance(IPlatformHelper platformHelper, Object world, long budgetNanos, LongList found) {
+        long deadline = System.nanoTime() + budgetNanos;
+        boolean platformSnapshots = platformHelper.supportsSectionSnapshots();
+        ScanPlanner planner = new ScanPlanner(platformHelper, world, area, exclude);
+
+        while (!isFinished()) {
+            if (pendingIndex < pending.size()) {
+                scanSection(platformHelper, world, pending.get(pendingIndex++), platformSnapshots, found);
+            } else {
+                int column = nextColumn++;
+                int chunkX = minChunkX + column / sizeZ;
+                int chunkZ = minChunkZ + column % sizeZ;
+                pending.clear();
+                pendingIndex = 0;
+
+                if (area.blockEntities) {
+                    scanColumn(platformHelper, world, planner, chunkX, chunkZ, found);
+                } else {
+                    planner.planColumn(chunkX, chunkZ, pending);
+                }
+            }
+
+            if (System.nanoTime() - deadline >= 0) {
+                break;
+            }
+        }
+        return isFinished();
+    }
+
+    private void scanColumn(
+        IPlatformHelper platformHelper, Object world, ScanPlanner planner,
+        int chunkX, int chunkZ, LongList found
+    ) {
+        if (!planner.isColumnPlanned(chunkX, chunkZ)) {
+            return;
+        }
+
+        blockEntities.clear();
+        platformHelper.collectSpawnerBlockEntities(world, chunkX, chunkZ, blockEntities);
+        for (int i = 0, n = blockEntities.size(); i < n; i++) {
+            ScanSnapshot.addIfNew(platformHelper.blockKey(blockEntities.get(i)), area, exclude, found);
+        }
+        blockEntities.clear();
+    }
+
+    private void scanSection(
+        IPlatformHelper platformHelper, Object world, PlannedSection section,
+        boolean platformSnapshots, LongList found
+    ) {
+        SectionSnapshot snapshot = ScanSnapshot.captureSection(platformHelper, world, section, exclude, platformSnapshots);
+        if (snapshot != null) {
+            ScanSnapshot.scanSection(section, snapshot, exclude, found);
+        }
+    }
+
+    public boolean isFinished() {
+        return nextColumn >= totalColumns && pendingIndex >= pending.size();
+    }
+
+    /**
+     * Fraction of the area walked so far, from 0.0 to 1.0
+     */
+    public float getProgress() {
+        if (totalColumns == 0) {
+            return 1.0f;
+        }
+        float columnsDone = nextColumn;
+        if (pendingIndex < pending.size()) {
+            // Part way through the column that was planned last
+            columnsDone -= 1.0f - (float) pendingIndex / pending.size();
+        }
+        return columnsDone / totalColumns;
+    }
+
+    public ScanArea getArea() {
+        return area;
+    }
+
+    /**
+     * Area a previous scan already covered, or null for a full scan
+     */
+    public ScanArea getExclude() {
+        return exclude;
+    }
+
+    public boolean isIncremental() {
+        return exclude != null;
+    }
+}
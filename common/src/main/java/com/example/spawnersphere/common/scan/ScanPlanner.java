@@ -0,0 +1,116 @@
+package com.example.spawnersphere.common.scan;
+
+import com.example.spawnersphere.common.performance.LongList;
+import com.example.spawnersphere.common.platform.IPlatformHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Turns a scan sphere into the loaded chunk sections (or chunk columns) that actually need scanning
+ * Sections outside the sphere, outside the world's build limits, in chunks the client has not
+ * loaded, or already covered by a previous scan are left out. Every scan strategy works from
+ * this plan rather than from the sphere's bounding cube.
+ * Must be used on the thread that owns the world (the client tick thread).
+ */
+public final class ScanPlanner {
+
+    private final IPlatformHelper platformHelper;
+    private final Object world;
+    private final ScanArea area;
+    private final ScanArea exclude;
+
+    // World Y range to scan: the sphere clipped to the build limits (inclusive)
+    private final int minY;
+    private final int maxY;
+
+    /**
+     * @param exclude Area that was already scanned, or null for a full scan
+     */
+    public ScanPlanner(IPlatformHelper platformHelper, Object world, ScanArea area, ScanArea exclude) {
+        this.platformHelper = platformHelper;
+        this.world = world;
+        this.area = area;
+        this.exclude = exclude;
+        this.minY = Math.max(area.centerY - area.radius, platformHelper.getMinBuildHeight(world));
+        this.maxY = (int) Math.min((long) area.centerY + area.radius, (long) platformHelper.getMaxBuildHeight(world) - 1);
+    }
+
+    public int getMinChunkX() {
+        return (area.centerX - area.radius) >> 4;
+    }
+
+    public int getMaxChunkX() {
+        return (area.centerX + area.radius) >> 4;
+    }
+
+    public int getMinChunkZ() {
+        return (area.centerZ - area.radius) >> 4;
+    }
+
+    public int getMaxChunkZ() {
+        return (area.centerZ + area.radius) >> 4;
+    }
+
+    /**
+     * Whether a chunk column has anything to scan: it meets the sphere, is loaded, and is not already covered
+     */
+    public boolean isColumnPlanned(int chunkX, int chunkZ) {
+        if (minY > maxY || !area.intersectsColumn(chunkX, chunkZ)) {
+            return false;
+        }
+        if (exclude != null && exclude.coversColumn(chunkX, chunkZ, area)) {
+            return false;
+        }
+        return platformHelper.isChunkLoaded(world, chunkX, chunkZ);
+    }
+
+    /**
+     * Add the planned sections of one chunk column to {@code out}, bottom to top
+     */
+    public void planColumn(int chunkX, int chunkZ, List<PlannedSection> out) {
+        if (!isColumnPlanned(chunkX, chunkZ)) {
+            return;
+        }
+        for (int sectionY = minY >> 4; sectionY <= maxY >> 4; sectionY++) {
+            if (!area.intersectsSection(chunkX, sectionY, chunkZ)) {
+                continue;
+            }
+            if (exclude != null && exclude.coversSection(chunkX, sectionY, chunkZ)) {
+                continue; // Already scanned
+            }
+            PlannedSection section = PlannedSection.plan(area, chunkX, sectionY, chunkZ, minY, maxY);
+            if (section != null) {
+                out.add(section);
+            }
+        }
+    }
+
+    /**
+     * Plan every section of the sphere
+     */
+    public List<PlannedSection> planSections() {
+        List<PlannedSection> sections = new ArrayList<>();
+        for (int chunkX = getMinChunkX(); chunkX <= getMaxChunkX(); chunkX++) {
+            for (int chunkZ = getMinChunkZ(); chunkZ <= getMaxChunkZ(); chunkZ++) {
+                planColumn(chunkX, chunkZ, sections);
+            }
+        }
+        return sections;
+    }
+
+    /**
+     * Plan the chunk columns of the sphere, for block entity scans, as packed chunk keys
+     */
+    public LongList planColumns() {
+        LongList columns = new LongList();
+        for (int chunkX = getMinChunkX(); chunkX <= getMaxChunkX(); chunkX++) {
+            for (int chunkZ = getMinChunkZ(); chunkZ <= getMaxChunkZ(); chunkZ++) {
+                if (isColumnPlanned(chunkX, chunkZ)) {
+                    columns.add(PointUpdateQueue.chunkKey(chunkX, chunkZ));
+                }
+            }
+        }
+        return columns;
+    }
+}
@@ -0,0 +1,332 @@
+package com.example.spawnersphere.common.scan;
+
+import com.example.spawnersphere.common.data.BlockKey;
+import com.example.spawnersphere.common.performance.LongList;
+import com.example.spawnersphere.common.platform.IPlatformHelper;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.function.BooleanSupplier;
+
+/**
+ * World data captured on the client tick thread for one scan
+ * Capturing touches the world; {@link #scan} only reads the captured copies and can run on any thread.
+ */
+public final class ScanSnapshot {
+
+    // Parallel scans split into a few tasks per thread so uneven sections balance out,
+    // but never into tasks too small to be worth handing to another thread
+    private static final int TASKS_PER_THREAD = 4;
+    private static final int MIN_SECTIONS_PER_TASK = 8;
+
+    private final ScanArea area;
+    private final ScanArea exclude;
+    private final List<CapturedSection> sections;
+    // Packed block keys (see BlockKey) of the spawner block entities found in block entity mode
+    private final LongList blockEntityKeys;
+
+    private ScanSnapshot(
+        ScanArea area,
+        ScanArea exclude,
+        List<CapturedSection> sections,
+        LongList blockEntityKeys
+    ) {
+        this.area = area;
+        this.exclude = exclude;
+        this.sections = sections;
+        this.blockEntityKeys = blockEntityKeys;
+    }
+
+    /**
+     * Capture everything needed to scan {@code area}, skipping what {@code exclude} already covered
+     * Must be called on the thread that owns the world (the client tick thread).
+     *
+     * @param exclude Area that was already scanned, or null for a full scan
+     */
+    public static ScanSnapshot capture(IPlatformHelper platformHelper, Object world, ScanArea area, ScanArea exclude) {
+        if (area.blockEntities) {
+            return new ScanSnapshot(area, exclude, Collections.<CapturedSection>emptyList(),
+                captureBlockEntities(platformHelper, world, area, exclude));
+        }
+        return new ScanSnapshot(area, exclude, captureSections(platformHelper, world, area, exclude),
+            new LongList(1));
+    }
+
+    /**
+     * Pack the block entity positions of the planned columns into keys
+     * The loader hands out its own block positions; they are only read here, on the tick thread.
+     */
+    private static LongList captureBlockEntities(
+        IPlatformHelper platformHelper, Object world, ScanArea area, ScanArea exclude
+    ) {
+        LongList found = new LongList();
+        List<Object> positions = new ArrayList<>();
+        LongList columns = new ScanPlanner(platformHelper, world, area, exclude).planColumns();
+        for (int c = 0, columnCount = columns.size(); c < columnCount; c++) {
+            long chunkKey = columns.get(c);
+            positions.clear();
+            platformHelper.collectSpawnerBlockEntities(world,
+                PointUpdateQueue.chunkX(chunkKey), PointUpdateQueue.chunkZ(chunkKey), positions);
+            for (int i = 0, n = positions.size(); i < n; i++) {
+                found.add(platformHelper.blockKey(positions.get(i)));
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Walk the planned sections of the sphere one 16^3 chunk section at a time
+     * Sections whose palette has no spawner are skipped without reading a block
+     */
+    private static List<CapturedSection> captureSections(
+        IPlatformHelper platformHelper, Object world, ScanArea area, ScanArea exclude
+    ) {
+        boolean platformSnapshots = platformHelper.supportsSectionSnapshots();
+
+        List<CapturedSection> captured = new ArrayList<>();
+        for (PlannedSection section : new ScanPlanner(platformHelper, world, area, exclude).planSections()) {
+            SectionSnapshot snapshot = captureSection(platformHelper, world, section, exclude, platformSnapshots);
+            if (snapshot != null) {
+                captured.add(new CapturedSection(section, snapshot));
+            }
+        }
+        return captured;
+    }
+
+    /**
+     * Snapshot one planned section, from the platform's palette copy when it has one
+     *
+     * @return snapshot, or null if the section has no spawner
+     */
+    static SectionSnapshot captureSection(
+        IPlatformHelper platformHelper, Object world,
+        PlannedSection section, ScanArea exclude, boolean platformSnapshots
+    ) {
+        if (!platformHelper.sectionMayContainSpawner(world, section.sectionX, section.sectionY, section.sectionZ)) {
+            return null; // Palette says no spawner here
+        }
+        if (platformSnapshots) {
+            return platformHelper.snapshotSection(world, section.sectionX, section.sectionY, section.sectionZ);
+        }
+        return readSection(platformHelper, world, section, exclude);
+    }
+
+    /**
+     * Fallback for platforms without palette copies: read the planned blocks of a section now
+     *
+     * @return snapshot of the spawners found, or null if there are none
+     */
+    private static SectionSnapshot readSection(
+        IPlatformHelper platformHelper, Object world, PlannedSection section, ScanArea exclude
+    ) {
+        BitSet spawners = new BitSet();
+        int baseX = section.sectionX << 4;
+        int baseY = section.sectionY << 4;
+        int baseZ = section.sectionZ << 4;
+
+        for (int localX = 0; localX < 16; localX++) {
+            for (int localZ = 0; localZ < 16; localZ++) {
+                // Only the column's span lies within the sphere and build limits
+                int maxLocalY = section.maxLocalY(localX, localZ);
+                for (int localY = section.minLocalY(localX, localZ); localY <= maxLocalY; localY++) {
+                    int x = baseX + localX;
+                    int y = baseY + localY;
+                    int z = baseZ + localZ;
+                    if (exclude != null && exclude.contains(x, y, z)) {
+                        continue;
+                    }
+                    if (platformHelper.isSpawnerAt(world, x, y, z)) {
+                        spawners.set(SectionSnapshot.index(localX, localY, localZ));
+                    }
+                }
+            }
+        }
+        return spawners.isEmpty() ? null : SectionSnapshot.ofBits(spawners);
+    }
+
+    /**
+     * Turn the captured data into the block keys of the spawners found
+     * Touches no world state, so it is safe to run off the client thread.
+     *
+     * @param cancelled Polled between sections; the scan stops early once it returns true
+     * @return keys of the spawners inside the area and outside the excluded area, or null if cancelled
+     */
+    public LongList scan(IPlatformHelper platformHelper, BooleanSupplier cancelled) {
+        return scan(platformHelper, cancelled, null, 1);
+    }
+
+    /**
+     * Turn the captured data into spawner keys, fanning the sections out across an executor
+     * Sections are independent, so each task scans its share into a local list and the lists
+     * are merged once all tasks are done. Small snapshots are scanned on the calling thread.
+     *
+     * @param executor Runs the section tasks, or null to scan on the calling thread
+     * @param parallelism Number of threads the executor can run at once
+     * @return keys of the spawners inside the area and outside the excluded area, or null if cancelled
+     */
+    public LongList scan(
+        final IPlatformHelper platformHelper, final BooleanSupplier cancelled,
+        Executor executor, int parallelism
+    ) {
+        LongList found = new LongList();
+
+        if (cancelled.getAsBoolean()) {
+            return null;
+        }
+        for (int i = 0, n = blockEntityKeys.size(); i < n; i++) {
+            addIfNew(blockEntityKeys.get(i), area, exclude, found);
+        }
+
+        final int sectionCount = sections.size();
+        final int tasks = Math.min(parallelism * TASKS_PER_THREAD, sectionCount / MIN_SECTIONS_PER_TASK);
+        if (executor == null || tasks < 2) {
+            if (!scanSections(cancelled, 0, 1, found)) {
+                return null;
+            }
+            return found;
+        }
+
+        final Queue<LongList> results = new ConcurrentLinkedQueue<>();
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[tasks];
+        for (int task = 0; task < tasks; task++) {
+            final int first = task;
+            // Strided so every task gets sections from all over the sphere
+            futures[task] = CompletableFuture.runAsync(() -> {
+                LongList local = new LongList();
+                if (scanSections(cancelled, first, tasks, local)) {
+                    results.add(local);
+                }
+            }, executor);
+        }
+        CompletableFuture.allOf(futures).join();
+
+        if (cancelled.getAsBoolean()) {
+            return null;
+        }
+        for (LongList local : results) {
+            found.addAll(local);
+        }
+        return found;
+    }
+
+    /**
+     * Scan every {@code stride}-th captured section starting at {@code first}
+     *
+     * @return false if the scan was cancelled part way
+     */
+    private boolean scanSections(BooleanSupplier cancelled, int first, int stride, LongList found) {
+        for (int i = first; i < sections.size(); i += stride) {
+            if (cancelled.getAsBoolean()) {
+                return false;
+            }
+            CapturedSection section = sections.get(i);
+            scanSection(section.plan, section.snapshot, exclude, found);
+        }
+        return true;
+    }
+
+    /**
+     * Scan one chunk column of the area on the calling thread, e.g. when the chunk has just loaded
+     * Must be called on the thread that owns the world (the client tick thread).
+     */
+    public static void scanColumn(
+        IPlatformHelper platformHelper, Object world, ScanArea area,
+        int chunkX, int chunkZ, LongList found
+    ) {
+        ScanPlanner planner = new ScanPlanner(platformHelper, world, area, null);
+
+        if (area.blockEntities) {
+            if (!planner.isColumnPlanned(chunkX, chunkZ)) {
+                return;
+            }
+            List<Object> positions = new ArrayList<>();
+            platformHelper.collectSpawnerBlockEntities(world, chunkX, chunkZ, positions);
+            for (int i = 0, n = positions.size(); i < n; i++) {
+                addIfNew(platformHelper.blockKey(positions.get(i)), area, null, found);
+            }
+            return;
+        }
+
+        boolean platformSnapshots = platformHelper.supportsSectionSnapshots();
+        List<PlannedSection> sections = new ArrayList<>();
+        planner.planColumn(chunkX, chunkZ, sections);
+        for (PlannedSection section : sections) {
+            SectionSnapshot snapshot = captureSection(platformHelper, world, section, null, platformSnapshots);
+            if (snapshot != null) {
+                scanSection(section, snapshot, null, found);
+            }
+        }
+    }
+
+    /**
+     * Add a spawner found through its block entity if it lies in the newly scanned region
+     */
+    static void addIfNew(long blockKey, ScanArea area, ScanArea exclude, LongList found) {
+        if (isNew(area, exclude, BlockKey.x(blockKey), BlockKey.y(blockKey), BlockKey.z(blockKey))) {
+            found.add(blockKey);
+        }
+    }
+
+    /**
+     * Add every spawner of a section snapshot that lies in the planned part of the section
+     * and outside the excluded area
+     */
+    static void scanSection(PlannedSection section, SectionSnapshot snapshot, ScanArea exclude, LongList found) {
+        int baseX = section.sectionX << 4;
+        int baseY = section.sectionY << 4;
+        int baseZ = section.sectionZ << 4;
+
+        for (int localX = 0; localX < 16; localX++) {
+            for (int localZ = 0; localZ < 16; localZ++) {
+                int maxLocalY = section.maxLocalY(localX, localZ);
+                for (int localY = section.minLocalY(localX, localZ); localY <= maxLocalY; localY++) {
+                    if (!snapshot.isSpawner(localX, localY, localZ)) {
+                        continue;
+                    }
+                    int x = baseX + localX;
+                    int y = baseY + localY;
+                    int z = baseZ + localZ;
+                    if (exclude != null && exclude.contains(x, y, z)) {
+                        continue;
+                    }
+                    found.add(BlockKey.pack(x, y, z));
+                }
+            }
+        }
+    }
+
+    private static boolean isNew(ScanArea area, ScanArea exclude, int x, int y, int z) {
+        return area.contains(x, y, z) && (exclude == null || !exclude.contains(x, y, z));
+    }
+
+    public ScanArea getArea() {
+        return area;
+    }
+
+    /**
+     * Area a previous scan already covered, or null for a full scan
+     */
+    public ScanArea getExclude() {
+        return exclude;
+    }
+
+    public boolean isIncremental() {
+        return exclude != null;
+    }
+
+    private static final class CapturedSection {
+        final PlannedSection plan;
+        final SectionSnapshot snapshot;
+
+        CapturedSection(PlannedSection plan, SectionSnapshot snapshot) {
+            this.plan = plan;
+            this.snapshot = snapshot;
+        }
+    }
+}
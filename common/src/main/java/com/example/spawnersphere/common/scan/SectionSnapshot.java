@@ -0,0 +1,31 @@
+package com.example.spawnersphere.common.scan;
+
+import java.util.BitSet;
+
+/**
+ * Immutable copy of which blocks in one 16^3 chunk section are spawners
+ * Captured on the client tick thread and read later from the scan worker,
+ * so implementations must not reference live world state.
+ */
+public interface SectionSnapshot {
+
+    /**
+     * Check a block by its section-local coordinates (0-15 on each axis)
+     */
+    boolean isSpawner(int localX, int localY, int localZ);
+
+    /**
+     * Bit index of a section-local block, as used by {@link #ofBits}
+     */
+    static int index(int localX, int localY, int localZ) {
+        return (localY << 8) | (localZ << 4) | localX;
+    }
+
+    /**
+     * Snapshot backed by a set of {@link #index} bits, one per spawner
+     */
+    static SectionSnapshot ofBits(BitSet spawners) {
+        final BitSet bits = (BitSet) spawners.clone();
+        return (localX, localY, localZ) -> bits.get(index(localX, localY, localZ));
+    }
+}
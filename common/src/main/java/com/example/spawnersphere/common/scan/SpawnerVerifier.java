@@ -0,0 +1,189 @@
+package com.example.spawnersphere.common.scan;
+
+import com.example.spawnersphere.common.data.BlockKey;
+import com.example.spawnersphere.common.data.SpawnerStore;
+import com.example.spawnersphere.common.performance.LongHashSet;
+import com.example.spawnersphere.common.performance.LongList;
+import com.example.spawnersphere.common.platform.IPlatformHelper;
+
+/**
+ * Checks tracked spawners are still there, a bounded number per tick
+ * Walks the store's ids with a cursor, so a pass needs no setup and allocates nothing however
+ * many spawners are tracked. Chunks that changed recently are swept by a second cursor ahead of
+ * the pass. Spawners in chunks the client no longer has loaded are reported invalid, so loaders
+ * that miss unload events do not keep them forever.
+ * Not thread-safe; used on the client tick thread only.
+ */
+public final class SpawnerVerifier {
+
+    // Ids a tick may read per check it is allowed, bounding the time spent stepping over free ids
+    private static final int IDS_PER_CHECK = 32;
+
+    // Main pass: next id to check
+    private int cursor = 0;
+
+    // Priority sweep: chunks being swept, next id of the sweep, and chunks reported as changed
+    // since the sweep started; those are swept once it finishes
+    private LongHashSet sweepChunks = new LongHashSet();
+    private int sweepCursor = 0;
+    private LongHashSet changedChunks = new LongHashSet();
+
+    // Loaded state of the chunk checked last, valid for one verify call
+    private long lastChunkKey;
+    private boolean lastChunkLoaded;
+    private boolean lastChunkKnown;
+
+    private boolean passActive = false;
+    private long passStartTime = 0;
+    private int passTicks = 0;
+    private long lastCoverageMillis = -1;
+    private int lastCoverageTicks = -1;
+
+    /**
+     * Verify entries in this chunk ahead of the rest of the current pass
+     */
+    public void markChunkChanged(int chunkX, int chunkZ) {
+        changedChunks.add(PointUpdateQueue.chunkKey(chunkX, chunkZ));
+    }
+
+    /**
+     * Check up to {@code budget} tracked positions against the world
+     * Must be called on the thread that owns the world (the client tick thread).
+     *
+     * @param tracked Currently tracked spawners
+     * @param invalid Receives the block keys of positions that are no longer spawners or
+     *                whose chunk is no longer loaded
+     */
+    public void verify(
+        IPlatformHelper platformHelper, Object world,
+        SpawnerStore tracked, int budget, LongList invalid
+    ) {
+        if (!passActive) {
+            if (tracked.isEmpty()) {
+                changedChunks.clear();
+                sweepChunks.clear();
+                return;
+            }
+            startPass();
+        }
+        passTicks++;
+        lastChunkKnown = false;
+
+        int checked = 0;
+        int reads = 0;
+        int maxReads = budget * IDS_PER_CHECK;
+
+        // Changed chunks first
+        while (checked < budget && reads < maxReads) {
+            if (sweepCursor >= tracked.idLimit() || sweepChunks.isEmpty()) {
+                if (changedChunks.isEmpty()) {
+                    sweepChunks.clear();
+                    break;
+                }
+                startSweep();
+            }
+            long blockKey = tracked.key(sweepCursor++);
+            reads++;
+            if (blockKey != BlockKey.NONE && sweepChunks.contains(chunkKeyOf(blockKey))) {
+                if (check(platformHelper, world, blockKey, invalid)) {
+                    checked++;
+                }
+            }
+        }
+
+        // Then the rest of the pass
+        while (checked < budget && reads < maxReads && cursor < tracked.idLimit()) {
+            long blockKey = tracked.key(cursor++);
+            reads++;
+            if (blockKey != BlockKey.NONE && check(platformHelper, world, blockKey, invalid)) {
+                checked++;
+            }
+        }
+
+        if (cursor >= tracked.idLimit()) {
+            finishPass();
+        }
+    }
+
+    /**
+     * Check one tracked position, or report it invalid outright if its chunk is not loaded
+     *
+     * @return whether the world was read for it, which counts against the budget
+     */
+    private boolean check(IPlatformHelper platformHelper, Object world, long blockKey, LongList invalid) {
+        long chunkKey = chunkKeyOf(blockKey);
+        if (!lastChunkKnown || chunkKey != lastChunkKey) {
+            lastChunkKey = chunkKey;
+            lastChunkLoaded = platformHelper.isChunkLoaded(world, PointUpdateQueue.chunkX(chunkKey), PointUpdateQueue.chunkZ(chunkKey));
+            lastChunkKnown = true;
+        }
+        if (!lastChunkLoaded) {
+            // Reading an unloaded chunk would only see air; drop the entry like an unload event would
+            invalid.add(blockKey);
+            return false;
+        }
+        try {
+            if (!platformHelper.isSpawnerAt(world, BlockKey.x(blockKey), BlockKey.y(blockKey), BlockKey.z(blockKey))) {
+                invalid.add(blockKey);
+            }
+        } catch (Exception e) {
+            // If checking fails, mark for removal to be safe
+            System.err.println("Error checking spawner validity: " + e.getMessage());
+            invalid.add(blockKey);
+        }
+        return true;
+    }
+
+    private static long chunkKeyOf(long blockKey) {
+        return PointUpdateQueue.chunkKey(BlockKey.x(blockKey) >> 4, BlockKey.z(blockKey) >> 4);
+    }
+
+    /**
+     * Sweep the chunks changed so far from the first id, collecting later changes for the next sweep
+     */
+    private void startSweep() {
+        LongHashSet swept = sweepChunks;
+        swept.clear();
+        sweepChunks = changedChunks;
+        changedChunks = swept;
+        sweepCursor = 0;
+    }
+
+    private void startPass() {
+        cursor = 0;
+        passActive = true;
+        passStartTime = System.currentTimeMillis();
+        passTicks = 0;
+    }
+
+    private void finishPass() {
+        lastCoverageMillis = System.currentTimeMillis() - passStartTime;
+        lastCoverageTicks = passTicks;
+        passActive = false;
+    }
+
+    /**
+     * Drop the current pass and any pending priorities, e.g. when tracking stops
+     */
+    public void reset() {
+        cursor = 0;
+        sweepCursor = 0;
+        sweepChunks.clear();
+        changedChunks.clear();
+        passActive = false;
+    }
+
+    /**
+     * Wall-clock time the last complete pass took to cover every tracked spawner, or -1 before the first
+     */
+    public long getLastCoverageMillis() {
+        return lastCoverageMillis;
+    }
+
+    /**
+     * Number of ticks the last complete pass took, or -1 before the first
+     */
+    public int getLastCoverageTicks() {
+        return lastCoverageTicks;
+    }
+}
@@ -1,8 +1,10 @@
 package com.example.spawnersphere.common;
 
 import com.example.spawnersphere.common.config.ModConfig;
+import com.example.spawnersphere.common.performance.SpatialIndex;
 import com.example.spawnersphere.common.platform.IPlatformHelper;
 import com.example.spawnersphere.common.platform.IRenderer;
+import com.example.spawnersphere.common.platform.SphereBatch;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -28,6 +30,7 @@ public class SpawnerSphereCoreTest {
     @BeforeEach
     public void setUp() {
         config = new ModConfig();
+        config.setAsyncScanning(false); // Run scans inline so results are visible immediately
         platformHelper = new MockPlatformHelper();
         renderer = new MockRenderer();
         core = new SpawnerSphereCore(platformHelper, renderer, config);
@@ -118,6 +121,20 @@ public class SpawnerSphereCoreTest {
         assertEquals(1, renderer.renderedSpheres.size());
     }
 
+    @Test
+    public void testFrameIsRenderedAsOneBatch() {
+        world.addSpawner(5, 64, 5);
+        world.addSpawner(-5, 64, 5);
+        world.addSpawner(5, 64, -40);
+
+        core.toggle(player, world);
+        core.render(new Object(), player, world);
+
+        // Every sphere of the frame arrives in a single renderSpheres call
+        assertEquals(1, renderer.batchCalls);
+        assertEquals(3, renderer.renderedSpheres.size());
+    }
+
     @Test
     public void testColorChangesBasedOnDistance() {
         // Place spawner exactly at sphere radius boundary
@@ -196,6 +213,22 @@ public class SpawnerSphereCoreTest {
         assertEquals(0, renderer.renderedSpheres.size());
     }
 
+    @Test
+    public void testFrustumCullingWithOctreeBackend() {
+        config.setEnableFrustumCulling(true);
+        config.setIndexBackend(SpatialIndex.Backend.OCTREE);
+
+        world.addSpawner(0, 64, 40); // In front
+        world.addSpawner(0, 64, -40); // Behind
+        player.lookVector = new IPlatformHelper.LookVector(0, 0, 1);
+
+        core.toggle(player, world);
+        core.render(new Object(), player, world);
+
+        // The index culls against the view before the render loop sees any spawner
+        assertEquals(1, renderer.renderedSpheres.size());
+    }
+
     @Test
     public void testFrustumCullingDisabled() {
         config.setEnableFrustumCulling(false);
@@ -262,19 +295,97 @@ public class SpawnerSphereCoreTest {
         player.x = 20;
         player.z = 20;
 
-        // Add new spawner at new location
-        world.addSpawner(25, 64, 25);
+        // Add new spawner in the area the player moved into
+        world.addSpawner(80, 64, 20);
 
         core.tick(player, world);
 
-        // Should have rescanned due to movement
-        // Both spawners are still within scan radius (64) from new position (20,64,20):
+        // Should have scanned the newly entered area due to movement
+        // Both spawners are within scan radius (64) from new position (20,64,20):
         // - Spawner at (5,64,5): distance ~21.2 blocks
-        // - Spawner at (25,64,25): distance ~7.07 blocks
+        // - Spawner at (80,64,20): distance 60 blocks (outside the original sphere)
         core.render(new Object(), player, world);
         assertEquals(2, renderer.renderedSpheres.size());
     }
 
+    @Test
+    public void testMovementRescanOnlyReadsNewShell() {
+        config.setMovementThreshold(10.0);
+        world.addSpawner(5, 64, 5);
+
+        core.toggle(player, world);
+        int fullScanCalls = platformHelper.isSpawnerCalls;
+
+        player.x = 16;
+        platformHelper.isSpawnerCalls = 0;
+        core.tick(player, world);
+
+        // Cleanup re-checks the one tracked spawner; the shell is a small fraction of the sphere
+        assertTrue(platformHelper.isSpawnerCalls < fullScanCalls / 2);
+
+        core.render(new Object(), player, world);
+        assertEquals(1, renderer.renderedSpheres.size());
+    }
+
+    @Test
+    public void testMovementRescanEvictsSpawnersLeftBehind() {
+        config.setMovementThreshold(10.0);
+        world.addSpawner(-60, 64, 0);
+        world.addSpawner(10, 64, 0);
+
+        core.toggle(player, world);
+        core.render(new Object(), player, world);
+        assertEquals(2, renderer.renderedSpheres.size());
+
+        // Spawner at x=-60 is now 100 blocks away, outside the scan sphere
+        player.x = 40;
+        core.tick(player, world);
+
+        renderer.renderedSpheres.clear();
+        core.render(new Object(), player, world);
+        assertEquals(1, renderer.renderedSpheres.size());
+        assertEquals(10.5, renderer.renderedSpheres.get(0).x, 0.01);
+    }
+
+    @Test
+    public void testMovementRescanWithBlockEntityScan() {
+        platformHelper.blockEntityScan = true;
+        config.setMovementThreshold(10.0);
+        world.addSpawner(-60, 64, 0);
+        world.addSpawner(10, 64, 0);
+
+        core.toggle(player, world);
+
+        world.addSpawner(90, 64, 0);
+        player.x = 40;
+        core.tick(player, world);
+
+        core.render(new Object(), player, world);
+        assertEquals(2, renderer.renderedSpheres.size());
+    }
+
+    @Test
+    public void testMovementRescanDoesNotReplacePendingFullScan() {
+        config.setTimeSlicedScanning(true);
+        config.setScanBudgetNanos(0);
+        core.toggle(player, world);
+        for (int i = 0; i < 100000 && core.getScanProgress() < 1.0f; i++) {
+            core.tick(player, world);
+        }
+
+        // Only a full scan reads the old sphere again
+        world.addSpawner(5, 64, 5);
+        core.triggerRescan(player, world);
+        player.x = 16;
+        core.rescanMovedArea(player, world);
+        for (int i = 0; i < 100000 && core.getScanProgress() < 1.0f; i++) {
+            core.tick(player, world);
+        }
+
+        core.render(new Object(), player, world);
+        assertEquals(1, renderer.renderedSpheres.size());
+    }
+
     @Test
     public void testTriggerRescan() {
         world.addSpawner(5, 64, 5);
@@ -330,6 +441,27 @@ public class SpawnerSphereCoreTest {
         assertTrue(platformHelper.lastMessage.contains("blocks"));
     }
 
+    @Test
+    public void testActionBarReportsNearestDrawnSpawner() {
+        config.setShowDistanceInActionBar(true);
+        config.setEnableSpatialIndexing(true);
+        config.setEnableFrustumCulling(true);
+
+        world.addSpawner(0, 64, -8); // Behind the player, but close enough to be drawn
+        world.addSpawner(0, 64, 12); // In front, further away
+        player.lookVector = new IPlatformHelper.LookVector(0, 0, 1);
+
+        core.toggle(player, world);
+        platformHelper.lastMessage = null; // Clear toggle message
+
+        core.render(new Object(), player, world);
+
+        // The distance shown is that of a sphere in the frame
+        assertEquals(2, renderer.renderedSpheres.size());
+        assertEquals(String.format("§eSpawner: %.1f blocks", Math.sqrt(0.25 + 0.25 + 7.5 * 7.5)),
+            platformHelper.lastMessage);
+    }
+
     @Test
     public void testSpawnerRemovalDetection() {
         MockBlockPos spawnerPos = world.addSpawner(5, 64, 5);
@@ -352,6 +484,321 @@ public class SpawnerSphereCoreTest {
         assertEquals(0, renderer.renderedSpheres.size());
     }
 
+    @Test
+    public void testVerificationIsBoundedPerTick() {
+        config.setVerificationsPerTick(5);
+        List<MockBlockPos> placed = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            placed.add(world.addSpawner(i, 64, 0));
+        }
+        core.toggle(player, world);
+
+        for (MockBlockPos pos : placed) {
+            world.removeSpawner(pos);
+        }
+        platformHelper.isSpawnerCalls = 0;
+        core.tick(player, world);
+
+        assertEquals(5, platformHelper.isSpawnerCalls);
+        core.render(new Object(), player, world);
+        assertEquals(15, renderer.renderedSpheres.size());
+    }
+
+    @Test
+    public void testVerificationCoverageReported() {
+        config.setVerificationsPerTick(5);
+        for (int i = 0; i < 20; i++) {
+            world.addSpawner(i, 64, 0);
+        }
+        core.toggle(player, world);
+        assertEquals(-1, core.getVerificationCoverageTicks());
+
+        for (int tick = 0; tick < 4; tick++) {
+            core.tick(player, world);
+        }
+        assertEquals(4, core.getVerificationCoverageTicks());
+        assertTrue(core.getVerificationCoverageMillis() >= 0);
+    }
+
+    @Test
+    public void testPrimitiveAdaptersDelegateToV1Methods() {
+        world.addSpawner(5, 64, 5);
+
+        assertTrue(platformHelper.isSpawnerAt(world, 5, 64, 5));
+        assertFalse(platformHelper.isSpawnerAt(world, 6, 64, 5));
+        assertEquals(player.x, platformHelper.getPlayerX(player), 0.0);
+        assertEquals(player.y, platformHelper.getPlayerY(player), 0.0);
+        assertEquals(player.z, platformHelper.getPlayerZ(player), 0.0);
+    }
+
+    @Test
+    public void testPaletteAwareScanSkipsEmptySections() {
+        platformHelper.paletteAware = true;
+        world.addSpawner(5, 64, 5);
+        world.addSpawner(-20, 70, 30);
+
+        core.toggle(player, world);
+        core.render(new Object(), player, world);
+
+        // Both spawners found, but only blocks in their two sections were read
+        assertEquals(2, renderer.renderedSpheres.size());
+        assertTrue(platformHelper.isSpawnerCalls <= 2 * 16 * 16 * 16);
+    }
+
+    @Test
+    public void testPaletteAwareScanMatchesFullScan() {
+        world.addSpawner(5, 64, 5);
+        world.addSpawner(0, 64 + 63, 0); // On the edge of the scan sphere
+        world.addSpawner(40, 64, -40);
+
+        core.toggle(player, world);
+        core.render(new Object(), player, world);
+        int fullScanCount = renderer.renderedSpheres.size();
+        int fullScanCalls = platformHelper.isSpawnerCalls;
+
+        core.toggle(player, world);
+        platformHelper.paletteAware = true;
+        platformHelper.isSpawnerCalls = 0;
+        renderer.renderedSpheres.clear();
+
+        core.toggle(player, world);
+        core.render(new Object(), player, world);
+
+        assertEquals(fullScanCount, renderer.renderedSpheres.size());
+        assertTrue(platformHelper.isSpawnerCalls < fullScanCalls);
+    }
+
+    @Test
+    public void testBlockEntityScanFindsSpawnersWithoutBlockReads() {
+        platformHelper.blockEntityScan = true;
+        world.addSpawner(5, 64, 5);
+        world.addSpawner(-30, 40, 12);
+        world.addSpawner(100, 64, 100); // Outside scan radius
+
+        core.toggle(player, world);
+        core.render(new Object(), player, world);
+
+        assertEquals(2, renderer.renderedSpheres.size());
+        assertEquals(0, platformHelper.isSpawnerCalls);
+    }
+
+    @Test
+    public void testBlockEntityScanBeyondBlockScanCap() {
+        platformHelper.blockEntityScan = true;
+        config.setScanRadius(512);
+        world.addSpawner(400, 64, 0);
+
+        core.toggle(player, world);
+        core.render(new Object(), player, world);
+
+        assertEquals(1, renderer.renderedSpheres.size());
+    }
+
+    @Test
+    public void testBlockEntityScanDisabledInConfig() {
+        platformHelper.blockEntityScan = true;
+        config.setUseBlockEntityScan(false);
+        platformHelper.paletteAware = true;
+        world.addSpawner(5, 64, 5);
+
+        core.toggle(player, world);
+        core.render(new Object(), player, world);
+
+        // Falls back to reading blocks
+        assertEquals(1, renderer.renderedSpheres.size());
+        assertTrue(platformHelper.isSpawnerCalls > 0);
+    }
+
+    @Test
+    public void testAsyncScanPublishesCompleteResult() throws InterruptedException {
+        config.setAsyncScanning(true);
+        world.addSpawner(5, 64, 5);
+        world.addSpawner(-5, 64, -5);
+
+        core.toggle(player, world);
+
+        // The render thread only ever sees the empty set or the finished set
+        long deadline = System.currentTimeMillis() + 5000;
+        int rendered = 0;
+        while (System.currentTimeMillis() < deadline) {
+            renderer.renderedSpheres.clear();
+            core.render(new Object(), player, world);
+            rendered = renderer.renderedSpheres.size();
+            assertTrue(rendered == 0 || rendered == 2);
+            if (rendered == 2) {
+                break;
+            }
+            Thread.sleep(5);
+        }
+        assertEquals(2, rendered);
+    }
+
+    @Test
+    public void testTimeSlicedScanSpreadsAcrossTicks() {
+        config.setTimeSlicedScanning(true);
+        config.setScanBudgetNanos(0); // Clamped to the minimum budget
+        world.addSpawner(5, 64, 5);
+        world.addSpawner(-5, 64, -5);
+
+        core.toggle(player, world);
+        assertTrue(core.getScanProgress() < 1.0f);
+
+        float lastProgress = core.getScanProgress();
+        for (int i = 0; i < 100000 && core.getScanProgress() < 1.0f; i++) {
+            core.tick(player, world);
+            assertTrue(core.getScanProgress() >= lastProgress || core.getScanProgress() == 1.0f);
+            lastProgress = core.getScanProgress();
+        }
+        assertEquals(1.0f, core.getScanProgress());
+
+        core.render(new Object(), player, world);
+        assertEquals(2, renderer.renderedSpheres.size());
+    }
+
+    @Test
+    public void testTimeSlicedScanMergesProgressively() {
+        config.setTimeSlicedScanning(true);
+        config.setScanBudgetNanos(0);
+        // Sections are walked west to east, so this one is found early
+        world.addSpawner(-60, 64, 0);
+
+        core.toggle(player, world);
+        for (int i = 0; i < 100000 && renderer.renderedSpheres.isEmpty(); i++) {
+            core.tick(player, world);
+            core.render(new Object(), player, world);
+        }
+
+        assertEquals(1, renderer.renderedSpheres.size());
+        assertTrue(core.getScanProgress() < 1.0f);
+    }
+
+    @Test
+    public void testTimeSlicedScanReportsProgress() {
+        config.setTimeSlicedScanning(true);
+        config.setScanBudgetNanos(0);
+        config.setShowScanProgress(true);
+
+        core.toggle(player, world);
+        core.tick(player, world);
+
+        assertTrue(platformHelper.lastMessage.startsWith("§7Scanning for spawners"));
+        assertTrue(platformHelper.lastActionBar);
+    }
+
+    @Test
+    public void testAddSpawnerAtTracksWithoutRescan() {
+        config.setUpdateDebounce(0);
+        core.toggle(player, world);
+
+        MockBlockPos pos = world.addSpawner(5, 64, 5);
+        platformHelper.isSpawnerCalls = 0;
+        core.addSpawnerAt(pos);
+        core.tick(player, world);
+
+        core.render(new Object(), player, world);
+        assertEquals(1, renderer.renderedSpheres.size());
+        // One check for the new position plus cleanup, nowhere near a scan
+        assertTrue(platformHelper.isSpawnerCalls < 10);
+    }
+
+    @Test
+    public void testRemoveSpawnerAt() {
+        config.setUpdateDebounce(0);
+        MockBlockPos pos = world.addSpawner(5, 64, 5);
+        core.toggle(player, world);
+
+        world.removeSpawner(pos);
+        core.removeSpawnerAt(pos);
+        core.tick(player, world);
+
+        core.render(new Object(), player, world);
+        assertEquals(0, renderer.renderedSpheres.size());
+    }
+
+    @Test
+    public void testRemoveSpawnerAtDuringAsyncScanIsApplied() {
+        config.setUpdateDebounce(0);
+        config.setAsyncScanning(true);
+        config.setVerificationsPerTick(1);
+        for (int x = -40; x < 30; x += 4) {
+            world.addSpawner(x, 64, 5);
+        }
+        // Scanned last, so the one-per-tick verifier reaches it last too
+        MockBlockPos pos = world.addSpawner(40, 64, 5);
+        core.toggle(player, world);
+
+        // Broken after the scan captured it, before the scan published it
+        world.removeSpawner(pos);
+        core.removeSpawnerAt(pos);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline && renderedAfterTick() == 0) {
+            Thread.yield();
+        }
+        // The queued removal applies on the first tick after publishing, ahead of the verifier
+        assertEquals(18, renderedAfterTick());
+    }
+
+    private int renderedAfterTick() {
+        core.tick(player, world);
+        renderer.renderedSpheres.clear();
+        core.render(new Object(), player, world);
+        return renderer.renderedSpheres.size();
+    }
+
+    @Test
+    public void testChunkLoadPicksUpSpawners() {
+        config.setUpdateDebounce(0);
+        core.toggle(player, world);
+
+        world.addSpawner(20, 64, 20);
+        core.onChunkLoaded(1, 1);
+        core.tick(player, world);
+
+        core.render(new Object(), player, world);
+        assertEquals(1, renderer.renderedSpheres.size());
+    }
+
+    @Test
+    public void testChunkUnloadDropsSpawners() {
+        config.setUpdateDebounce(0);
+        world.addSpawner(5, 64, 5);
+        world.addSpawner(20, 64, 20);
+        core.toggle(player, world);
+
+        core.onChunkUnloaded(1, 1);
+        core.tick(player, world);
+
+        core.render(new Object(), player, world);
+        assertEquals(1, renderer.renderedSpheres.size());
+        assertEquals(5.5, renderer.renderedSpheres.get(0).x, 0.01);
+    }
+
+    @Test
+    public void testPointUpdatesAreDebounced() {
+        config.setUpdateDebounce(5000);
+        core.toggle(player, world);
+
+        core.addSpawnerAt(world.addSpawner(5, 64, 5));
+        core.tick(player, world);
+
+        core.render(new Object(), player, world);
+        assertEquals(0, renderer.renderedSpheres.size());
+    }
+
+    @Test
+    public void testPointUpdatesIgnoredWhenDisabled() {
+        config.setUpdateDebounce(0);
+        core.addSpawnerAt(world.addSpawner(5, 64, 5));
+        core.toggle(player, world);
+        core.toggle(player, world);
+        core.toggle(player, world);
+
+        // Only the scan on enable found the spawner; nothing was queued while disabled
+        core.render(new Object(), player, world);
+        assertEquals(1, renderer.renderedSpheres.size());
+    }
+
     // ===== Mock Classes =====
 
     private static class MockPlayer {
@@ -382,6 +829,23 @@ public class SpawnerSphereCoreTest {
         boolean isSpawner(MockBlockPos pos) {
             return spawners.getOrDefault(pos, false);
         }
+
+        void collectInChunk(int chunkX, int chunkZ, List<Object> out) {
+            for (MockBlockPos pos : spawners.keySet()) {
+                if (pos.x >> 4 == chunkX && pos.z >> 4 == chunkZ) {
+                    out.add(pos);
+                }
+            }
+        }
+
+        boolean sectionHasSpawner(int sectionX, int sectionY, int sectionZ) {
+            for (MockBlockPos pos : spawners.keySet()) {
+                if (pos.x >> 4 == sectionX && pos.y >> 4 == sectionY && pos.z >> 4 == sectionZ) {
+                    return true;
+                }
+            }
+            return false;
+        }
     }
 
     private static class MockBlockPos {
@@ -410,6 +874,9 @@ public class SpawnerSphereCoreTest {
     private class MockPlatformHelper implements IPlatformHelper {
         String lastMessage;
         boolean lastActionBar;
+        boolean paletteAware;
+        boolean blockEntityScan;
+        int isSpawnerCalls;
 
         @Override
         public Platform getPlatform() {
@@ -418,12 +885,33 @@ public class SpawnerSphereCoreTest {
 
         @Override
         public boolean isSpawner(Object world, Object blockPos) {
+            isSpawnerCalls++;
             if (world instanceof MockWorld && blockPos instanceof MockBlockPos) {
                 return ((MockWorld) world).isSpawner((MockBlockPos) blockPos);
             }
             return false;
         }
 
+        @Override
+        public boolean sectionMayContainSpawner(Object world, int sectionX, int sectionY, int sectionZ) {
+            if (paletteAware && world instanceof MockWorld) {
+                return ((MockWorld) world).sectionHasSpawner(sectionX, sectionY, sectionZ);
+            }
+            return true;
+        }
+
+        @Override
+        public boolean supportsBlockEntityScan() {
+            return blockEntityScan;
+        }
+
+        @Override
+        public void collectSpawnerBlockEntities(Object world, int chunkX, int chunkZ, List<Object> out) {
+            if (world instanceof MockWorld) {
+                ((MockWorld) world).collectInChunk(chunkX, chunkZ, out);
+            }
+        }
+
         @Override
         public Position getPlayerPosition(Object player) {
             if (player instanceof MockPlayer) {
@@ -469,6 +957,13 @@ public class SpawnerSphereCoreTest {
 
     private static class MockRenderer implements IRenderer {
         final List<RenderedSphere> renderedSpheres = new ArrayList<>();
+        int batchCalls;
+
+        @Override
+        public void renderSpheres(Object context, SphereBatch batch) {
+            batchCalls++;
+            IRenderer.super.renderSpheres(context, batch);
+        }
 
         @Override
         public void renderSphere(Object context, double x, double y, double z, float radius, SphereColor color, int segments) {
@@ -1,5 +1,6 @@
 package com.example.spawnersphere.common.config;
 
+import com.example.spawnersphere.common.performance.SpatialIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -28,11 +29,21 @@ public class ModConfigCompleteTest {
 
         // Performance settings
         assertTrue(config.isEnableSpatialIndexing());
+        assertFalse(config.isLockFreeIndex());
+        assertEquals(SpatialIndex.Backend.GRID, config.getIndexBackend());
         assertFalse(config.isEnableFrustumCulling());
         assertTrue(config.isEnableLOD());
         assertEquals(32, config.getLodMaxSegments());
         assertEquals(16, config.getLodMinSegments());
         assertEquals(32.0, config.getLodDistance(), 0.01);
+        assertTrue(config.isUseBlockEntityScan());
+        assertTrue(config.isAsyncScanning());
+        assertEquals(0, config.getScanThreads());
+        assertFalse(config.isTimeSlicedScanning());
+        assertEquals(2000000, config.getScanBudgetNanos());
+        assertFalse(config.isShowScanProgress());
+        assertEquals(250, config.getUpdateDebounce());
+        assertEquals(32, config.getVerificationsPerTick());
 
         // Rendering settings
         assertEquals(24, config.getSphereSegments());
@@ -79,6 +90,9 @@ public class ModConfigCompleteTest {
 
         config.setScanRadius(256);
         assertEquals(256, config.getScanRadius());
+
+        config.setScanRadius(512);
+        assertEquals(512, config.getScanRadius());
     }
 
     @Test
@@ -92,11 +106,11 @@ public class ModConfigCompleteTest {
 
     @Test
     public void testScanRadiusClampingMax() {
-        config.setScanRadius(300);
-        assertEquals(256, config.getScanRadius()); // Clamped to max
+        config.setScanRadius(600);
+        assertEquals(512, config.getScanRadius()); // Clamped to max
 
         config.setScanRadius(9999);
-        assertEquals(256, config.getScanRadius()); // Clamped to max
+        assertEquals(512, config.getScanRadius()); // Clamped to max
     }
 
     @Test
@@ -155,6 +169,9 @@ public class ModConfigCompleteTest {
         config.setEnableSpatialIndexing(false);
         assertFalse(config.isEnableSpatialIndexing());
 
+        config.setLockFreeIndex(true);
+        assertTrue(config.isLockFreeIndex());
+
         config.setEnableFrustumCulling(true);
         assertTrue(config.isEnableFrustumCulling());
 
@@ -163,6 +180,66 @@ public class ModConfigCompleteTest {
 
         config.setRenderEquator(false);
         assertFalse(config.isRenderEquator());
+
+        config.setUseBlockEntityScan(false);
+        assertFalse(config.isUseBlockEntityScan());
+
+        config.setAsyncScanning(false);
+        assertFalse(config.isAsyncScanning());
+
+        config.setTimeSlicedScanning(true);
+        assertTrue(config.isTimeSlicedScanning());
+
+        config.setShowScanProgress(true);
+        assertTrue(config.isShowScanProgress());
+    }
+
+    @Test
+    public void testScanBudgetClamping() {
+        config.setScanBudgetNanos(5000000);
+        assertEquals(5000000, config.getScanBudgetNanos());
+
+        config.setScanBudgetNanos(10);
+        assertEquals(100000, config.getScanBudgetNanos()); // Clamped to min
+
+        config.setScanBudgetNanos(Long.MAX_VALUE);
+        assertEquals(50000000, config.getScanBudgetNanos()); // Clamped to max
+    }
+
+    @Test
+    public void testScanThreadsClamping() {
+        config.setScanThreads(-1);
+        assertEquals(0, config.getScanThreads()); // Clamped to min
+
+        config.setScanThreads(1000);
+        assertEquals(64, config.getScanThreads()); // Clamped to max
+    }
+
+    @Test
+    public void testIndexBackend() {
+        config.setIndexBackend(SpatialIndex.Backend.OCTREE);
+        assertEquals(SpatialIndex.Backend.OCTREE, config.getIndexBackend());
+
+        config.setIndexBackend(null);
+        assertEquals(SpatialIndex.Backend.GRID, config.getIndexBackend()); // Falls back to the default
+    }
+
+    @Test
+    public void testUpdateDebounceClamping() {
+        config.setUpdateDebounce(-1);
+        assertEquals(0, config.getUpdateDebounce()); // Clamped to min
+
+        config.setUpdateDebounce(10000);
+        assertEquals(5000, config.getUpdateDebounce()); // Clamped to max
+    }
+
+    @Test
+    public void testVerificationsPerTickClamping() {
+        config.setVerificationsPerTick(0);
+        assertEquals(1, config.getVerificationsPerTick()); // Clamped to min
+
+        config.setVerificationsPerTick(100000);
+        assertEquals(4096, config.getVerificationsPerTick()); // Clamped to max
     }
 
     @Test
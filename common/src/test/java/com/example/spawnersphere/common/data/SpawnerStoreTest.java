@@ -0,0 +1,189 @@
+package com.example.spawnersphere.common.data;
+
+import com.example.spawnersphere.common.performance.LongList;
+import com.example.spawnersphere.common.platform.IPlatformHelper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for SpawnerStore ids, lookup, free-list reuse, batches, snapshots and iteration, and BlockKey packing
+ */
+public class SpawnerStoreTest {
+
+    private static final long A = BlockKey.pack(8, 64, -4);
+    private static final long B = BlockKey.pack(1, 64, 0);
+    private static final long C = BlockKey.pack(-1, 64, 0);
+
+    private SpawnerStore store;
+
+    @BeforeEach
+    public void setUp() {
+        store = new SpawnerStore();
+    }
+
+    @Test
+    public void testAddAndLookUp() {
+        int id = store.add(A);
+
+        assertEquals(1, store.size());
+        assertEquals(id, store.idOf(A));
+        assertTrue(store.contains(A));
+        assertFalse(store.contains(B));
+        assertEquals(-1, store.idOf(B));
+        assertEquals(A, store.key(id));
+        assertEquals(8.5, store.x(id));
+        assertEquals(64.5, store.y(id));
+        assertEquals(-3.5, store.z(id));
+        assertEquals(-3.5, store.center(id).z);
+        assertEquals(BlockKey.NONE, store.key(id + 1));
+    }
+
+    @Test
+    public void testAddIsIdempotent() {
+        int id = store.add(A);
+        assertEquals(id, store.add(A));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    public void testRemovedIdsAreReused() {
+        int first = store.add(A);
+        store.add(B);
+
+        assertTrue(store.remove(A));
+        assertFalse(store.remove(A));
+        assertFalse(store.contains(A));
+        assertEquals(1, store.size());
+
+        assertEquals(first, store.add(C));
+        assertEquals(C, store.key(first));
+    }
+
+    @Test
+    public void testForEachVisitsLiveSpawnersOnly() {
+        for (int i = 0; i < 10; i++) {
+            store.add(BlockKey.pack(i, 64, 0));
+        }
+        for (int i = 0; i < 10; i += 2) {
+            store.remove(BlockKey.pack(i, 64, 0));
+        }
+
+        List<Long> seen = new ArrayList<>();
+        store.forEach((id, key, x, y, z) -> {
+            seen.add(key);
+            assertEquals(BlockKey.x(key) + 0.5, x);
+        });
+        assertEquals(5, seen.size());
+        assertFalse(seen.contains(BlockKey.pack(0, 64, 0)));
+        assertTrue(seen.contains(BlockKey.pack(9, 64, 0)));
+    }
+
+    @Test
+    public void testMatchesHashMapUnderChurn() {
+        // Neighbouring keys and many removals exercise probing, growth and backward-shift deletion
+        Random random = new Random(5);
+        Map<Long, Integer> expected = new HashMap<>();
+        for (int round = 0; round < 20000; round++) {
+            long key = BlockKey.pack(random.nextInt(60) - 30, random.nextInt(50), 7);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key) != null, store.remove(key));
+            } else if (!expected.containsKey(key)) {
+                expected.put(key, store.add(key));
+            }
+        }
+
+        assertEquals(expected.size(), store.size());
+        for (Map.Entry<Long, Integer> entry : expected.entrySet()) {
+            assertEquals((int) entry.getValue(), store.idOf(entry.getKey()));
+            assertEquals((long) entry.getKey(), store.key(entry.getValue()));
+        }
+    }
+
+    @Test
+    public void testClear() {
+        store.add(A);
+        store.add(B);
+        store.clear();
+
+        assertTrue(store.isEmpty());
+        assertFalse(store.contains(A));
+        assertEquals(0, store.add(C));
+    }
+
+    @Test
+    public void testBatchesMatchSingleChanges() {
+        Random random = new Random(9);
+        LongList added = new LongList();
+        for (int i = 0; i < 300; i++) {
+            added.add(BlockKey.pack(random.nextInt(40), random.nextInt(40), 3));
+        }
+        LongList removed = new LongList();
+        for (int i = 0; i < added.size(); i += 2) {
+            removed.add(added.get(i));
+        }
+        removed.add(BlockKey.pack(0, 100, 0)); // Nothing there
+
+        SpawnerStore single = new SpawnerStore();
+        for (int i = 0; i < added.size(); i++) {
+            single.add(added.get(i));
+        }
+        for (int i = 0; i < removed.size(); i++) {
+            single.remove(removed.get(i));
+        }
+        store.addAll(added);
+        store.removeAll(removed);
+
+        assertEquals(single.size(), store.size());
+        for (int i = 0; i < added.size(); i++) {
+            assertEquals(single.contains(added.get(i)), store.contains(added.get(i)));
+        }
+    }
+
+    @Test
+    public void testForEachWalksOneSnapshot() {
+        store.add(A);
+        store.add(B);
+
+        // Changes made while walking do not show up in the walk, but are visible afterwards
+        List<Long> seen = new ArrayList<>();
+        store.forEach((id, key, x, y, z) -> {
+            seen.add(key);
+            store.remove(A);
+            store.remove(B);
+            store.add(C);
+        });
+
+        assertEquals(2, seen.size());
+        assertTrue(seen.contains(A));
+        assertEquals(1, store.size());
+        assertTrue(store.contains(C));
+    }
+
+    @Test
+    public void testNullHandling() {
+        assertThrows(IllegalArgumentException.class, () -> store.addAll(null));
+        assertThrows(IllegalArgumentException.class, () -> store.removeAll(null));
+        assertThrows(IllegalArgumentException.class, () -> store.forEach(null));
+    }
+
+    @Test
+    public void testBlockKeyRoundTrip() {
+        int[][] positions = {{0, 0, 0}, {-1, -64, -1}, {29999999, 2047, -29999999}, {-30000000, -2048, 30000000}, {5, 319, -17}};
+        for (int[] pos : positions) {
+            long key = BlockKey.pack(pos[0], pos[1], pos[2]);
+            assertEquals(pos[0], BlockKey.x(key));
+            assertEquals(pos[1], BlockKey.y(key));
+            assertEquals(pos[2], BlockKey.z(key));
+        }
+        assertEquals(BlockKey.pack(-1, 64, 3), BlockKey.of(new IPlatformHelper.Position(-0.5, 64.5, 3.5)));
+        assertNotEquals(BlockKey.pack(1, 2, 3), BlockKey.pack(3, 2, 1));
+    }
+}
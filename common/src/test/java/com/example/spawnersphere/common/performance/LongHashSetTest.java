@@ -0,0 +1,64 @@
+package com.example.spawnersphere.common.performance;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LongHashSet
+ */
+public class LongHashSetTest {
+
+    private LongHashSet set;
+
+    @BeforeEach
+    public void setUp() {
+        set = new LongHashSet();
+    }
+
+    @Test
+    public void testAddAndContains() {
+        assertTrue(set.isEmpty());
+        assertTrue(set.add(0L));
+        assertTrue(set.add(-1L));
+        assertTrue(set.add(Long.MIN_VALUE));
+        assertFalse(set.add(0L));
+
+        assertTrue(set.contains(0L));
+        assertTrue(set.contains(-1L));
+        assertTrue(set.contains(Long.MIN_VALUE));
+        assertFalse(set.contains(1L));
+        assertEquals(3, set.size());
+    }
+
+    @Test
+    public void testMatchesHashSetThroughGrowth() {
+        Random random = new Random(11);
+        Set<Long> expected = new HashSet<>();
+        for (int i = 0; i < 5000; i++) {
+            long key = random.nextInt(3000) - 1500;
+            assertEquals(expected.add(key), set.add(key));
+        }
+
+        assertEquals(expected.size(), set.size());
+        for (long key = -1600; key < 1600; key++) {
+            assertEquals(expected.contains(key), set.contains(key));
+        }
+    }
+
+    @Test
+    public void testClear() {
+        set.add(5L);
+        set.add(6L);
+        set.clear();
+
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(5L));
+        assertTrue(set.add(5L));
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.spawnersphere.common.performance;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LongObjectMap
+ */
+public class LongObjectMapTest {
+
+    private LongObjectMap<String> map;
+
+    @BeforeEach
+    public void setUp() {
+        map = new LongObjectMap<>();
+    }
+
+    @Test
+    public void testPutGetRemove() {
+        assertNull(map.put(1L, "one"));
+        assertNull(map.put(-1L, "minus one"));
+        assertNull(map.put(0L, "zero"));
+
+        assertEquals("one", map.get(1L));
+        assertEquals("minus one", map.get(-1L));
+        assertEquals("zero", map.get(0L));
+        assertNull(map.get(2L));
+        assertEquals(3, map.size());
+
+        assertEquals("one", map.remove(1L));
+        assertNull(map.remove(1L));
+        assertNull(map.get(1L));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void testPutReplacesValue() {
+        map.put(Long.MIN_VALUE, "first");
+        assertEquals("first", map.put(Long.MIN_VALUE, "second"));
+        assertEquals("second", map.get(Long.MIN_VALUE));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testNullValueRejected() {
+        assertThrows(IllegalArgumentException.class, () -> map.put(1L, null));
+    }
+
+    @Test
+    public void testGrowsAndKeepsEntries() {
+        for (long key = 0; key < 10000; key++) {
+            map.put(key * 31, "v" + key);
+        }
+        assertEquals(10000, map.size());
+        for (long key = 0; key < 10000; key++) {
+            assertEquals("v" + key, map.get(key * 31));
+        }
+    }
+
+    @Test
+    public void testMatchesHashMapUnderRandomChurn() {
+        // Small key range forces long probe chains and many back-shifting removals
+        Random random = new Random(7);
+        Map<Long, String> expected = new HashMap<>();
+        for (int i = 0; i < 50000; i++) {
+            long key = random.nextInt(512) - 256;
+            if (random.nextBoolean()) {
+                String value = "v" + i;
+                assertEquals(expected.put(key, value), map.put(key, value));
+            } else {
+                assertEquals(expected.remove(key), map.remove(key));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (long key = -256; key < 256; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+
+    @Test
+    public void testForEachVisitsEveryEntry() {
+        map.put(3L, "c");
+        map.put(-7L, "g");
+        map.put(1L << 40, "big");
+
+        Map<Long, String> visited = new HashMap<>();
+        map.forEach(visited::put);
+
+        assertEquals(3, visited.size());
+        assertEquals("big", visited.get(1L << 40));
+        assertEquals("g", visited.get(-7L));
+    }
+
+    @Test
+    public void testClear() {
+        map.put(1L, "one");
+        map.put(2L, "two");
+        map.clear();
+
+        assertTrue(map.isEmpty());
+        assertNull(map.get(1L));
+        assertNull(map.put(1L, "again"));
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.spawnersphere.common.performance;
+
+import com.example.spawnersphere.common.data.BlockKey;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for MortonArray's Z-order encoding, range skipping and bulk loading
+ */
+public class MortonArrayTest {
+
+    @Test
+    public void testEncodingPreservesOrderAlongEachAxis() {
+        assertTrue(Long.compareUnsigned(MortonArray.encode(-5, 64, 0), MortonArray.encode(4, 64, 0)) < 0);
+        assertTrue(Long.compareUnsigned(MortonArray.encode(0, -64, 0), MortonArray.encode(0, 319, 0)) < 0);
+        assertTrue(Long.compareUnsigned(MortonArray.encode(0, 64, -30000000), MortonArray.encode(0, 64, 30000000)) < 0);
+        assertNotEquals(MortonArray.encode(1, 2, 3), MortonArray.encode(3, 2, 1));
+    }
+
+    @Test
+    public void testBigMinFindsNextCodeInsideBox() {
+        Random random = new Random(3);
+        for (int round = 0; round < 200; round++) {
+            int x0 = random.nextInt(40) - 20;
+            int y0 = random.nextInt(40) - 20;
+            int z0 = random.nextInt(40) - 20;
+            int x1 = x0 + random.nextInt(6);
+            int y1 = y0 + random.nextInt(6);
+            int z1 = z0 + random.nextInt(6);
+            long low = MortonArray.encode(x0, y0, z0);
+            long high = MortonArray.encode(x1, y1, z1);
+
+            List<Long> inside = new ArrayList<>();
+            for (int x = x0; x <= x1; x++) {
+                for (int y = y0; y <= y1; y++) {
+                    for (int z = z0; z <= z1; z++) {
+                        inside.add(MortonArray.encode(x, y, z));
+                    }
+                }
+            }
+            Collections.sort(inside, Long::compareUnsigned);
+
+            // A code between low and high that lies outside the box
+            long code = MortonArray.encode(x0 - 3 + random.nextInt(12), y0 - 3 + random.nextInt(12),
+                z0 - 3 + random.nextInt(12));
+            if (inside.contains(code) || Long.compareUnsigned(code, low) < 0 || Long.compareUnsigned(code, high) > 0) {
+                continue;
+            }
+            long expected = high;
+            for (long candidate : inside) {
+                if (Long.compareUnsigned(candidate, code) > 0) {
+                    expected = candidate;
+                    break;
+                }
+            }
+            assertEquals(expected, MortonArray.bigMin(code, low, high));
+        }
+    }
+
+    @Test
+    public void testBulkLoadMatchesSingleInserts() {
+        Random random = new Random(9);
+        LongList first = new LongList();
+        LongList second = new LongList();
+        LongHashSet distinct = new LongHashSet();
+        while (first.size() + second.size() < 600) {
+            long key = BlockKey.pack(random.nextInt(300) - 150, random.nextInt(384) - 64, random.nextInt(300) - 150);
+            if (distinct.add(key)) {
+                (distinct.size() % 2 == 0 ? first : second).add(key);
+            }
+        }
+
+        MortonArray bulk = new MortonArray();
+        bulk.insertAll(first);
+        bulk.insertAll(second); // Merged into the sorted entries already present
+        MortonArray single = new MortonArray();
+        for (int i = 0; i < first.size(); i++) {
+            single.insert(first.get(i));
+        }
+        for (int i = 0; i < second.size(); i++) {
+            single.insert(second.get(i));
+        }
+
+        assertEquals(600, bulk.size());
+        for (int query = 0; query < 30; query++) {
+            double x = random.nextInt(300) - 150;
+            double y = random.nextInt(200);
+            double z = random.nextInt(300) - 150;
+            assertEquals(single.query(x, y, z, 40, null, null), bulk.query(x, y, z, 40, null, null));
+        }
+
+        for (int i = 0; i < first.size(); i++) {
+            bulk.delete(first.get(i));
+        }
+        assertEquals(300, bulk.size());
+        assertFalse(bulk.contains(first.get(0)));
+        assertTrue(bulk.contains(second.get(0)));
+
+        // A batch delete packs the survivors down once, skipping repeats and keys that are not stored
+        LongList gone = new LongList();
+        gone.add(second.get(0));
+        gone.add(second.get(0));
+        gone.add(first.get(1));
+        bulk.deleteAll(gone);
+        assertEquals(299, bulk.size());
+        assertFalse(bulk.contains(second.get(0)));
+        assertTrue(bulk.contains(second.get(1)));
+    }
+
+    @Test
+    public void testOutOfRangePositionRejected() {
+        MortonArray array = new MortonArray();
+        assertThrows(IllegalArgumentException.class, () -> array.insert(BlockKey.NONE));
+        assertEquals(0, array.size());
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.spawnersphere.common.performance;
+
+import com.example.spawnersphere.common.platform.IPlatformHelper.Position;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Manual benchmark of the Morton packed-array backend against the section grid
+ * Not a unit test; run its main method like {@link SpatialIndexBenchmark}. With no arguments it
+ * prints rebuild time and query latency for both backends. Java cannot read hardware counters,
+ * so for cache-miss counts pass one backend name and run it under the profiler, e.g.
+ * {@code perf stat -e cache-references,cache-misses java -cp ... MortonIndexBenchmark morton},
+ * then again with {@code grid}; that mode only builds the index and loops over queries.
+ */
+public final class MortonIndexBenchmark {
+
+    private static final int SPAWNERS = 10000;
+    private static final int PROFILE_ROUNDS = 200;
+    private static final int[] QUERY_RADII = {32, 80, 272};
+
+    private MortonIndexBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        LongList data = SpatialIndexBenchmark.generate(SPAWNERS, new Random(1));
+        Position[] queries = SpatialIndexBenchmark.queryPoints(new Random(2));
+
+        if (args.length > 0) {
+            profile(SpatialIndex.Backend.valueOf(args[0].toUpperCase(Locale.ROOT)), data, queries);
+            return;
+        }
+
+        System.out.println("backend  rebuild us  radius  ns/query");
+        for (SpatialIndex.Backend backend : new SpatialIndex.Backend[] {SpatialIndex.Backend.GRID, SpatialIndex.Backend.MORTON}) {
+            long rebuild = Long.MAX_VALUE;
+            SpatialIndex index = null;
+            for (int round = 0; round < 20; round++) {
+                long start = System.nanoTime();
+                index = new SpatialIndex(backend, false);
+                index.addAll(data);
+                rebuild = Math.min(rebuild, System.nanoTime() - start);
+            }
+
+            LongList buffer = new LongList();
+            for (int radius : QUERY_RADII) {
+                SpatialIndex measured = index;
+                SpatialIndexBenchmark.Result result = SpatialIndexBenchmark.measure(queries, radius, center -> {
+                    buffer.clear();
+                    return measured.getNearby(center.x, center.y, center.z, radius, buffer);
+                });
+                System.out.printf("%-7s %11.0f %7d %9.0f%n",
+                    backend.name().toLowerCase(Locale.ROOT), rebuild / 1000.0, radius, result.nanosPerQuery);
+            }
+        }
+    }
+
+    /**
+     * Only queries, so a profiler attached to the whole process mostly counts the index's memory traffic
+     */
+    private static void profile(SpatialIndex.Backend backend, LongList data, Position[] queries) {
+        SpatialIndex index = new SpatialIndex(backend, false);
+        index.addAll(data);
+        LongList buffer = new LongList();
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int round = 0; round < PROFILE_ROUNDS; round++) {
+            for (Position center : queries) {
+                buffer.clear();
+                sink += index.getNearby(center.x, center.y, center.z, 80, buffer);
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%s: %d queries, %.0f ns/query (checksum %d)%n", backend.name().toLowerCase(Locale.ROOT),
+            (long) PROFILE_ROUNDS * queries.length, elapsed / ((double) PROFILE_ROUNDS * queries.length), sink);
+    }
+}
@@ -0,0 +1,243 @@
+package com.example.spawnersphere.common.performance;
+
+import com.example.spawnersphere.common.data.BlockKey;
+import com.example.spawnersphere.common.platform.IPlatformHelper.Position;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Manual micro-benchmark for SpatialIndex queries
+ * Not a unit test; run its main method from the IDE or with
+ * {@code java -cp <test and main classes> com.example.spawnersphere.common.performance.SpatialIndexBenchmark}.
+ * Compares the section-keyed primitive map against the previous chunk-column
+ * {@code ConcurrentHashMap<ChunkCoord, List<SpawnerData>>} layout, the list-returning
+ * query against the caller-owned buffer variant, and the grid against the octree backend
+ * on both spread-out and densely packed spawner fields.
+ */
+public final class SpatialIndexBenchmark {
+
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+    private static final int QUERIES_PER_ROUND = 5000;
+
+    private SpatialIndexBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int[] spawnerCounts = {100, 1000, 10000};
+        int[] queryRadii = {32, 80, 272};
+
+        System.out.println("field  spawners radius  chunk-list ns/query  B/query   section-map ns/query  B/query"
+            + "   reused-buffer ns/query  B/query   octree ns/query  B/query");
+        for (boolean dense : new boolean[] {false, true}) {
+            for (int spawners : spawnerCounts) {
+                run(dense, spawners, queryRadii);
+            }
+        }
+    }
+
+    private static void run(boolean dense, int spawners, int[] queryRadii) {
+        LongList data = dense ? generateDense(spawners, new Random(1)) : generate(spawners, new Random(1));
+
+        ChunkListIndex baseline = new ChunkListIndex();
+        SpatialIndex index = new SpatialIndex();
+        SpatialIndex octree = new SpatialIndex(SpatialIndex.Backend.OCTREE, false);
+        for (int i = 0; i < data.size(); i++) {
+            long key = data.get(i);
+            baseline.add(new Position(BlockKey.centerX(key), BlockKey.centerY(key), BlockKey.centerZ(key)));
+            index.add(key);
+            octree.add(key);
+        }
+
+        for (int radius : queryRadii) {
+            Position[] queries = dense ? denseQueryPoints(new Random(2)) : queryPoints(new Random(2));
+            Result before = measure(queries, radius, center -> baseline.getNearby(center, radius).size());
+            Result after = measure(queries, radius, center -> index.getNearby(center, radius).size());
+            LongList buffer = new LongList();
+            Result reused = measure(queries, radius, center -> {
+                buffer.clear();
+                return index.getNearby(center.x, center.y, center.z, radius, buffer);
+            });
+            Result tree = measure(queries, radius, center -> {
+                buffer.clear();
+                return octree.getNearby(center.x, center.y, center.z, radius, buffer);
+            });
+            System.out.printf("%-6s %8d %6d  %19.0f %8.0f   %20.0f %8.0f   %22.0f %8.0f   %15.0f %8.0f%n",
+                dense ? "dense" : "spread", spawners, radius, before.nanosPerQuery, before.bytesPerQuery,
+                after.nanosPerQuery, after.bytesPerQuery, reused.nanosPerQuery, reused.bytesPerQuery,
+                tree.nanosPerQuery, tree.bytesPerQuery);
+        }
+    }
+
+    /**
+     * Spawners spread over a 2048-block square and the full overworld height
+     */
+    static LongList generate(int count, Random random) {
+        LongList data = new LongList(count);
+        for (int i = 0; i < count; i++) {
+            int x = random.nextInt(2048) - 1024;
+            int y = random.nextInt(384) - 64;
+            int z = random.nextInt(2048) - 1024;
+            data.add(BlockKey.pack(x, y, z));
+        }
+        return data;
+    }
+
+    /**
+     * Spawners packed into a 4x4-chunk farm, every one of them in a distinct block
+     */
+    static LongList generateDense(int count, Random random) {
+        LongList data = new LongList(count);
+        LongHashSet used = new LongHashSet();
+        while (data.size() < count) {
+            long key = BlockKey.pack(random.nextInt(64), random.nextInt(384) - 64, random.nextInt(64));
+            if (used.add(key)) {
+                data.add(key);
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Query points in and around the dense farm
+     */
+    static Position[] denseQueryPoints(Random random) {
+        Position[] queries = new Position[QUERIES_PER_ROUND];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = new Position(
+                random.nextDouble() * 128 - 32,
+                random.nextDouble() * 128 + 32,
+                random.nextDouble() * 128 - 32
+            );
+        }
+        return queries;
+    }
+
+    static Position[] queryPoints(Random random) {
+        Position[] queries = new Position[QUERIES_PER_ROUND];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = new Position(
+                random.nextDouble() * 2048 - 1024,
+                random.nextDouble() * 128 + 32,
+                random.nextDouble() * 2048 - 1024
+            );
+        }
+        return queries;
+    }
+
+    interface Query {
+        int run(Position center);
+    }
+
+    static final class Result {
+        final double nanosPerQuery;
+        final double bytesPerQuery;
+
+        Result(double nanosPerQuery, double bytesPerQuery) {
+            this.nanosPerQuery = nanosPerQuery;
+            this.bytesPerQuery = bytesPerQuery;
+        }
+    }
+
+    static Result measure(Position[] queries, int radius, Query query) {
+        long sink = 0;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            for (Position center : queries) {
+                sink += query.run(center);
+            }
+        }
+
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            for (Position center : queries) {
+                sink += query.run(center);
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocatedBytes() - allocatedBefore;
+
+        if (sink == Long.MIN_VALUE) {
+            System.out.println(); // Keeps the results live
+        }
+        double total = (double) MEASURED_ROUNDS * queries.length;
+        return new Result(elapsed / total, allocated < 0 ? Double.NaN : allocated / total);
+    }
+
+    /**
+     * Bytes allocated by the current thread so far, or -1 if the JVM cannot tell
+     */
+    static long allocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    /**
+     * The previous SpatialIndex layout, kept here as the benchmark baseline
+     */
+    static final class ChunkListIndex {
+        private final Map<ChunkCoord, List<Position>> chunkMap = new ConcurrentHashMap<>();
+
+        void add(Position spawner) {
+            chunkMap.computeIfAbsent(getChunkCoord(spawner), coord -> new ArrayList<>()).add(spawner);
+        }
+
+        List<Position> getNearby(Position center, int radius) {
+            List<Position> result = new ArrayList<>();
+            int chunkRadius = (radius / 16) + 1;
+            ChunkCoord centerChunk = getChunkCoord(center);
+            for (int cx = -chunkRadius; cx <= chunkRadius; cx++) {
+                for (int cz = -chunkRadius; cz <= chunkRadius; cz++) {
+                    List<Position> spawners = chunkMap.get(new ChunkCoord(centerChunk.x + cx, centerChunk.z + cz));
+                    if (spawners != null) {
+                        synchronized (spawners) {
+                            for (Position entry : spawners) {
+                                if (center.distanceTo(entry) <= radius) {
+                                    result.add(entry);
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+            return result;
+        }
+
+        private static ChunkCoord getChunkCoord(Position pos) {
+            return new ChunkCoord((int) Math.floor(pos.x / 16), (int) Math.floor(pos.z / 16));
+        }
+    }
+
+    static final class ChunkCoord {
+        final int x;
+        final int z;
+
+        ChunkCoord(int x, int z) {
+            this.x = x;
+            this.z = z;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ChunkCoord that = (ChunkCoord) o;
+            return x == that.x && z == that.z;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(x, z);
+        }
+    }
+}
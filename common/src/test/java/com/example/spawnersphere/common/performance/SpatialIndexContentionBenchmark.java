@@ -0,0 +1,113 @@
+package com.example.spawnersphere.common.performance;
+
+import com.example.spawnersphere.common.platform.IPlatformHelper.Position;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Manual benchmark of render-thread query latency while a scan writes to the index
+ * Not a unit test; run its main method like {@link SpatialIndexBenchmark}.
+ * One reader queries back to back, as a render thread would, while one writer keeps
+ * adding and removing spawners, as a scan publishing results would. Compares the
+ * read-write locked index against copy-on-write mode.
+ */
+public final class SpatialIndexContentionBenchmark {
+
+    private static final long RUN_NANOS = 2000000000L;
+    private static final int MAX_SAMPLES = 5000000;
+    private static final int QUERY_RADIUS = 80;
+
+    private SpatialIndexContentionBenchmark() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int[] spawnerCounts = {1000, 10000};
+
+        System.out.println("mode           spawners  queries/s   p50 ns   p99 ns  p99.9 ns    max ns   writes/s");
+        for (int spawners : spawnerCounts) {
+            for (boolean copyOnWrite : new boolean[] {false, true}) {
+                run(spawners, copyOnWrite); // Warm-up
+                Result result = run(spawners, copyOnWrite);
+                System.out.printf("%-14s %8d %10.0f %8d %8d %9d %9d %10.0f%n",
+                    copyOnWrite ? "copy-on-write" : "rw-lock", spawners,
+                    result.queriesPerSecond, result.percentile(0.5), result.percentile(0.99),
+                    result.percentile(0.999), result.percentile(1.0), result.writesPerSecond);
+            }
+        }
+    }
+
+    static final class Result {
+        final long[] latencies;
+        final double queriesPerSecond;
+        final double writesPerSecond;
+
+        Result(long[] latencies, double queriesPerSecond, double writesPerSecond) {
+            this.latencies = latencies;
+            this.queriesPerSecond = queriesPerSecond;
+            this.writesPerSecond = writesPerSecond;
+        }
+
+        long percentile(double fraction) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.min(latencies.length - 1, Math.floor(fraction * latencies.length));
+            return latencies[index];
+        }
+    }
+
+    static Result run(int spawners, boolean copyOnWrite) throws InterruptedException {
+        final SpatialIndex index = new SpatialIndex(copyOnWrite);
+        final LongList data = SpatialIndexBenchmark.generate(spawners, new Random(1));
+        index.addAll(data);
+
+        final AtomicBoolean stop = new AtomicBoolean();
+        final long[] writes = new long[1];
+        Thread writer = new Thread(() -> {
+            // Churn a small slice of the set, like point updates and incremental rescans do
+            int next = 0;
+            while (!stop.get()) {
+                long key = data.get(next);
+                index.remove(key);
+                index.add(key);
+                writes[0] += 2;
+                next = (next + 1) % Math.min(data.size(), 256);
+            }
+        }, "index-writer");
+
+        Position[] queries = SpatialIndexBenchmark.queryPoints(new Random(2));
+        long[] samples = new long[MAX_SAMPLES];
+        int sampleCount = 0;
+
+        writer.start();
+        long start = System.nanoTime();
+        long end = start + RUN_NANOS;
+        long sink = 0;
+        int query = 0;
+        while (sampleCount < samples.length) {
+            Position center = queries[query];
+            query = (query + 1) % queries.length;
+
+            long before = System.nanoTime();
+            sink += index.countNearby(center.x, center.y, center.z, QUERY_RADIUS);
+            long after = System.nanoTime();
+            samples[sampleCount++] = after - before;
+            if (after - end >= 0) {
+                break;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        stop.set(true);
+        writer.join();
+
+        if (sink == Long.MIN_VALUE) {
+            System.out.println(); // Keeps the results live
+        }
+        long[] latencies = Arrays.copyOf(samples, sampleCount);
+        Arrays.sort(latencies);
+        double seconds = elapsed / 1e9;
+        return new Result(latencies, sampleCount / seconds, writes[0] / seconds);
+    }
+}
@@ -1,12 +1,14 @@
 package com.example.spawnersphere.common.performance;
 
-import com.example.spawnersphere.common.data.SpawnerData;
+import com.example.spawnersphere.common.data.BlockKey;
 import com.example.spawnersphere.common.platform.IPlatformHelper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -22,45 +24,64 @@ public class SpatialIndexTest {
         index = new SpatialIndex();
     }
 
+    /**
+     * Key of the block at a position; the index places the spawner at that block's center
+     */
+    private static long key(double x, double y, double z) {
+        return BlockKey.of(new IPlatformHelper.Position(x, y, z));
+    }
+
+    private static IPlatformHelper.Position center(long key) {
+        return new IPlatformHelper.Position(BlockKey.centerX(key), BlockKey.centerY(key), BlockKey.centerZ(key));
+    }
+
+    private static LongList keys(long... keys) {
+        LongList list = new LongList();
+        for (long key : keys) {
+            list.add(key);
+        }
+        return list;
+    }
+
     @Test
     public void testEmptyIndex() {
         IPlatformHelper.Position center = new IPlatformHelper.Position(0, 0, 0);
-        List<SpawnerData> nearby = index.getNearby(center, 32);
+        LongList nearby = index.getNearby(center, 32);
         assertTrue(nearby.isEmpty());
     }
 
     @Test
     public void testAddAndRetrieve() {
         // Add a spawner at origin
-        IPlatformHelper.Position pos1 = new IPlatformHelper.Position(0, 64, 0);
-        Object spawner1 = new Object();
-        index.add(spawner1, pos1);
+        long spawner1 = key(0, 64, 0);
+        index.add(spawner1);
 
         // Add a spawner far away
-        IPlatformHelper.Position pos2 = new IPlatformHelper.Position(1000, 64, 1000);
-        Object spawner2 = new Object();
-        index.add(spawner2, pos2);
+        long spawner2 = key(1000, 64, 1000);
+        index.add(spawner2);
 
         // Query from origin with radius 32
         IPlatformHelper.Position center = new IPlatformHelper.Position(0, 64, 0);
-        List<SpawnerData> nearby = index.getNearby(center, 32);
+        LongList nearby = index.getNearby(center, 32);
 
         // Should find spawner1 but not spawner2
         assertEquals(1, nearby.size());
-        assertEquals(spawner1, nearby.get(0).blockPos);
+        assertEquals(spawner1, nearby.get(0));
+        assertTrue(index.contains(spawner2));
+        assertFalse(index.contains(key(1, 64, 0)));
     }
 
     @Test
     public void testMultipleSpawnersInRange() {
         // Add 4 spawners in a square around origin
-        index.add(new Object(), new IPlatformHelper.Position(10, 64, 10));
-        index.add(new Object(), new IPlatformHelper.Position(-10, 64, 10));
-        index.add(new Object(), new IPlatformHelper.Position(10, 64, -10));
-        index.add(new Object(), new IPlatformHelper.Position(-10, 64, -10));
+        index.add(key(10, 64, 10));
+        index.add(key(-10, 64, 10));
+        index.add(key(10, 64, -10));
+        index.add(key(-10, 64, -10));
 
         // Query from origin with radius 20
         IPlatformHelper.Position center = new IPlatformHelper.Position(0, 64, 0);
-        List<SpawnerData> nearby = index.getNearby(center, 20);
+        LongList nearby = index.getNearby(center, 20);
 
         // Should find all 4 spawners
         assertEquals(4, nearby.size());
@@ -68,13 +89,13 @@ public class SpatialIndexTest {
 
     @Test
     public void testClear() {
-        index.add(new Object(), new IPlatformHelper.Position(0, 64, 0));
-        index.add(new Object(), new IPlatformHelper.Position(10, 64, 10));
+        index.add(key(0, 64, 0));
+        index.add(key(10, 64, 10));
 
         index.clear();
 
         IPlatformHelper.Position center = new IPlatformHelper.Position(0, 64, 0);
-        List<SpawnerData> nearby = index.getNearby(center, 32);
+        LongList nearby = index.getNearby(center, 32);
 
         assertTrue(nearby.isEmpty());
     }
@@ -82,39 +103,38 @@ public class SpatialIndexTest {
     @Test
     public void testChunkBoundaries() {
         // Add spawners exactly on chunk boundaries (chunks are 16x16)
-        index.add("spawner1", new IPlatformHelper.Position(0, 64, 0));
-        index.add("spawner2", new IPlatformHelper.Position(16, 64, 0));
-        index.add("spawner3", new IPlatformHelper.Position(0, 64, 16));
-        index.add("spawner4", new IPlatformHelper.Position(16, 64, 16));
+        index.add(key(0, 64, 0));
+        index.add(key(16, 64, 0));
+        index.add(key(0, 64, 16));
+        index.add(key(16, 64, 16));
 
         // Query from center with radius that should catch all
         IPlatformHelper.Position center = new IPlatformHelper.Position(8, 64, 8);
-        List<SpawnerData> nearby = index.getNearby(center, 20);
+        LongList nearby = index.getNearby(center, 20);
 
         assertEquals(4, nearby.size());
     }
 
     @Test
     public void testDistanceCalculation() {
-        IPlatformHelper.Position spawnerPos = new IPlatformHelper.Position(10, 64, 0);
-        index.add("spawner", spawnerPos);
+        long spawner = key(10, 64, 0);
+        index.add(spawner);
 
         IPlatformHelper.Position center = new IPlatformHelper.Position(0, 64, 0);
-        List<SpawnerData> nearby = index.getNearby(center, 15);
+        LongList nearby = index.getNearby(center, 15);
 
         assertEquals(1, nearby.size());
-        assertEquals(spawnerPos, nearby.get(0).center);
+        assertEquals(10.5, center(nearby.get(0)).distanceTo(new IPlatformHelper.Position(0, 64.5, 0.5)), 1e-9);
     }
 
     @Test
     public void testExactRadiusBoundary() {
-        // Spawner exactly at radius distance
-        IPlatformHelper.Position spawnerPos = new IPlatformHelper.Position(10, 64, 0);
-        index.add("spawner", spawnerPos);
+        // Spawner center exactly at radius distance
+        index.add(key(10, 64, 0));
 
-        // Query with radius = distance
-        IPlatformHelper.Position center = new IPlatformHelper.Position(0, 64, 0);
-        List<SpawnerData> nearby = index.getNearby(center, 10);
+        // Query with radius = distance between block centers
+        IPlatformHelper.Position center = new IPlatformHelper.Position(0.5, 64.5, 0.5);
+        LongList nearby = index.getNearby(center, 10);
 
         // Should include spawner at exactly radius distance
         assertEquals(1, nearby.size());
@@ -123,18 +143,18 @@ public class SpatialIndexTest {
     @Test
     public void testYCoordinateConsidered() {
         // Spawners at different Y levels but same X,Z
-        index.add("spawner1", new IPlatformHelper.Position(10, 64, 0)); // Same Y level
-        index.add("spawner2", new IPlatformHelper.Position(10, 128, 0)); // 64 blocks above
-        index.add("spawner3", new IPlatformHelper.Position(10, 256, 0)); // 192 blocks above
+        index.add(key(10, 64, 0)); // Same Y level
+        index.add(key(10, 128, 0)); // 64 blocks above
+        index.add(key(10, 256, 0)); // 192 blocks above
 
         // Query from origin at Y=64 with radius 15
         IPlatformHelper.Position center = new IPlatformHelper.Position(0, 64, 0);
-        List<SpawnerData> nearby = index.getNearby(center, 15);
+        LongList nearby = index.getNearby(center, 15);
 
         // Distance uses 3D Euclidean: sqrt(dx^2 + dy^2 + dz^2)
-        // spawner1: sqrt(10^2 + 0^2 + 0^2) = 10 (within radius 15)
-        // spawner2: sqrt(10^2 + 64^2 + 0^2) = ~64.78 (outside radius 15)
-        // spawner3: sqrt(10^2 + 192^2 + 0^2) = ~192.26 (outside radius 15)
+        // spawner1: ~10.5 (within radius 15)
+        // spawner2: ~64.8 (outside radius 15)
+        // spawner3: ~192.3 (outside radius 15)
         // Only spawner1 should be found
         assertEquals(1, nearby.size());
     }
@@ -142,81 +162,678 @@ public class SpatialIndexTest {
     @Test
     public void testRemoveSingleSpawner() {
         // Add and then remove a spawner
-        IPlatformHelper.Position pos = new IPlatformHelper.Position(10, 64, 0);
-        Object spawner = new Object();
-        index.add(spawner, pos);
+        long spawner = key(10, 64, 0);
+        index.add(spawner);
 
         // Verify it's there
-        List<SpawnerData> nearby = index.getNearby(pos, 5);
+        LongList nearby = index.getNearby(center(spawner), 5);
         assertEquals(1, nearby.size());
 
         // Remove it
-        index.remove(spawner, pos);
+        index.remove(spawner);
 
         // Verify it's gone
-        nearby = index.getNearby(pos, 5);
+        nearby = index.getNearby(center(spawner), 5);
         assertEquals(0, nearby.size());
+        assertFalse(index.contains(spawner));
     }
 
     @Test
     public void testRemoveOneOfMultiple() {
         // Add multiple spawners
-        IPlatformHelper.Position pos1 = new IPlatformHelper.Position(0, 64, 0);
-        IPlatformHelper.Position pos2 = new IPlatformHelper.Position(5, 64, 0);
-        Object spawner1 = new Object();
-        Object spawner2 = new Object();
+        long spawner1 = key(0, 64, 0);
+        long spawner2 = key(5, 64, 0);
 
-        index.add(spawner1, pos1);
-        index.add(spawner2, pos2);
+        index.add(spawner1);
+        index.add(spawner2);
 
         // Verify both are there
         IPlatformHelper.Position center = new IPlatformHelper.Position(0, 64, 0);
-        List<SpawnerData> nearby = index.getNearby(center, 10);
+        LongList nearby = index.getNearby(center, 10);
         assertEquals(2, nearby.size());
 
         // Remove one
-        index.remove(spawner1, pos1);
+        index.remove(spawner1);
 
         // Verify only one remains
         nearby = index.getNearby(center, 10);
         assertEquals(1, nearby.size());
-        assertEquals(spawner2, nearby.get(0).blockPos);
+        assertEquals(spawner2, nearby.get(0));
     }
 
     @Test
     public void testRemoveNonExistent() {
         // Try to remove from empty index - should not crash
-        IPlatformHelper.Position pos = new IPlatformHelper.Position(0, 64, 0);
-        Object spawner = new Object();
-        index.remove(spawner, pos); // Should not throw
+        long spawner = key(0, 64, 0);
+        index.remove(spawner); // Should not throw
 
         // Add one spawner and try to remove a different one
-        Object spawner2 = new Object();
-        index.add(spawner2, pos);
-        index.remove(spawner, pos); // Should not remove spawner2
+        long spawner2 = key(1, 64, 0);
+        index.add(spawner2);
+        index.remove(spawner); // Should not remove spawner2
 
         // Verify spawner2 is still there
-        List<SpawnerData> nearby = index.getNearby(pos, 5);
+        LongList nearby = index.getNearby(center(spawner), 5);
         assertEquals(1, nearby.size());
     }
 
     @Test
     public void testRemoveFromDifferentChunk() {
         // Add spawner in one chunk
-        IPlatformHelper.Position pos1 = new IPlatformHelper.Position(0, 64, 0);  // Chunk (0,0)
-        IPlatformHelper.Position pos2 = new IPlatformHelper.Position(20, 64, 20); // Chunk (1,1)
-        Object spawner1 = new Object();
-        Object spawner2 = new Object();
+        long spawner1 = key(0, 64, 0);  // Chunk (0,0)
+        long spawner2 = key(20, 64, 20); // Chunk (1,1)
 
-        index.add(spawner1, pos1);
-        index.add(spawner2, pos2);
+        index.add(spawner1);
+        index.add(spawner2);
 
         // Remove from one chunk
-        index.remove(spawner1, pos1);
+        index.remove(spawner1);
 
         // Verify spawner2 in different chunk is unaffected
-        List<SpawnerData> nearby = index.getNearby(pos2, 5);
+        LongList nearby = index.getNearby(center(spawner2), 5);
         assertEquals(1, nearby.size());
-        assertEquals(spawner2, nearby.get(0).blockPos);
+        assertEquals(spawner2, nearby.get(0));
+    }
+
+    @Test
+    public void testMatchesBruteForceAcrossCells() {
+        Random random = new Random(42);
+        List<IPlatformHelper.Position> positions = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            IPlatformHelper.Position pos = new IPlatformHelper.Position(
+                random.nextInt(400) - 200 + 0.5,
+                random.nextInt(384) - 64 + 0.5,
+                random.nextInt(400) - 200 + 0.5
+            );
+            if (!index.contains(BlockKey.of(pos))) {
+                positions.add(pos);
+            }
+            index.add(BlockKey.of(pos));
+        }
+        assertEquals(positions.size(), index.size());
+
+        for (int query = 0; query < 50; query++) {
+            IPlatformHelper.Position center = new IPlatformHelper.Position(
+                random.nextDouble() * 300 - 150, random.nextDouble() * 300 - 40, random.nextDouble() * 300 - 150);
+            int radius = 8 + random.nextInt(80);
+
+            int expected = 0;
+            for (IPlatformHelper.Position pos : positions) {
+                if (center.distanceTo(pos) <= radius) {
+                    expected++;
+                }
+            }
+            assertEquals(expected, index.getNearby(center, radius).size());
+        }
+    }
+
+    @Test
+    public void testLargeRadiusAcrossRegions() {
+        // Clusters in a few 512-block regions either side of the origin, with empty regions between
+        Random random = new Random(21);
+        List<IPlatformHelper.Position> positions = new ArrayList<>();
+        int[][] clusters = {{-1030, -20}, {500, 515}, {-6, 1540}, {2600, -2600}};
+        int[] clusterSizes = new int[clusters.length];
+        for (int c = 0; c < clusters.length; c++) {
+            for (int i = 0; i < 150; i++) {
+                IPlatformHelper.Position pos = new IPlatformHelper.Position(
+                    clusters[c][0] + random.nextInt(40) - 20 + 0.5, random.nextInt(120) + 0.5,
+                    clusters[c][1] + random.nextInt(40) - 20 + 0.5);
+                if (!index.contains(BlockKey.of(pos))) {
+                    positions.add(pos);
+                    clusterSizes[c]++;
+                }
+                index.add(BlockKey.of(pos));
+            }
+        }
+
+        for (int query = 0; query < 40; query++) {
+            IPlatformHelper.Position center = new IPlatformHelper.Position(
+                random.nextInt(4000) - 2000, 64, random.nextInt(4000) - 2000);
+            int radius = query % 2 == 0 ? 256 + random.nextInt(1024) : 20000;
+            int expected = 0;
+            int inBox = 0;
+            for (IPlatformHelper.Position pos : positions) {
+                if (center.distanceTo(pos) <= radius) {
+                    expected++;
+                }
+                if (Math.abs(pos.x - center.x) <= radius && Math.abs(pos.z - center.z) <= radius) {
+                    inBox++;
+                }
+            }
+            assertEquals(expected, index.countNearby(center.x, center.y, center.z, radius));
+            assertEquals(inBox, index.getWithinBox(center.x - radius, -64, center.z - radius,
+                center.x + radius, 320, center.z + radius, new LongList()));
+        }
+
+        // Emptying a region leaves the others reachable
+        for (IPlatformHelper.Position pos : positions.subList(0, clusterSizes[0])) {
+            index.remove(BlockKey.of(pos));
+        }
+        assertEquals(0, index.countNearby(-1030, 64, -20, 300));
+        assertEquals(positions.size() - clusterSizes[0], index.countNearby(0, 64, 0, 20000));
+    }
+
+    @Test
+    public void testSameColumnDifferentSections() {
+        // Same chunk column, far apart vertically: stored in different cells
+        long deep = key(8.5, -60.5, 8.5);
+        index.add(deep);
+        index.add(key(8.5, 300.5, 8.5));
+
+        LongList nearby = index.getNearby(new IPlatformHelper.Position(8, -58, 8), 16);
+        assertEquals(1, nearby.size());
+        assertEquals(deep, nearby.get(0));
+
+        index.remove(deep);
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void testForEachNearbyReportsSquaredDistance() {
+        long near = key(3, 64, 4);
+        index.add(near);
+        index.add(key(30, 64, 40));
+
+        LongList visited = new LongList();
+        List<Double> distances = new ArrayList<>();
+        index.forEachNearby(0.5, 64.5, 0.5, 10, (key, distanceSquared) -> {
+            visited.add(key);
+            distances.add(distanceSquared);
+        });
+
+        assertEquals(1, visited.size());
+        assertEquals(near, visited.get(0));
+        assertEquals(25.0, distances.get(0), 1e-9);
+    }
+
+    @Test
+    public void testCountNearbyMatchesGetNearby() {
+        for (int i = 0; i < 50; i++) {
+            index.add(key(i * 3, 64, i % 7));
+        }
+
+        IPlatformHelper.Position center = new IPlatformHelper.Position(40, 60, 2);
+        assertEquals(index.getNearby(center, 30).size(), index.countNearby(40, 60, 2, 30));
+        assertEquals(0, index.countNearby(5000, 60, 2, 30));
+    }
+
+    @Test
+    public void testGetNearbyAppendsToCallerBuffer() {
+        index.add(key(1, 64, 1));
+        index.add(key(2, 64, 2));
+
+        LongList buffer = new LongList();
+        buffer.add(key(0, 0, 0));
+
+        assertEquals(2, index.getNearby(0, 64, 0, 8, buffer));
+        assertEquals(3, buffer.size());
+        assertEquals(key(0, 0, 0), buffer.get(0));
+    }
+
+    @Test
+    public void testNegativeRadiusRejected() {
+        assertThrows(IllegalArgumentException.class, () -> index.countNearby(0, 0, 0, -1));
+        assertThrows(IllegalArgumentException.class,
+            () -> index.getNearby(new IPlatformHelper.Position(0, 0, 0), -1));
+    }
+
+    @Test
+    public void testNearestOnEmptyIndex() {
+        assertEquals(BlockKey.NONE, index.nearest(new IPlatformHelper.Position(0, 64, 0)));
+        assertTrue(index.kNearest(new IPlatformHelper.Position(0, 64, 0), 5).isEmpty());
+    }
+
+    @Test
+    public void testKNearestMatchesBruteForce() {
+        Random random = new Random(7);
+        List<IPlatformHelper.Position> positions = new ArrayList<>();
+        for (int i = 0; i < 1500; i++) {
+            IPlatformHelper.Position pos = new IPlatformHelper.Position(
+                random.nextInt(600) - 300 + 0.5,
+                random.nextInt(384) - 64 + 0.5,
+                random.nextInt(600) - 300 + 0.5
+            );
+            if (!index.contains(BlockKey.of(pos))) {
+                positions.add(pos);
+            }
+            index.add(BlockKey.of(pos));
+        }
+
+        for (int query = 0; query < 40; query++) {
+            IPlatformHelper.Position center = new IPlatformHelper.Position(
+                random.nextDouble() * 800 - 400, random.nextDouble() * 300 - 40, random.nextDouble() * 800 - 400);
+            int k = 1 + random.nextInt(20);
+
+            List<Double> expected = new ArrayList<>();
+            for (IPlatformHelper.Position pos : positions) {
+                expected.add(center.distanceTo(pos));
+            }
+            expected.sort(null);
+
+            LongList nearest = index.kNearest(center, k);
+            assertEquals(k, nearest.size());
+            for (int i = 0; i < k; i++) {
+                assertEquals(expected.get(i), center.distanceTo(center(nearest.get(i))), 1e-9);
+            }
+            assertEquals(expected.get(0), center.distanceTo(center(index.nearest(center))), 1e-9);
+        }
+    }
+
+    @Test
+    public void testNearestFindsDistantSpawner() {
+        // Thousands of empty rings away: found without walking every one of them
+        long far = key(100000.5, 64.5, -80000.5);
+        long farther = key(-200000.5, 64.5, 0.5);
+        index.add(far);
+        index.add(farther);
+
+        LongList nearest = index.kNearest(new IPlatformHelper.Position(0, 64, 0), 3);
+        assertEquals(2, nearest.size());
+        assertEquals(far, nearest.get(0));
+        assertEquals(farther, nearest.get(1));
+    }
+
+    @Test
+    public void testNearestRespectsMaxDistance() {
+        long near = key(10.5, 64.5, 0.5);
+        index.add(near);
+        index.add(key(40.5, 64.5, 0.5));
+
+        assertEquals(BlockKey.NONE, index.nearest(0, 64, 0, 5));
+        assertEquals(near, index.nearest(0, 64, 0, 16));
+
+        LongList out = new LongList();
+        assertEquals(1, index.kNearest(0, 64, 0, 5, 20, out));
+        assertEquals(near, out.get(0));
+    }
+
+    @Test
+    public void testKNearestWithKLargerThanIndex() {
+        long a = key(0.5, 64.5, 0.5);
+        long b = key(-30.5, 64.5, 0.5);
+        long c = key(0.5, 10.5, 0.5);
+        index.add(a);
+        index.add(b);
+        index.add(c);
+
+        LongList nearest = index.kNearest(new IPlatformHelper.Position(0, 64, 0), Integer.MAX_VALUE);
+        assertEquals(3, nearest.size());
+        assertEquals(a, nearest.get(0));
+        assertEquals(b, nearest.get(1));
+        assertEquals(c, nearest.get(2));
+        assertTrue(index.kNearest(new IPlatformHelper.Position(0, 64, 0), 0).isEmpty());
+        assertThrows(IllegalArgumentException.class,
+            () -> index.kNearest(new IPlatformHelper.Position(0, 64, 0), -1));
+    }
+
+    @Test
+    public void testCopyOnWriteMatchesLockedIndex() {
+        SpatialIndex copyOnWrite = new SpatialIndex(true);
+        assertTrue(copyOnWrite.isCopyOnWrite());
+        assertFalse(index.isCopyOnWrite());
+
+        Random random = new Random(11);
+        long[] added = new long[500];
+        for (int i = 0; i < 500; i++) {
+            added[i] = key(random.nextInt(200) - 100 + 0.5, random.nextInt(128) + 0.5, random.nextInt(200) - 100 + 0.5);
+            index.add(added[i]);
+            copyOnWrite.add(added[i]);
+            if (i % 3 == 0) {
+                index.remove(added[i / 2]);
+                copyOnWrite.remove(added[i / 2]);
+            }
+        }
+
+        assertEquals(index.size(), copyOnWrite.size());
+        for (int query = 0; query < 20; query++) {
+            double x = random.nextInt(200) - 100;
+            double z = random.nextInt(200) - 100;
+            assertEquals(index.countNearby(x, 64, z, 48), copyOnWrite.countNearby(x, 64, z, 48));
+        }
+    }
+
+    @Test
+    public void testCopyOnWriteReadersKeepTheirVersion() {
+        SpatialIndex copyOnWrite = new SpatialIndex(true);
+        long first = key(1, 64, 1);
+        copyOnWrite.add(first);
+
+        // A write made while a query is walking the index does not show up in that query
+        LongList seen = new LongList();
+        copyOnWrite.forEachNearby(0, 64, 0, 16, (key, distanceSquared) -> {
+            seen.add(key);
+            copyOnWrite.add(key(2, 64, 2));
+        });
+
+        assertEquals(1, seen.size());
+        assertEquals(first, seen.get(0));
+        assertEquals(2, copyOnWrite.countNearby(0, 64, 0, 16));
+    }
+
+    @Test
+    public void testConcurrentReadersAndWriter() throws InterruptedException {
+        for (boolean copyOnWrite : new boolean[] {false, true}) {
+            SpatialIndex shared = new SpatialIndex(copyOnWrite);
+            AtomicBoolean failed = new AtomicBoolean();
+            AtomicBoolean done = new AtomicBoolean();
+
+            Thread writer = new Thread(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    long key = BlockKey.pack(i % 64, 64, i / 64);
+                    shared.add(key);
+                    if (i % 2 == 0) {
+                        shared.remove(key);
+                    }
+                }
+                done.set(true);
+            });
+            Thread reader = new Thread(() -> {
+                try {
+                    while (!done.get()) {
+                        int count = shared.countNearby(32, 64, 16, 64);
+                        if (count < 0 || count > 2000) {
+                            failed.set(true);
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    failed.set(true);
+                }
+            });
+
+            writer.start();
+            reader.start();
+            writer.join(10000);
+            reader.join(10000);
+
+            assertFalse(failed.get());
+            assertEquals(1000, shared.size());
+        }
+    }
+
+    private static boolean inView(IPlatformHelper.Position eye, IPlatformHelper.Position pos,
+                                  double lookX, double lookY, double lookZ, float sphereRadius, double maxDistance) {
+        return eye.distanceTo(pos) <= maxDistance
+            && FrustumCuller.isVisible(pos, sphereRadius, eye, lookX, lookY, lookZ, 90.0f);
+    }
+
+    private static boolean onRay(IPlatformHelper.Position origin, IPlatformHelper.Position pos,
+                                 double dirX, double dirY, double dirZ, double length, double sphereRadius) {
+        // Closest point of the segment to the sphere's center
+        double t = (pos.x - origin.x) * dirX + (pos.y - origin.y) * dirY + (pos.z - origin.z) * dirZ;
+        t = Math.max(0, Math.min(length, t));
+        IPlatformHelper.Position closest = new IPlatformHelper.Position(
+            origin.x + dirX * t, origin.y + dirY * t, origin.z + dirZ * t);
+        return closest.distanceTo(pos) <= sphereRadius;
+    }
+
+    @Test
+    public void testBackendsMatchBruteForce() {
+        Random random = new Random(5);
+        LongList spawners = new LongList();
+        LongHashSet distinct = new LongHashSet();
+        for (int i = 0; i < 1500; i++) {
+            // Half spread out, half packed into a single chunk column
+            boolean dense = i % 2 == 0;
+            long key = BlockKey.pack(
+                dense ? random.nextInt(16) : random.nextInt(400) - 200,
+                random.nextInt(384) - 64,
+                dense ? random.nextInt(16) : random.nextInt(400) - 200);
+            if (distinct.add(key)) {
+                spawners.add(key);
+            }
+        }
+        List<IPlatformHelper.Position> positions = new ArrayList<>();
+        for (int i = 0; i < spawners.size(); i++) {
+            positions.add(center(spawners.get(i)));
+        }
+
+        for (SpatialIndex.Backend backend : SpatialIndex.Backend.values()) {
+            SpatialIndex indexed = new SpatialIndex(backend, false);
+            assertEquals(backend, indexed.getBackend());
+            for (int i = 0; i < spawners.size(); i++) {
+                indexed.add(spawners.get(i));
+            }
+
+            for (int query = 0; query < 30; query++) {
+                IPlatformHelper.Position center = new IPlatformHelper.Position(
+                    random.nextDouble() * 300 - 150, random.nextDouble() * 300 - 40, random.nextDouble() * 300 - 150);
+                int radius = 8 + random.nextInt(80);
+                double lookX = random.nextDouble() - 0.5;
+                double lookY = random.nextDouble() - 0.5;
+                double lookZ = random.nextDouble() - 0.5;
+                double lookLength = Math.sqrt(lookX * lookX + lookY * lookY + lookZ * lookZ);
+                lookX /= lookLength;
+                lookY /= lookLength;
+                lookZ /= lookLength;
+
+                int nearby = 0;
+                int boxed = 0;
+                int visible = 0;
+                int hit = 0;
+                for (IPlatformHelper.Position pos : positions) {
+                    if (center.distanceTo(pos) <= radius) {
+                        nearby++;
+                    }
+                    if (Math.abs(pos.x - center.x) <= radius && Math.abs(pos.y - center.y) <= radius / 2.0
+                            && Math.abs(pos.z - center.z) <= radius) {
+                        boxed++;
+                    }
+                    if (inView(center, pos, lookX, lookY, lookZ, 16, radius)) {
+                        visible++;
+                    }
+                    if (onRay(center, pos, lookX, lookY, lookZ, 200, 4)) {
+                        hit++;
+                    }
+                }
+
+                LongList out = new LongList();
+                assertEquals(nearby, indexed.countNearby(center.x, center.y, center.z, radius), backend.name());
+                assertEquals(boxed, indexed.getWithinBox(center.x - radius, center.y - radius / 2.0, center.z - radius,
+                    center.x + radius, center.y + radius / 2.0, center.z + radius, out), backend.name());
+                out.clear();
+                assertEquals(visible, indexed.getInView(center, lookX, lookY, lookZ, 90.0f, 16, radius, out),
+                    backend.name());
+                out.clear();
+                assertEquals(hit, indexed.getAlongRay(center, lookX, lookY, lookZ, 200, 4, out), backend.name());
+
+                List<Double> expected = new ArrayList<>();
+                for (IPlatformHelper.Position pos : positions) {
+                    expected.add(center.distanceTo(pos));
+                }
+                expected.sort(null);
+                LongList nearest = indexed.kNearest(center, 10);
+                for (int i = 0; i < 10; i++) {
+                    assertEquals(expected.get(i), center.distanceTo(center(nearest.get(i))), 1e-9, backend.name());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testOctreeDenseColumnAddAndRemove() {
+        SpatialIndex octree = new SpatialIndex(SpatialIndex.Backend.OCTREE, false);
+        LongList spawners = new LongList();
+        for (int y = -64; y < 320; y += 2) {
+            for (int i = 0; i < 4; i++) {
+                long key = BlockKey.pack(i * 4, y, 8);
+                spawners.add(key);
+                octree.add(key);
+            }
+        }
+        assertEquals(spawners.size(), octree.size());
+        assertEquals(spawners.size(), octree.countNearby(8, 128, 8, 400));
+        assertEquals(4 * 8, octree.getWithinBox(0, 64, 0, 16, 79, 16, new LongList()));
+
+        // Removing everything collapses the tree back to empty
+        for (int i = 0; i < spawners.size(); i++) {
+            octree.remove(spawners.get(i));
+        }
+        assertEquals(0, octree.size());
+        assertEquals(0, octree.countNearby(8, 128, 8, 400));
+        assertEquals(BlockKey.NONE, octree.nearest(new IPlatformHelper.Position(8, 64, 8)));
+
+        // And it grows again from scratch, far away from where it started
+        long far = key(-500000.5, 10.5, 700000.5);
+        octree.add(far);
+        octree.add(key(3.5, 64.5, 3.5));
+        assertEquals(far, octree.nearest(new IPlatformHelper.Position(-500000, 10, 700000)));
+        assertEquals(1, octree.countNearby(0, 64, 0, 16));
+    }
+
+    @Test
+    public void testOctreeCopyOnWriteMatchesLockedIndex() {
+        SpatialIndex locked = new SpatialIndex(SpatialIndex.Backend.OCTREE, false);
+        SpatialIndex copyOnWrite = new SpatialIndex(SpatialIndex.Backend.OCTREE, true);
+
+        Random random = new Random(13);
+        long[] added = new long[800];
+        for (int i = 0; i < 800; i++) {
+            added[i] = BlockKey.pack(random.nextInt(64), random.nextInt(64), random.nextInt(64));
+            locked.add(added[i]);
+            copyOnWrite.add(added[i]);
+            if (i % 3 == 0) {
+                locked.remove(added[i / 2]);
+                copyOnWrite.remove(added[i / 2]);
+            }
+        }
+
+        assertEquals(locked.size(), copyOnWrite.size());
+        for (int query = 0; query < 20; query++) {
+            double x = random.nextInt(64);
+            double y = random.nextInt(64);
+            double z = random.nextInt(64);
+            assertEquals(locked.countNearby(x, y, z, 12), copyOnWrite.countNearby(x, y, z, 12));
+        }
+
+        // Readers keep the version they started on
+        LongList seen = new LongList();
+        copyOnWrite.forEachNearby(1.5, 1.5, 1.5, 2, (key, distanceSquared) -> seen.add(key));
+        int before = seen.size();
+        seen.clear();
+        copyOnWrite.forEachNearby(1.5, 1.5, 1.5, 2, (key, distanceSquared) -> {
+            seen.add(key);
+            copyOnWrite.add(BlockKey.pack(seen.size() % 2, 1, 1));
+            copyOnWrite.add(BlockKey.pack(1, seen.size() % 2, 2));
+        });
+        assertEquals(before, seen.size());
+    }
+
+    @Test
+    public void testAddAllMatchesSingleAdds() {
+        Random random = new Random(17);
+        LongList batch = new LongList();
+        for (int i = 0; i < 400; i++) {
+            batch.add(BlockKey.pack(random.nextInt(200) - 100, random.nextInt(128), random.nextInt(200) - 100));
+        }
+        LongHashSet distinct = new LongHashSet();
+        for (int i = 0; i < batch.size(); i++) {
+            distinct.add(batch.get(i));
+        }
+        LongList rest = new LongList();
+        for (int i = 1; i < batch.size(); i++) {
+            rest.add(batch.get(i));
+        }
+
+        for (SpatialIndex.Backend backend : SpatialIndex.Backend.values()) {
+            for (boolean copyOnWrite : new boolean[] {false, true}) {
+                SpatialIndex bulk = new SpatialIndex(backend, copyOnWrite);
+                SpatialIndex single = new SpatialIndex(backend, copyOnWrite);
+                bulk.add(batch.get(0));
+                bulk.addAll(rest);
+                for (int i = 0; i < batch.size(); i++) {
+                    single.add(batch.get(i));
+                }
+                assertEquals(distinct.size(), bulk.size(), backend.name());
+                assertEquals(single.size(), bulk.size(), backend.name());
+
+                for (int query = 0; query < 10; query++) {
+                    double x = random.nextInt(200) - 100;
+                    double z = random.nextInt(200) - 100;
+                    assertEquals(single.countNearby(x, 64, z, 40), bulk.countNearby(x, 64, z, 40), backend.name());
+                }
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> index.addAll(null));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void testAddIsIdempotent() {
+        long spawner = key(8.5, 64.5, 8.5);
+        long other = key(9.5, 64.5, 8.5);
+        for (SpatialIndex.Backend backend : SpatialIndex.Backend.values()) {
+            for (boolean copyOnWrite : new boolean[] {false, true}) {
+                SpatialIndex keyed = new SpatialIndex(backend, copyOnWrite);
+                keyed.add(spawner);
+                keyed.add(spawner);
+                keyed.addAll(keys(spawner, other, other));
+                assertEquals(2, keyed.size(), backend.name());
+                assertEquals(2, keyed.countNearby(8, 64, 8, 4), backend.name());
+
+                keyed.remove(spawner);
+                keyed.remove(spawner);
+                assertEquals(1, keyed.size(), backend.name());
+                assertEquals(other, keyed.nearest(center(spawner)), backend.name());
+            }
+        }
+    }
+
+    @Test
+    public void testRemoveAllMatchesSingleRemoves() {
+        // Many spawners per section, so grid cells switch to keyed lookup
+        Random random = new Random(23);
+        LongList all = new LongList();
+        LongHashSet distinct = new LongHashSet();
+        while (all.size() < 500) {
+            long key = BlockKey.pack(random.nextInt(48), random.nextInt(48), random.nextInt(48));
+            if (distinct.add(key)) {
+                all.add(key);
+            }
+        }
+        LongList gone = new LongList();
+        for (int i = 0; i < all.size(); i += 3) {
+            gone.add(all.get(i));
+        }
+        gone.add(all.get(0)); // Listed twice
+        gone.add(BlockKey.pack(1, 200, 1)); // Nothing there
+
+        for (SpatialIndex.Backend backend : SpatialIndex.Backend.values()) {
+            for (boolean copyOnWrite : new boolean[] {false, true}) {
+                SpatialIndex bulk = new SpatialIndex(backend, copyOnWrite);
+                SpatialIndex single = new SpatialIndex(backend, copyOnWrite);
+                bulk.addAll(all);
+                single.addAll(all);
+                bulk.removeAll(gone);
+                for (int i = 0; i < gone.size(); i++) {
+                    single.remove(gone.get(i));
+                }
+
+                assertEquals(all.size() - gone.size() + 2, bulk.size(), backend.name());
+                assertEquals(single.size(), bulk.size(), backend.name());
+                for (int query = 0; query < 10; query++) {
+                    double x = random.nextInt(48);
+                    double y = random.nextInt(48);
+                    double z = random.nextInt(48);
+                    assertEquals(single.countNearby(x, y, z, 10), bulk.countNearby(x, y, z, 10), backend.name());
+                }
+                assertFalse(bulk.contains(all.get(0)), backend.name());
+                assertTrue(bulk.getNearby(center(all.get(0)), 0).isEmpty(), backend.name());
+                assertTrue(bulk.contains(all.get(1)), backend.name());
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> index.removeAll(null));
+    }
+
+    @Test
+    public void testRegionQueriesRejectBadArguments() {
+        LongList out = new LongList();
+        assertThrows(IllegalArgumentException.class, () -> index.getWithinBox(1, 0, 0, 0, 1, 1, out));
+        assertThrows(IllegalArgumentException.class,
+            () -> index.getInView(new IPlatformHelper.Position(0, 0, 0), 0, 0, 1, 90.0f, 16, Double.POSITIVE_INFINITY, out));
+        assertThrows(IllegalArgumentException.class,
+            () -> index.getAlongRay(new IPlatformHelper.Position(0, 0, 0), 0, 0, 1, -1, 4, out));
+        assertThrows(IllegalArgumentException.class,
+            () -> new SpatialIndex(null, false));
     }
 }
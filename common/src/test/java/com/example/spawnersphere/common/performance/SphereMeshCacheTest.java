@@ -0,0 +1,58 @@
+package com.example.spawnersphere.common.performance;
+
+import com.example.spawnersphere.common.performance.SphereMeshCache.Layout;
+import com.example.spawnersphere.common.performance.SphereMeshCache.Mesh;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SphereMeshCache
+ */
+public class SphereMeshCacheTest {
+
+    @Test
+    public void testMeshIsBuiltOncePerSegmentCount() {
+        Mesh mesh = SphereMeshCache.get(Layout.STANDARD, 24);
+        assertSame(mesh, SphereMeshCache.get(Layout.STANDARD, 24));
+        assertNotSame(mesh, SphereMeshCache.get(Layout.STANDARD, 16));
+        assertNotSame(mesh, SphereMeshCache.get(Layout.DENSE, 24));
+    }
+
+    @Test
+    public void testCircleCounts() {
+        // 4 latitudes, 6 longitudes and the equator; 2 vertices per segment
+        assertEquals(11 * 24 * 2, SphereMeshCache.get(Layout.STANDARD, 24).vertexCount());
+        // 14 latitudes, 8 longitudes and the equator
+        assertEquals(23 * 32 * 2, SphereMeshCache.get(Layout.DENSE, 32).vertexCount());
+    }
+
+    @Test
+    public void testVerticesLieOnUnitSphere() {
+        for (Layout layout : Layout.values()) {
+            float[] lines = SphereMeshCache.get(layout, 20).lines;
+            for (int i = 0; i < lines.length; i += 3) {
+                double length = Math.sqrt(lines[i] * lines[i] + lines[i + 1] * lines[i + 1] + lines[i + 2] * lines[i + 2]);
+                assertEquals(1.0, length, 1e-5);
+            }
+        }
+    }
+
+    @Test
+    public void testEquatorComesLast() {
+        Mesh mesh = SphereMeshCache.get(Layout.DENSE, 12);
+        assertEquals(12 * 2 * 3, mesh.lines.length - mesh.equatorOffset);
+        for (int i = mesh.equatorOffset; i < mesh.lines.length; i += 3) {
+            assertEquals(0.0f, mesh.lines[i + 1]);
+        }
+        // Segments join up into a closed circle
+        assertEquals(mesh.lines[mesh.equatorOffset], mesh.lines[mesh.lines.length - 3], 1e-6);
+    }
+
+    @Test
+    public void testSegmentBounds() {
+        assertThrows(IllegalArgumentException.class, () -> SphereMeshCache.get(Layout.STANDARD, 2));
+        assertThrows(IllegalArgumentException.class, () -> SphereMeshCache.get(null, 24));
+        assertEquals(100 * 11 * 2, SphereMeshCache.get(Layout.STANDARD, 100).vertexCount());
+    }
+}
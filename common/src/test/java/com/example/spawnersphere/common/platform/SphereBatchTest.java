@@ -0,0 +1,86 @@
+package com.example.spawnersphere.common.platform;
+
+import com.example.spawnersphere.common.platform.IRenderer.SphereColor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for SphereBatch storage and frame-to-frame change detection
+ */
+public class SphereBatchTest {
+
+    private static final SphereColor RED = new SphereColor(1.0f, 0.0f, 0.0f, 0.5f);
+    private static final SphereColor GREEN = new SphereColor(0.0f, 1.0f, 0.0f, 0.5f);
+
+    private SphereBatch batch;
+
+    @BeforeEach
+    public void setUp() {
+        batch = new SphereBatch();
+    }
+
+    private void frame(int count, SphereColor color, int segments) {
+        batch.clear();
+        for (int i = 0; i < count; i++) {
+            batch.add(i + 0.5, 64.5, -i - 0.5, 16.0f, color, segments);
+        }
+        batch.finish();
+    }
+
+    @Test
+    public void testStoresSpheresThroughGrowth() {
+        frame(100, RED, 24);
+
+        assertEquals(100, batch.size());
+        assertEquals(99.5, batch.x(99));
+        assertEquals(64.5, batch.y(99));
+        assertEquals(-99.5, batch.z(99));
+        assertEquals(16.0f, batch.radius(99));
+        assertEquals(24, batch.segments(99));
+        assertEquals(0.5f, batch.alpha(99));
+    }
+
+    @Test
+    public void testColorIsReusedWhileItMatches() {
+        batch.add(0, 0, 0, 1.0f, RED, 16);
+        batch.add(1, 0, 0, 1.0f, RED, 16);
+        batch.add(2, 0, 0, 1.0f, GREEN, 16);
+
+        SphereColor first = batch.color(0, null);
+        assertSame(first, batch.color(1, first));
+        SphereColor third = batch.color(2, first);
+        assertNotSame(first, third);
+        assertEquals(1.0f, third.green);
+    }
+
+    @Test
+    public void testVersionOnlyChangesWithContent() {
+        frame(5, RED, 24);
+        long version = batch.version();
+
+        frame(5, RED, 24);
+        assertEquals(version, batch.version());
+
+        frame(5, GREEN, 24);
+        assertNotEquals(version, batch.version());
+        version = batch.version();
+
+        frame(5, GREEN, 16); // LOD change
+        assertNotEquals(version, batch.version());
+        version = batch.version();
+
+        frame(4, GREEN, 16); // Spawner gone
+        assertNotEquals(version, batch.version());
+        version = batch.version();
+
+        frame(5, GREEN, 16); // Back again
+        assertNotEquals(version, batch.version());
+    }
+
+    @Test
+    public void testNullColor() {
+        assertThrows(IllegalArgumentException.class, () -> batch.add(0, 0, 0, 1.0f, null, 16));
+    }
+}
@@ -0,0 +1,363 @@
+package com.example.spawnersphere.common.scan;
+
+import com.example.spawnersphere.common.performance.LongList;
+import com.example.spawnersphere.common.platform.IPlatformHelper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for AsyncScanEngine, the snapshot/scan split and parallel section scans
+ */
+public class AsyncScanEngineTest {
+
+    private BlockingPlatformHelper platformHelper;
+    private AsyncScanEngine engine;
+    private List<Long> completedGenerations;
+    private List<Integer> completedCounts;
+
+    @BeforeEach
+    public void setUp() {
+        platformHelper = new BlockingPlatformHelper();
+        engine = new AsyncScanEngine(platformHelper);
+        completedGenerations = new CopyOnWriteArrayList<>();
+        completedCounts = new CopyOnWriteArrayList<>();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        engine.shutdown();
+    }
+
+    private ScanSnapshot captureAround(int x) {
+        ScanArea area = new ScanArea(x, 64, 0, 32, true);
+        return ScanSnapshot.capture(platformHelper, new Object(), area, null);
+    }
+
+    /**
+     * Capture for a section scan, which reads its snapshots on the worker
+     */
+    private ScanSnapshot captureSectionsAround(int x) {
+        ScanArea area = new ScanArea(x, 64, 0, 32, false);
+        return ScanSnapshot.capture(platformHelper, new Object(), area, null);
+    }
+
+    private void record(long generation, ScanSnapshot snapshot, LongList found) {
+        completedCounts.add(found.size());
+        completedGenerations.add(generation);
+    }
+
+    @Test
+    public void testInlineScanCompletesImmediately() {
+        long generation = engine.submit(captureAround(0), false, this::record);
+
+        assertEquals(1, completedGenerations.size());
+        assertEquals(generation, (long) completedGenerations.get(0));
+        assertEquals(BlockingPlatformHelper.SPAWNERS_PER_CHUNK, (int) completedCounts.get(0));
+        assertTrue(engine.isCurrent(generation));
+    }
+
+    @Test
+    public void testAsyncScanCompletesOnWorker() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        engine.submit(captureAround(0), true, (generation, snapshot, found) -> done.countDown());
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testNewerScanCancelsRunningScan() throws InterruptedException {
+        platformHelper.block = true;
+        engine.submit(captureSectionsAround(0), true, this::record);
+        assertTrue(platformHelper.entered.await(5, TimeUnit.SECONDS));
+
+        // Supersede while the first scan is stuck mid-way, then let it continue
+        platformHelper.block = false;
+        CountDownLatch done = new CountDownLatch(1);
+        long newer = engine.submit(captureAround(0), true, (generation, snapshot, found) -> {
+            record(generation, snapshot, found);
+            done.countDown();
+        });
+        platformHelper.release.countDown();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(1, completedGenerations.size());
+        assertEquals(newer, (long) completedGenerations.get(0));
+    }
+
+    @Test
+    public void testCancelInvalidatesGeneration() {
+        long generation = engine.submit(captureAround(0), false, this::record);
+        engine.cancel();
+        assertFalse(engine.isCurrent(generation));
+    }
+
+    @Test
+    public void testEngineRestartsAfterShutdown() throws InterruptedException {
+        engine.shutdown();
+
+        CountDownLatch done = new CountDownLatch(1);
+        engine.submit(captureAround(0), true, (generation, snapshot, found) -> done.countDown());
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testScanThreadChangeDuringScan() throws InterruptedException {
+        GridPlatformHelper grid = new GridPlatformHelper();
+        AsyncScanEngine parallelEngine = new AsyncScanEngine(grid);
+        parallelEngine.setScanThreads(4);
+        try {
+            ScanSnapshot snapshot = ScanSnapshot.capture(grid, new Object(), new ScanArea(0, 64, 0, 48, false), null);
+            grid.block = true;
+            CountDownLatch done = new CountDownLatch(1);
+            parallelEngine.submit(snapshot, true, (generation, captured, found) -> {
+                record(generation, captured, found);
+                done.countDown();
+            });
+            assertTrue(grid.entered.await(5, TimeUnit.SECONDS));
+
+            // Resizing mid-scan must leave the pool the running scan uses working
+            parallelEngine.setScanThreads(2);
+            grid.release.countDown();
+
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            grid.block = false;
+            assertEquals(snapshot.scan(grid, () -> false).size(), (int) completedCounts.get(0));
+        } finally {
+            parallelEngine.shutdown();
+        }
+    }
+
+    private static Set<Long> positions(LongList found) {
+        Set<Long> positions = new HashSet<>();
+        for (int i = 0; i < found.size(); i++) {
+            positions.add(found.get(i));
+        }
+        return positions;
+    }
+
+    @Test
+    public void testParallelScanMatchesSequentialScan() {
+        GridPlatformHelper grid = new GridPlatformHelper();
+        ScanSnapshot snapshot = ScanSnapshot.capture(grid, new Object(), new ScanArea(3, 64, -5, 48, false), null);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            LongList sequential = snapshot.scan(grid, () -> false);
+            LongList parallel = snapshot.scan(grid, () -> false, pool, 4);
+
+            assertFalse(sequential.isEmpty());
+            assertEquals(sequential.size(), parallel.size());
+            assertEquals(positions(sequential), positions(parallel));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testParallelScanStopsWhenCancelled() {
+        GridPlatformHelper grid = new GridPlatformHelper();
+        ScanSnapshot snapshot = ScanSnapshot.capture(grid, new Object(), new ScanArea(0, 64, 0, 48, false), null);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertNull(snapshot.scan(grid, () -> true, pool, 4));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testEngineFansOutAcrossScanThreads() {
+        GridPlatformHelper grid = new GridPlatformHelper();
+        AsyncScanEngine parallelEngine = new AsyncScanEngine(grid);
+        parallelEngine.setScanThreads(4);
+        try {
+            ScanSnapshot snapshot = ScanSnapshot.capture(grid, new Object(), new ScanArea(0, 64, 0, 48, false), null);
+            parallelEngine.submit(snapshot, false, this::record);
+
+            assertEquals(1, completedCounts.size());
+            assertEquals(snapshot.scan(grid, () -> false).size(), (int) completedCounts.get(0));
+            assertTrue(grid.scanThreads.size() > 1);
+        } finally {
+            parallelEngine.shutdown();
+        }
+    }
+
+    /**
+     * Places spawners on a sparse lattice; records which threads turn section hits into entries
+     * and can park them on demand
+     */
+    private static class GridPlatformHelper implements IPlatformHelper {
+        final Set<String> scanThreads = ConcurrentHashMap.newKeySet();
+        volatile boolean block;
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public Platform getPlatform() {
+            return Platform.FABRIC;
+        }
+
+        @Override
+        public boolean isSpawner(Object world, Object blockPos) {
+            int[] pos = (int[]) blockPos;
+            return Math.floorMod(pos[0], 5) == 0 && Math.floorMod(pos[1], 4) == 0 && Math.floorMod(pos[2], 6) == 0;
+        }
+
+        @Override
+        public Position getPlayerPosition(Object player) {
+            return new Position(0, 64, 0);
+        }
+
+        @Override
+        public boolean supportsSectionSnapshots() {
+            return true;
+        }
+
+        @Override
+        public SectionSnapshot snapshotSection(Object world, final int sectionX, final int sectionY, final int sectionZ) {
+            // Read back on the scan worker, so hits are where a worker turns sections into keys
+            return (localX, localY, localZ) -> {
+                int[] pos = {(sectionX << 4) + localX, (sectionY << 4) + localY, (sectionZ << 4) + localZ};
+                if (!isSpawner(null, pos)) {
+                    return false;
+                }
+                scanThreads.add(Thread.currentThread().getName());
+                if (block) {
+                    entered.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return true;
+            };
+        }
+
+        @Override
+        public Object createBlockPos(int x, int y, int z) {
+            return new int[] {x, y, z};
+        }
+
+        @Override
+        public Position getBlockCenter(Object blockPos) {
+            int[] pos = (int[]) blockPos;
+            return new Position(pos[0] + 0.5, pos[1] + 0.5, pos[2] + 0.5);
+        }
+
+        @Override
+        public double calculateDistance(Position pos1, Position pos2) {
+            return pos1.distanceTo(pos2);
+        }
+
+        @Override
+        public void sendMessage(Object player, String message, boolean actionBar) {
+        }
+
+        @Override
+        public LookVector getPlayerLookVector(Object player) {
+            return new LookVector(0, 0, 1);
+        }
+    }
+
+    /**
+     * Reports a few spawners in the chunk at the origin, as block entities or as a section
+     * snapshot; can park the scan worker on demand
+     */
+    private static class BlockingPlatformHelper implements IPlatformHelper {
+        static final int SPAWNERS_PER_CHUNK = 3;
+
+        volatile boolean block;
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public Platform getPlatform() {
+            return Platform.FABRIC;
+        }
+
+        @Override
+        public boolean isSpawner(Object world, Object blockPos) {
+            return false;
+        }
+
+        @Override
+        public boolean supportsBlockEntityScan() {
+            return true;
+        }
+
+        @Override
+        public void collectSpawnerBlockEntities(Object world, int chunkX, int chunkZ, List<Object> out) {
+            if (chunkX == 0 && chunkZ == 0) {
+                for (int i = 0; i < SPAWNERS_PER_CHUNK; i++) {
+                    out.add(new int[] {i, 64, 0});
+                }
+            }
+        }
+
+        @Override
+        public Position getPlayerPosition(Object player) {
+            return new Position(0, 64, 0);
+        }
+
+        @Override
+        public Object createBlockPos(int x, int y, int z) {
+            return new int[] {x, y, z};
+        }
+
+        @Override
+        public boolean supportsSectionSnapshots() {
+            return true;
+        }
+
+        @Override
+        public SectionSnapshot snapshotSection(Object world, int sectionX, int sectionY, int sectionZ) {
+            if (sectionX != 0 || sectionY != 4 || sectionZ != 0) {
+                return null;
+            }
+            // Read on the scan worker; parks it on the first block it checks
+            return (localX, localY, localZ) -> {
+                if (block) {
+                    entered.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return localY == 0 && localZ == 0 && localX < SPAWNERS_PER_CHUNK;
+            };
+        }
+
+        @Override
+        public Position getBlockCenter(Object blockPos) {
+            int[] pos = (int[]) blockPos;
+            return new Position(pos[0] + 0.5, pos[1] + 0.5, pos[2] + 0.5);
+        }
+
+        @Override
+        public double calculateDistance(Position pos1, Position pos2) {
+            return pos1.distanceTo(pos2);
+        }
+
+        @Override
+        public void sendMessage(Object player, String message, boolean actionBar) {
+        }
+
+        @Override
+        public LookVector getPlayerLookVector(Object player) {
+            return new LookVector(0, 0, 1);
+        }
+    }
+}
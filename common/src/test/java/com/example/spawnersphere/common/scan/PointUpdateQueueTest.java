@@ -0,0 +1,81 @@
+package com.example.spawnersphere.common.scan;
+
+import com.example.spawnersphere.common.data.BlockKey;
+import com.example.spawnersphere.common.performance.LongList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for PointUpdateQueue coalescing and debouncing
+ */
+public class PointUpdateQueueTest {
+
+    private static final long A = BlockKey.pack(1, 64, 1);
+    private static final long B = BlockKey.pack(-1, 64, 1);
+    private static final long C = BlockKey.pack(1, 65, 1);
+
+    private PointUpdateQueue queue;
+
+    @BeforeEach
+    public void setUp() {
+        queue = new PointUpdateQueue();
+    }
+
+    @Test
+    public void testEmptyQueueIsNeverReady() {
+        assertFalse(queue.isReady(System.currentTimeMillis() + 100000, 0));
+    }
+
+    @Test
+    public void testLatestEventPerPositionWins() {
+        queue.blockChanged(A, true);
+        queue.blockChanged(A, false);
+        queue.blockChanged(B, true);
+
+        LongList added = new LongList();
+        LongList removed = new LongList();
+        queue.drainBlocks(added, removed);
+
+        assertEquals(1, added.size());
+        assertEquals(B, added.get(0));
+        assertEquals(1, removed.size());
+        assertEquals(A, removed.get(0));
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void testChunkEventsCoalesce() {
+        queue.chunkChanged(3, -7, false);
+        queue.chunkChanged(3, -7, true);
+
+        LongList loaded = new LongList();
+        LongList unloaded = new LongList();
+        queue.drainChunks(loaded, unloaded);
+
+        assertEquals(1, loaded.size());
+        assertTrue(unloaded.isEmpty());
+        assertEquals(3, PointUpdateQueue.chunkX(loaded.get(0)));
+        assertEquals(-7, PointUpdateQueue.chunkZ(loaded.get(0)));
+    }
+
+    @Test
+    public void testReadyOnceBurstSettles() {
+        queue.blockChanged(A, true);
+        long now = System.currentTimeMillis();
+
+        assertFalse(queue.isReady(now, 1000));
+        assertTrue(queue.isReady(now + 1000, 1000));
+    }
+
+    @Test
+    public void testIsAddPending() {
+        queue.blockChanged(A, true);
+        queue.blockChanged(B, false);
+
+        assertTrue(queue.isAddPending(A));
+        assertFalse(queue.isAddPending(B));
+        assertFalse(queue.isAddPending(C));
+    }
+}
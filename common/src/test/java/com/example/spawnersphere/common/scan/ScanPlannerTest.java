@@ -0,0 +1,247 @@
+package com.example.spawnersphere.common.scan;
+
+import com.example.spawnersphere.common.data.BlockKey;
+import com.example.spawnersphere.common.performance.LongList;
+import com.example.spawnersphere.common.platform.IPlatformHelper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ScanPlanner section selection and the per-column spans of PlannedSection
+ */
+public class ScanPlannerTest {
+
+    private WorldPlatformHelper platformHelper;
+
+    @BeforeEach
+    public void setUp() {
+        platformHelper = new WorldPlatformHelper();
+    }
+
+    private static List<Integer> pos(int x, int y, int z) {
+        List<Integer> pos = new ArrayList<>();
+        pos.add(x);
+        pos.add(y);
+        pos.add(z);
+        return pos;
+    }
+
+    /**
+     * Count the blocks the plan covers, checking each one against the sphere and build limits
+     */
+    private static int countPlannedBlocks(List<PlannedSection> sections, ScanArea area, int minY, int maxY) {
+        int blocks = 0;
+        for (PlannedSection section : sections) {
+            for (int localX = 0; localX < 16; localX++) {
+                for (int localZ = 0; localZ < 16; localZ++) {
+                    for (int localY = 0; localY < 16; localY++) {
+                        int x = (section.sectionX << 4) + localX;
+                        int y = (section.sectionY << 4) + localY;
+                        int z = (section.sectionZ << 4) + localZ;
+                        boolean expected = area.contains(x, y, z) && y >= minY && y <= maxY;
+                        boolean planned = localY >= section.minLocalY(localX, localZ)
+                            && localY <= section.maxLocalY(localX, localZ);
+                        assertEquals(expected, planned, "block " + x + "," + y + "," + z);
+                        if (planned) {
+                            blocks++;
+                        }
+                    }
+                }
+            }
+        }
+        return blocks;
+    }
+
+    private static int countSphereBlocks(ScanArea area, int minY, int maxY) {
+        int blocks = 0;
+        for (int x = area.centerX - area.radius; x <= area.centerX + area.radius; x++) {
+            for (int y = Math.max(area.centerY - area.radius, minY); y <= Math.min(area.centerY + area.radius, maxY); y++) {
+                for (int z = area.centerZ - area.radius; z <= area.centerZ + area.radius; z++) {
+                    if (area.contains(x, y, z)) {
+                        blocks++;
+                    }
+                }
+            }
+        }
+        return blocks;
+    }
+
+    @Test
+    public void testSpansMatchSphere() {
+        ScanArea area = new ScanArea(5, 70, -3, 20, false);
+        List<PlannedSection> sections = new ScanPlanner(platformHelper, null, area, null).planSections();
+
+        int planned = countPlannedBlocks(sections, area, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        assertEquals(countSphereBlocks(area, Integer.MIN_VALUE, Integer.MAX_VALUE), planned);
+    }
+
+    @Test
+    public void testInnerSectionsArePlannedFull() {
+        ScanArea area = new ScanArea(8, 72, 8, 48, false);
+        List<PlannedSection> sections = new ScanPlanner(platformHelper, null, area, null).planSections();
+
+        boolean centerFound = false;
+        for (PlannedSection section : sections) {
+            if (section.sectionX == 0 && section.sectionY == 4 && section.sectionZ == 0) {
+                centerFound = true;
+                assertTrue(section.isFull());
+            }
+        }
+        assertTrue(centerFound);
+    }
+
+    @Test
+    public void testBuildLimitsClipPlan() {
+        platformHelper.minBuildHeight = 0;
+        platformHelper.maxBuildHeight = 256;
+        ScanArea low = new ScanArea(0, 5, 0, 24, false);
+        ScanArea high = new ScanArea(0, 250, 0, 24, false);
+
+        List<PlannedSection> lowSections = new ScanPlanner(platformHelper, null, low, null).planSections();
+        List<PlannedSection> highSections = new ScanPlanner(platformHelper, null, high, null).planSections();
+
+        for (PlannedSection section : lowSections) {
+            assertTrue(section.sectionY >= 0);
+        }
+        for (PlannedSection section : highSections) {
+            assertTrue(section.sectionY < 16);
+        }
+        assertEquals(countSphereBlocks(low, 0, 255), countPlannedBlocks(lowSections, low, 0, 255));
+        assertEquals(countSphereBlocks(high, 0, 255), countPlannedBlocks(highSections, high, 0, 255));
+    }
+
+    @Test
+    public void testSphereOutsideBuildLimitsPlansNothing() {
+        platformHelper.minBuildHeight = 0;
+        platformHelper.maxBuildHeight = 256;
+        ScanArea area = new ScanArea(0, -100, 0, 24, false);
+
+        ScanPlanner planner = new ScanPlanner(platformHelper, null, area, null);
+        assertTrue(planner.planSections().isEmpty());
+        assertTrue(planner.planColumns().isEmpty());
+    }
+
+    @Test
+    public void testSkipsUnloadedChunks() {
+        platformHelper.unloadedChunks.add(PointUpdateQueue.chunkKey(0, 0));
+        ScanArea area = new ScanArea(8, 64, 8, 20, false);
+
+        ScanPlanner planner = new ScanPlanner(platformHelper, null, area, null);
+        for (PlannedSection section : planner.planSections()) {
+            assertFalse(section.sectionX == 0 && section.sectionZ == 0);
+        }
+        assertFalse(planner.planColumns().contains(PointUpdateQueue.chunkKey(0, 0)));
+        assertTrue(planner.planColumns().contains(PointUpdateQueue.chunkKey(1, 0)));
+    }
+
+    @Test
+    public void testSkipsSectionsAlreadyCovered() {
+        ScanArea area = new ScanArea(8, 64, 8, 40, false);
+        platformHelper.spawners.add(pos(10, 60, 10));
+
+        int fullPlan = new ScanPlanner(platformHelper, null, area, null).planSections().size();
+        List<PlannedSection> sections = new ScanPlanner(platformHelper, null, area, area).planSections();
+        for (PlannedSection section : sections) {
+            // Sections wholly inside the previous scan are never planned again
+            assertFalse(area.coversSection(section.sectionX, section.sectionY, section.sectionZ));
+        }
+        assertTrue(sections.size() < fullPlan);
+        assertTrue(ScanSnapshot.capture(platformHelper, null, area, area).scan(platformHelper, () -> false).isEmpty());
+    }
+
+    @Test
+    public void testCaptureReadsOnlyPlannedBlocks() {
+        platformHelper.minBuildHeight = 0;
+        platformHelper.maxBuildHeight = 256;
+        platformHelper.spawners.add(pos(2, 3, 2));
+        platformHelper.spawners.add(pos(2, -3, 2)); // Below the build limit
+        platformHelper.spawners.add(pos(30, 3, 2)); // Outside the sphere
+        ScanArea area = new ScanArea(0, 4, 0, 16, false);
+
+        LongList found = ScanSnapshot.capture(platformHelper, null, area, null).scan(platformHelper, () -> false);
+
+        assertNotNull(found);
+        assertEquals(1, found.size());
+        assertEquals(BlockKey.pack(2, 3, 2), found.get(0));
+        for (List<Integer> read : platformHelper.reads) {
+            assertTrue(area.contains(read.get(0), read.get(1), read.get(2)));
+            assertTrue(read.get(1) >= 0);
+        }
+    }
+
+    /**
+     * Answers spawner, chunk-loaded and build height queries from in-memory state; positions are [x, y, z] lists
+     */
+    private static class WorldPlatformHelper implements IPlatformHelper {
+        final Set<Object> spawners = new HashSet<>();
+        final Set<Long> unloadedChunks = new HashSet<>();
+        final List<List<Integer>> reads = new ArrayList<>();
+        int minBuildHeight = Integer.MIN_VALUE;
+        int maxBuildHeight = Integer.MAX_VALUE;
+
+        @Override
+        public Platform getPlatform() {
+            return Platform.FABRIC;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean isSpawner(Object world, Object blockPos) {
+            reads.add((List<Integer>) blockPos);
+            return spawners.contains(blockPos);
+        }
+
+        @Override
+        public boolean isChunkLoaded(Object world, int chunkX, int chunkZ) {
+            return !unloadedChunks.contains(PointUpdateQueue.chunkKey(chunkX, chunkZ));
+        }
+
+        @Override
+        public int getMinBuildHeight(Object world) {
+            return minBuildHeight;
+        }
+
+        @Override
+        public int getMaxBuildHeight(Object world) {
+            return maxBuildHeight;
+        }
+
+        @Override
+        public Position getPlayerPosition(Object player) {
+            return new Position(0, 64, 0);
+        }
+
+        @Override
+        public Object createBlockPos(int x, int y, int z) {
+            return pos(x, y, z);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Position getBlockCenter(Object blockPos) {
+            List<Integer> pos = (List<Integer>) blockPos;
+            return new Position(pos.get(0) + 0.5, pos.get(1) + 0.5, pos.get(2) + 0.5);
+        }
+
+        @Override
+        public double calculateDistance(Position pos1, Position pos2) {
+            return pos1.distanceTo(pos2);
+        }
+
+        @Override
+        public void sendMessage(Object player, String message, boolean actionBar) {
+        }
+
+        @Override
+        public LookVector getPlayerLookVector(Object player) {
+            return new LookVector(0, 0, 1);
+        }
+    }
+}
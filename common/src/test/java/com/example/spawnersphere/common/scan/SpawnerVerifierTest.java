@@ -0,0 +1,221 @@
+package com.example.spawnersphere.common.scan;
+
+import com.example.spawnersphere.common.data.BlockKey;
+import com.example.spawnersphere.common.data.SpawnerStore;
+import com.example.spawnersphere.common.performance.LongList;
+import com.example.spawnersphere.common.platform.IPlatformHelper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for SpawnerVerifier budgeting, prioritization and coverage reporting
+ */
+public class SpawnerVerifierTest {
+
+    private WorldPlatformHelper platformHelper;
+    private SpawnerVerifier verifier;
+    private SpawnerStore tracked;
+    private LongList invalid;
+
+    @BeforeEach
+    public void setUp() {
+        platformHelper = new WorldPlatformHelper();
+        verifier = new SpawnerVerifier();
+        tracked = new SpawnerStore();
+        invalid = new LongList();
+    }
+
+    private void track(int x, int y, int z) {
+        tracked.add(BlockKey.pack(x, y, z));
+        platformHelper.spawners.add(pos(x, y, z));
+    }
+
+    private static List<Integer> pos(int x, int y, int z) {
+        List<Integer> pos = new ArrayList<>();
+        pos.add(x);
+        pos.add(y);
+        pos.add(z);
+        return pos;
+    }
+
+    @Test
+    public void testChecksAtMostBudgetPerCall() {
+        for (int i = 0; i < 100; i++) {
+            track(i, 64, 0);
+        }
+
+        verifier.verify(platformHelper, null, tracked, 10, invalid);
+        assertEquals(10, platformHelper.isSpawnerCalls);
+    }
+
+    @Test
+    public void testReportsCoverageOncePassCompletes() {
+        for (int i = 0; i < 100; i++) {
+            track(i, 64, 0);
+        }
+        assertEquals(-1, verifier.getLastCoverageTicks());
+
+        for (int tick = 0; tick < 10; tick++) {
+            verifier.verify(platformHelper, null, tracked, 10, invalid);
+        }
+
+        assertEquals(10, verifier.getLastCoverageTicks());
+        assertTrue(verifier.getLastCoverageMillis() >= 0);
+        assertEquals(100, platformHelper.isSpawnerCalls);
+    }
+
+    @Test
+    public void testFindsRemovedSpawners() {
+        track(1, 64, 1);
+        track(40, 64, 40);
+        platformHelper.spawners.remove(pos(40, 64, 40));
+
+        verifier.verify(platformHelper, null, tracked, 32, invalid);
+
+        assertEquals(1, invalid.size());
+        assertEquals(BlockKey.pack(40, 64, 40), invalid.get(0));
+    }
+
+    @Test
+    public void testChangedChunkIsVerifiedFirst() {
+        for (int chunk = 0; chunk < 20; chunk++) {
+            track(chunk * 16, 64, 0);
+        }
+        platformHelper.spawners.remove(pos(19 * 16, 64, 0));
+
+        // Start the pass, then report the last chunk as changed
+        verifier.verify(platformHelper, null, tracked, 1, invalid);
+        verifier.markChunkChanged(19, 0);
+        verifier.verify(platformHelper, null, tracked, 1, invalid);
+
+        assertEquals(1, invalid.size());
+        assertEquals(BlockKey.pack(19 * 16, 64, 0), invalid.get(0));
+    }
+
+    @Test
+    public void testEvictsEntriesInUnloadedChunks() {
+        track(1, 64, 1);
+        track(40, 64, 40);
+        platformHelper.unloadedChunks.add(PointUpdateQueue.chunkKey(2, 2));
+
+        verifier.verify(platformHelper, null, tracked, 32, invalid);
+
+        // The unloaded chunk is not read, but its entry is reported so it does not go stale
+        assertEquals(1, platformHelper.isSpawnerCalls);
+        assertEquals(1, invalid.size());
+        assertEquals(BlockKey.pack(40, 64, 40), invalid.get(0));
+    }
+
+    @Test
+    public void testChunkChangedMidSweepIsSweptAfterwards() {
+        for (int chunk = 0; chunk < 20; chunk++) {
+            track(chunk * 16, 64, 0);
+        }
+        platformHelper.spawners.remove(pos(16, 64, 0));
+
+        // The sweep for chunk 19 finds nothing wrong; chunk 1 changes after it has passed id 1
+        verifier.markChunkChanged(19, 0);
+        verifier.verify(platformHelper, null, tracked, 1, invalid);
+        verifier.markChunkChanged(1, 0);
+        verifier.verify(platformHelper, null, tracked, 1, invalid);
+
+        assertEquals(1, invalid.size());
+        assertEquals(BlockKey.pack(16, 64, 0), invalid.get(0));
+    }
+
+    @Test
+    public void testPassStepsOverFreedIds() {
+        for (int i = 0; i < 1000; i++) {
+            track(i, 64, 0);
+        }
+        for (int i = 0; i < 999; i++) {
+            tracked.remove(BlockKey.pack(i, 64, 0));
+        }
+
+        // A tick reads a bounded number of ids, so the pass spans several ticks but checks one entry
+        int ticks = 0;
+        while (verifier.getLastCoverageTicks() < 0) {
+            verifier.verify(platformHelper, null, tracked, 4, invalid);
+            ticks++;
+        }
+
+        assertTrue(ticks > 1);
+        assertEquals(ticks, verifier.getLastCoverageTicks());
+        assertEquals(1, platformHelper.isSpawnerCalls);
+    }
+
+    @Test
+    public void testSkipsEntriesRemovedMidPass() {
+        track(1, 64, 1);
+        track(2, 64, 1);
+
+        verifier.verify(platformHelper, null, tracked, 1, invalid);
+        tracked.clear();
+        verifier.verify(platformHelper, null, tracked, 1, invalid);
+
+        assertEquals(1, platformHelper.isSpawnerCalls);
+    }
+
+    /**
+     * Answers spawner and chunk-loaded queries from in-memory sets; positions are [x, y, z] lists
+     */
+    private static class WorldPlatformHelper implements IPlatformHelper {
+        final Set<Object> spawners = new HashSet<>();
+        final Set<Long> unloadedChunks = new HashSet<>();
+        int isSpawnerCalls;
+
+        @Override
+        public Platform getPlatform() {
+            return Platform.FABRIC;
+        }
+
+        @Override
+        public boolean isSpawner(Object world, Object blockPos) {
+            isSpawnerCalls++;
+            return spawners.contains(blockPos);
+        }
+
+        @Override
+        public boolean isChunkLoaded(Object world, int chunkX, int chunkZ) {
+            return !unloadedChunks.contains(PointUpdateQueue.chunkKey(chunkX, chunkZ));
+        }
+
+        @Override
+        public Position getPlayerPosition(Object player) {
+            return new Position(0, 64, 0);
+        }
+
+        @Override
+        public Object createBlockPos(int x, int y, int z) {
+            return pos(x, y, z);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Position getBlockCenter(Object blockPos) {
+            List<Integer> pos = (List<Integer>) blockPos;
+            return new Position(pos.get(0) + 0.5, pos.get(1) + 0.5, pos.get(2) + 0.5);
+        }
+
+        @Override
+        public double calculateDistance(Position pos1, Position pos2) {
+            return pos1.distanceTo(pos2);
+        }
+
+        @Override
+        public void sendMessage(Object player, String message, boolean actionBar) {
+        }
+
+        @Override
+        public LookVector getPlayerLookVector(Object player) {
+            return new LookVector(0, 0, 1);
+        }
+    }
+}
@@ -7,10 +7,13 @@ import com.example.spawnersphere.config.ClothConfigScreen;
 import com.example.spawnersphere.platform.FabricPlatformHelper;
 import com.example.spawnersphere.platform.FabricRenderer;
 import net.fabricmc.api.ClientModInitializer;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientBlockEntityEvents;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientChunkEvents;
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
 import net.fabricmc.fabric.api.client.keybinding.v1.KeyBindingHelper;
 import net.fabricmc.fabric.api.client.rendering.v1.WorldRenderContext;
 import net.fabricmc.fabric.api.client.rendering.v1.WorldRenderEvents;
+import net.minecraft.block.entity.MobSpawnerBlockEntity;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.option.KeyBinding;
 import net.minecraft.client.util.InputUtil;
@@ -51,6 +54,22 @@ public class SpawnerSphereMod implements ClientModInitializer {
 
         // Register render event
         WorldRenderEvents.AFTER_TRANSLUCENT.register(this::onRenderWorld);
+
+        // Keep tracked spawners current from block entity and chunk events instead of rescanning
+        ClientBlockEntityEvents.BLOCK_ENTITY_LOAD.register((blockEntity, world) -> {
+            if (blockEntity instanceof MobSpawnerBlockEntity) {
+                core.addSpawnerAt(blockEntity.getPos());
+            }
+        });
+        ClientBlockEntityEvents.BLOCK_ENTITY_UNLOAD.register((blockEntity, world) -> {
+            if (blockEntity instanceof MobSpawnerBlockEntity) {
+                core.removeSpawnerAt(blockEntity.getPos());
+            }
+        });
+        ClientChunkEvents.CHUNK_LOAD.register((world, chunk) ->
+            core.onChunkLoaded(chunk.getPos().x, chunk.getPos().z));
+        ClientChunkEvents.CHUNK_UNLOAD.register((world, chunk) ->
+            core.onChunkUnloaded(chunk.getPos().x, chunk.getPos().z));
     }
 
     private void onClientTick(MinecraftClient client) {
@@ -48,7 +48,7 @@ public class ClothConfigScreen implements IConfigScreen {
         general.addEntry(entryBuilder.startIntSlider(
             Text.literal("Scan Radius"),
             config.getScanRadius(),
-            16, 256
+            16, 512
         )
         .setDefaultValue(64)
         .setTooltip(Text.literal("Radius to scan for spawners (blocks)"))
@@ -97,6 +97,15 @@ public class ClothConfigScreen implements IConfigScreen {
         .setSaveConsumer(config::setEnableSpatialIndexing)
         .build());
 
+        performance.addEntry(entryBuilder.startBooleanToggle(
+            Text.literal("Block Entity Scan"),
+            config.isUseBlockEntityScan()
+        )
+        .setDefaultValue(true)
+        .setTooltip(Text.literal("Find spawners from loaded chunks' block entities (allows scan radius above 256)"))
+        .setSaveConsumer(config::setUseBlockEntityScan)
+        .build());
+
         performance.addEntry(entryBuilder.startBooleanToggle(
             Text.literal("Enable Frustum Culling"),
             config.isEnableFrustumCulling()
@@ -1,19 +1,32 @@
 package com.example.spawnersphere.platform;
 
+import com.example.spawnersphere.common.data.BlockKey;
 import com.example.spawnersphere.common.platform.IPlatformHelper;
+import com.example.spawnersphere.common.scan.SectionSnapshot;
+import net.minecraft.block.BlockState;
 import net.minecraft.block.Blocks;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.block.entity.MobSpawnerBlockEntity;
 import net.minecraft.client.network.ClientPlayerEntity;
 import net.minecraft.text.Text;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.World;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.PalettedContainer;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
 
 /**
  * Fabric implementation of platform helper for MC 1.19+
  */
 public class FabricPlatformHelper implements IPlatformHelper {
 
+    // Reused by isSpawnerAt so hot scan loops do not allocate a block position per lookup
+    private static final ThreadLocal<BlockPos.Mutable> SCRATCH_POS = ThreadLocal.withInitial(BlockPos.Mutable::new);
+
     @Override
     @NotNull
     public Platform getPlatform() {
@@ -28,6 +41,106 @@ public class FabricPlatformHelper implements IPlatformHelper {
         return ((World) world).getBlockState((BlockPos) blockPos).isOf(Blocks.SPAWNER);
     }
 
+    @Override
+    public boolean isSpawnerAt(Object world, int x, int y, int z) {
+        if (!(world instanceof World)) {
+            return false;
+        }
+        return ((World) world).getBlockState(SCRATCH_POS.get().set(x, y, z)).isOf(Blocks.SPAWNER);
+    }
+
+    @Override
+    public boolean sectionMayContainSpawner(Object world, int sectionX, int sectionY, int sectionZ) {
+        if (!(world instanceof World)) {
+            return true;
+        }
+        ChunkSection section = getLoadedSection((World) world, sectionX, sectionY, sectionZ);
+        return section != null && containsSpawner(section);
+    }
+
+    @Override
+    public boolean supportsSectionSnapshots() {
+        return true;
+    }
+
+    @Override
+    public SectionSnapshot snapshotSection(Object world, int sectionX, int sectionY, int sectionZ) {
+        if (!(world instanceof World)) {
+            return null;
+        }
+        ChunkSection section = getLoadedSection((World) world, sectionX, sectionY, sectionZ);
+        if (section == null || !containsSpawner(section)) {
+            return null;
+        }
+        // Copying the paletted container is a flat array copy; the scan worker only reads the copy
+        PalettedContainer<BlockState> states = section.getBlockStateContainer().copy();
+        return (localX, localY, localZ) -> states.get(localX, localY, localZ).isOf(Blocks.SPAWNER);
+    }
+
+    /**
+     * Unloaded chunks read as air on the client, so they have no section worth scanning
+     */
+    @Nullable
+    private static ChunkSection getLoadedSection(World world, int sectionX, int sectionY, int sectionZ) {
+        if (!world.getChunkManager().isChunkLoaded(sectionX, sectionZ)) {
+            return null;
+        }
+        int sectionIndex = world.sectionCoordToIndex(sectionY);
+        if (sectionIndex < 0 || sectionIndex >= world.countVerticalSections()) {
+            return null;
+        }
+        return world.getChunk(sectionX, sectionZ).getSection(sectionIndex);
+    }
+
+    private static boolean containsSpawner(ChunkSection section) {
+        return !section.isEmpty() && section.hasAny(state -> state.isOf(Blocks.SPAWNER));
+    }
+
+    @Override
+    public boolean isChunkLoaded(Object world, int chunkX, int chunkZ) {
+        if (!(world instanceof World)) {
+            return false;
+        }
+        return ((World) world).getChunkManager().isChunkLoaded(chunkX, chunkZ);
+    }
+
+    @Override
+    public int getMinBuildHeight(Object world) {
+        if (!(world instanceof World)) {
+            return Integer.MIN_VALUE;
+        }
+        return ((World) world).getBottomY();
+    }
+
+    @Override
+    public int getMaxBuildHeight(Object world) {
+        if (!(world instanceof World)) {
+            return Integer.MAX_VALUE;
+        }
+        return ((World) world).getBottomY() + ((World) world).getHeight();
+    }
+
+    @Override
+    public boolean supportsBlockEntityScan() {
+        return true;
+    }
+
+    @Override
+    public void collectSpawnerBlockEntities(Object world, int chunkX, int chunkZ, List<Object> out) {
+        if (!(world instanceof World)) {
+            return;
+        }
+        World clientWorld = (World) world;
+        if (!clientWorld.getChunkManager().isChunkLoaded(chunkX, chunkZ)) {
+            return;
+        }
+        for (BlockEntity blockEntity : clientWorld.getChunk(chunkX, chunkZ).getBlockEntities().values()) {
+            if (blockEntity instanceof MobSpawnerBlockEntity) {
+                out.add(blockEntity.getPos());
+            }
+        }
+    }
+
     @Override
     @NotNull
     public Position getPlayerPosition(Object player) {
@@ -38,6 +151,21 @@ public class FabricPlatformHelper implements IPlatformHelper {
         return new Position(pos.x, pos.y, pos.z);
     }
 
+    @Override
+    public double getPlayerX(Object player) {
+        return player instanceof ClientPlayerEntity ? ((ClientPlayerEntity) player).getX() : 0;
+    }
+
+    @Override
+    public double getPlayerY(Object player) {
+        return player instanceof ClientPlayerEntity ? ((ClientPlayerEntity) player).getY() : 0;
+    }
+
+    @Override
+    public double getPlayerZ(Object player) {
+        return player instanceof ClientPlayerEntity ? ((ClientPlayerEntity) player).getZ() : 0;
+    }
+
     @Override
     @NotNull
     public Object createBlockPos(int x, int y, int z) {
@@ -54,6 +182,15 @@ public class FabricPlatformHelper implements IPlatformHelper {
         return new Position(center.x, center.y, center.z);
     }
 
+    @Override
+    public long blockKey(Object blockPos) {
+        if (!(blockPos instanceof BlockPos)) {
+            return IPlatformHelper.super.blockKey(blockPos);
+        }
+        BlockPos pos = (BlockPos) blockPos;
+        return BlockKey.pack(pos.getX(), pos.getY(), pos.getZ());
+    }
+
     @Override
     public double calculateDistance(Position pos1, Position pos2) {
         return pos1.distanceTo(pos2);
@@ -1,6 +1,8 @@
 package com.example.spawnersphere.platform;
 
+import com.example.spawnersphere.common.performance.SphereMeshCache;
 import com.example.spawnersphere.common.platform.IRenderer;
+import com.example.spawnersphere.common.platform.SphereBatch;
 import net.fabricmc.fabric.api.client.rendering.v1.WorldRenderContext;
 import net.minecraft.client.render.RenderLayer;
 import net.minecraft.client.render.VertexConsumer;
@@ -48,53 +50,58 @@ public class FabricRenderer implements IRenderer {
         VertexConsumer vertexConsumer = vertexConsumers.getBuffer(RenderLayer.getLines());
         Matrix4f matrix = matrices.peek().getPositionMatrix();
 
-        // Draw horizontal circles (latitude)
-        for (int lat = -6; lat <= 6; lat += 2) {
-            float latAngle = (float) (lat * Math.PI / 12);
-            float circleRadius = radius * (float) Math.cos(latAngle);
-            float circleY = radius * (float) Math.sin(latAngle);
-
-            for (int i = 0; i < segments; i++) {
-                float angle1 = (float) (2 * Math.PI * i / segments);
-                float angle2 = (float) (2 * Math.PI * (i + 1) / segments);
-
-                float x1 = circleRadius * (float) Math.cos(angle1);
-                float z1 = circleRadius * (float) Math.sin(angle1);
-                float x2 = circleRadius * (float) Math.cos(angle2);
-                float z2 = circleRadius * (float) Math.sin(angle2);
-
-                vertexConsumer.vertex(matrix, (float)(x + x1), (float)(y + circleY), (float)(z + z1))
-                    .color(color.red, color.green, color.blue, color.alpha)
-                    .normal(0, 1, 0);
-                vertexConsumer.vertex(matrix, (float)(x + x2), (float)(y + circleY), (float)(z + z2))
-                    .color(color.red, color.green, color.blue, color.alpha)
-                    .normal(0, 1, 0);
-            }
+        emitSphere(vertexConsumer, matrix, x, y, z, radius, color.red, color.green, color.blue, color.alpha, segments);
+    }
+
+    @Override
+    public void renderSpheres(@NotNull Object context, @NotNull SphereBatch batch) {
+        if (!(context instanceof RenderContext)) {
+            LOGGER.warn("renderSpheres called with invalid context type: {}",
+                context != null ? context.getClass().getName() : "null");
+            return;
+        }
+
+        RenderContext ctx = (RenderContext) context;
+        MatrixStack matrices = ctx.matrices;
+        VertexConsumerProvider vertexConsumers = ctx.vertexConsumers;
+
+        // Null safety: Check that vertex consumers is not null
+        if (vertexConsumers == null) {
+            LOGGER.warn("renderSpheres called with null vertex consumers");
+            return;
         }
 
-        // Draw vertical circles (longitude)
-        for (int lon = 0; lon < 6; lon++) {
-            float lonAngle = (float) (lon * Math.PI / 6);
-
-            for (int i = 0; i < segments; i++) {
-                float angle1 = (float) (2 * Math.PI * i / segments);
-                float angle2 = (float) (2 * Math.PI * (i + 1) / segments);
-
-                float x1 = radius * (float) (Math.sin(angle1) * Math.cos(lonAngle));
-                float y1 = radius * (float) Math.cos(angle1);
-                float z1 = radius * (float) (Math.sin(angle1) * Math.sin(lonAngle));
-
-                float x2 = radius * (float) (Math.sin(angle2) * Math.cos(lonAngle));
-                float y2 = radius * (float) Math.cos(angle2);
-                float z2 = radius * (float) (Math.sin(angle2) * Math.sin(lonAngle));
-
-                vertexConsumer.vertex(matrix, (float)(x + x1), (float)(y + y1), (float)(z + z1))
-                    .color(color.red, color.green, color.blue, color.alpha)
-                    .normal(0, 1, 0);
-                vertexConsumer.vertex(matrix, (float)(x + x2), (float)(y + y2), (float)(z + z2))
-                    .color(color.red, color.green, color.blue, color.alpha)
-                    .normal(0, 1, 0);
-            }
+        VertexConsumer vertexConsumer = vertexConsumers.getBuffer(RenderLayer.getLines());
+        Matrix4f matrix = matrices.peek().getPositionMatrix();
+
+        // One buffer and matrix lookup for the whole frame
+        for (int i = 0, n = batch.size(); i < n; i++) {
+            emitSphere(vertexConsumer, matrix, batch.x(i), batch.y(i), batch.z(i), batch.radius(i),
+                batch.red(i), batch.green(i), batch.blue(i), batch.alpha(i), batch.segments(i));
+        }
+    }
+
+    /**
+     * Add one sphere's lines to {@code vertexConsumer}, from the cached unit sphere scaled and moved into place
+     */
+    private static void emitSphere(
+        VertexConsumer vertexConsumer,
+        Matrix4f matrix,
+        double x,
+        double y,
+        double z,
+        float radius,
+        float red,
+        float green,
+        float blue,
+        float alpha,
+        int segments
+    ) {
+        float[] lines = SphereMeshCache.get(SphereMeshCache.Layout.STANDARD, segments).lines;
+        for (int i = 0; i < lines.length; i += 3) {
+            vertexConsumer.vertex(matrix, (float) (x + radius * lines[i]), (float) (y + radius * lines[i + 1]), (float) (z + radius * lines[i + 2]))
+                .color(red, green, blue, alpha)
+                .normal(0, 1, 0);
         }
     }
 
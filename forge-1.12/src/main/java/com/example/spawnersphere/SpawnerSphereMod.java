@@ -5,11 +5,22 @@ import com.example.spawnersphere.common.config.ModConfig;
 import com.example.spawnersphere.config.ForgeConfigGui;
 import com.example.spawnersphere.platform.ForgePlatformHelper;
 import com.example.spawnersphere.platform.ForgeRenderer;
+import net.minecraft.block.state.IBlockState;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.settings.KeyBinding;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.SoundCategory;
+import net.minecraft.util.SoundEvent;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.IWorldEventListener;
+import net.minecraft.world.World;
 import net.minecraftforge.client.event.RenderWorldLastEvent;
 import net.minecraftforge.client.settings.KeyConflictContext;
 import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.client.registry.ClientRegistry;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.common.event.FMLInitializationEvent;
@@ -18,6 +29,8 @@ import net.minecraftforge.fml.common.gameevent.TickEvent;
 import org.lwjgl.input.Keyboard;
 import org.lwjgl.opengl.GL11;
 
+import javax.annotation.Nullable;
+
 /**
  * Forge implementation for MC 1.8.9-1.12.2 using common architecture
  */
@@ -122,6 +135,90 @@ public class SpawnerSphereMod {
         GL11.glPopMatrix();
     }
 
+    @SubscribeEvent
+    public void onWorldLoad(WorldEvent.Load event) {
+        // Client worlds report every block change to their listeners, including in multiplayer
+        if (event.getWorld().isRemote) {
+            event.getWorld().addEventListener(new SpawnerWorldListener());
+        }
+    }
+
+    @SubscribeEvent
+    public void onChunkLoad(ChunkEvent.Load event) {
+        if (event.getWorld().isRemote) {
+            core.onChunkLoaded(event.getChunk().x, event.getChunk().z);
+        }
+    }
+
+    @SubscribeEvent
+    public void onChunkUnload(ChunkEvent.Unload event) {
+        if (event.getWorld().isRemote) {
+            core.onChunkUnloaded(event.getChunk().x, event.getChunk().z);
+        }
+    }
+
+    /**
+     * Forwards spawner block changes in the client world to the core
+     */
+    private static class SpawnerWorldListener implements IWorldEventListener {
+
+        @Override
+        public void notifyBlockUpdate(World worldIn, BlockPos pos, IBlockState oldState, IBlockState newState, int flags) {
+            if (newState.getBlock() == Blocks.MOB_SPAWNER) {
+                core.addSpawnerAt(pos.toImmutable());
+            } else if (oldState.getBlock() == Blocks.MOB_SPAWNER) {
+                core.removeSpawnerAt(pos.toImmutable());
+            }
+        }
+
+        @Override
+        public void notifyLightSet(BlockPos pos) {
+        }
+
+        @Override
+        public void markBlockRangeForRenderUpdate(int x1, int y1, int z1, int x2, int y2, int z2) {
+        }
+
+        @Override
+        public void playSoundToAllNearExcept(@Nullable EntityPlayer player, SoundEvent soundIn, SoundCategory category,
+                                             double x, double y, double z, float volume, float pitch) {
+        }
+
+        @Override
+        public void playRecord(SoundEvent soundIn, BlockPos pos) {
+        }
+
+        @Override
+        public void spawnParticle(int particleID, boolean ignoreRange, double xCoord, double yCoord, double zCoord,
+                                  double xSpeed, double ySpeed, double zSpeed, int... parameters) {
+        }
+
+        @Override
+        public void spawnParticle(int id, boolean ignoreRange, boolean minimiseParticleLevel, double x, double y, double z,
+                                  double xSpeed, double ySpeed, double zSpeed, int... parameters) {
+        }
+
+        @Override
+        public void onEntityAdded(Entity entityIn) {
+        }
+
+        @Override
+        public void onEntityRemoved(Entity entityIn) {
+        }
+
+        @Override
+        public void broadcastSound(int soundID, BlockPos pos, int data) {
+        }
+
+        @Override
+        public void playEvent(EntityPlayer player, int type, BlockPos blockPosIn, int data) {
+        }
+
+        @Override
+        public void sendBlockBreakProgress(int breakerId, BlockPos pos, int progress) {
+        }
+    }
+
     /**
      * Get the core instance (for testing or external access)
      */
@@ -48,7 +48,7 @@ public class ForgeConfigGui extends GuiConfig {
                 "Radius of spawner activation sphere (blocks)");
         modConfig.setSphereRadius(sphereRadius);
 
-        int scanRadius = configuration.getInt("scanRadius", categoryGeneral, 64, 16, 256,
+        int scanRadius = configuration.getInt("scanRadius", categoryGeneral, 64, 16, 512,
                 "Radius to scan for spawners (blocks)");
         modConfig.setScanRadius(scanRadius);
 
@@ -72,6 +72,10 @@ public class ForgeConfigGui extends GuiConfig {
                 "Use chunk-based indexing for better performance");
         modConfig.setEnableSpatialIndexing(spatialIndexing);
 
+        boolean blockEntityScan = configuration.getBoolean("useBlockEntityScan", categoryPerformance, true,
+                "Find spawners from loaded chunks' block entities (allows scan radius above 256)");
+        modConfig.setUseBlockEntityScan(blockEntityScan);
+
         boolean frustumCulling = configuration.getBoolean("enableFrustumCulling", categoryPerformance, false,
                 "Don't render spheres outside camera view");
         modConfig.setEnableFrustumCulling(frustumCulling);
@@ -1,13 +1,25 @@
 package com.example.spawnersphere.platform;
 
+import com.example.spawnersphere.common.data.BlockKey;
 import com.example.spawnersphere.common.platform.IPlatformHelper;
+import com.example.spawnersphere.common.scan.SectionSnapshot;
+import io.netty.buffer.Unpooled;
 import net.minecraft.block.Block;
 import net.minecraft.client.entity.EntityPlayerSP;
 import net.minecraft.init.Blocks;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.tileentity.TileEntityMobSpawner;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.text.TextComponentString;
 import net.minecraft.world.World;
+import net.minecraft.world.chunk.BlockStateContainer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
 
 /**
  * Forge implementation of platform helper for MC 1.8.9-1.12.2
@@ -15,6 +27,9 @@ import org.jetbrains.annotations.NotNull;
  */
 public class ForgePlatformHelper implements IPlatformHelper {
 
+    // Reused by isSpawnerAt so hot scan loops do not allocate a block position per lookup
+    private static final ThreadLocal<BlockPos.MutableBlockPos> SCRATCH_POS = ThreadLocal.withInitial(BlockPos.MutableBlockPos::new);
+
     @Override
     @NotNull
     public Platform getPlatform() {
@@ -30,6 +45,128 @@ public class ForgePlatformHelper implements IPlatformHelper {
         return block == Blocks.MOB_SPAWNER;
     }
 
+    @Override
+    public boolean isSpawnerAt(Object world, int x, int y, int z) {
+        if (!(world instanceof World)) {
+            return false;
+        }
+        Block block = ((World) world).getBlockState(SCRATCH_POS.get().setPos(x, y, z)).getBlock();
+        return block == Blocks.MOB_SPAWNER;
+    }
+
+    @Override
+    public boolean sectionMayContainSpawner(Object world, int sectionX, int sectionY, int sectionZ) {
+        if (!(world instanceof World)) {
+            return true;
+        }
+        return getLoadedStorage((World) world, sectionX, sectionY, sectionZ) != null;
+    }
+
+    @Override
+    public boolean supportsSectionSnapshots() {
+        return true;
+    }
+
+    @Override
+    public SectionSnapshot snapshotSection(Object world, int sectionX, int sectionY, int sectionZ) {
+        if (!(world instanceof World)) {
+            return null;
+        }
+        ExtendedBlockStorage storage = getLoadedStorage((World) world, sectionX, sectionY, sectionZ);
+        if (storage == null) {
+            return null;
+        }
+        // The palette is private in 1.12, but the packet encoding is the palette followed by the packed
+        // longs: one write gives a palette to check and a flat copy the scan worker can read alone
+        BlockStateContainer states = storage.getData();
+        PacketBuffer buffer = new PacketBuffer(Unpooled.buffer(states.getSerializedSize()));
+        states.write(buffer);
+        if (!paletteMayContain(buffer, Block.BLOCK_STATE_IDS.get(Blocks.MOB_SPAWNER.getDefaultState()))) {
+            return null;
+        }
+        BlockStateContainer copy = new BlockStateContainer();
+        copy.read(buffer);
+        return (localX, localY, localZ) -> copy.get(localX, localY, localZ).getBlock() == Blocks.MOB_SPAWNER;
+    }
+
+    /**
+     * Unloaded chunks read as air on the client, so they have no section worth scanning
+     */
+    @Nullable
+    private static ExtendedBlockStorage getLoadedStorage(World world, int sectionX, int sectionY, int sectionZ) {
+        if (sectionY < 0 || sectionY >= 16) {
+            return null;
+        }
+        Chunk chunk = world.getChunkProvider().getLoadedChunk(sectionX, sectionZ);
+        if (chunk == null) {
+            return null;
+        }
+        ExtendedBlockStorage storage = chunk.getBlockStorageArray()[sectionY];
+        return storage == Chunk.NULL_BLOCK_STORAGE || storage.isEmpty() ? null : storage;
+    }
+
+    /**
+     * Check the palette list at the start of an encoded container, leaving the buffer unread
+     * Containers above 8 bits per block use the global palette and write an empty list, so they may hold anything.
+     */
+    private static boolean paletteMayContain(PacketBuffer buffer, int stateId) {
+        int start = buffer.readerIndex();
+        try {
+            int bits = buffer.readUnsignedByte();
+            int size = buffer.readVarInt();
+            if (bits > 8) {
+                return true;
+            }
+            for (int i = 0; i < size; i++) {
+                if (buffer.readVarInt() == stateId) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            buffer.readerIndex(start);
+        }
+    }
+
+    @Override
+    public boolean isChunkLoaded(Object world, int chunkX, int chunkZ) {
+        if (!(world instanceof World)) {
+            return false;
+        }
+        return ((World) world).getChunkProvider().getLoadedChunk(chunkX, chunkZ) != null;
+    }
+
+    @Override
+    public int getMinBuildHeight(Object world) {
+        return 0; // Fixed build height before 1.17
+    }
+
+    @Override
+    public int getMaxBuildHeight(Object world) {
+        return 256;
+    }
+
+    @Override
+    public boolean supportsBlockEntityScan() {
+        return true;
+    }
+
+    @Override
+    public void collectSpawnerBlockEntities(Object world, int chunkX, int chunkZ, List<Object> out) {
+        if (!(world instanceof World)) {
+            return;
+        }
+        Chunk chunk = ((World) world).getChunkProvider().getLoadedChunk(chunkX, chunkZ);
+        if (chunk == null) {
+            return;
+        }
+        for (TileEntity tileEntity : chunk.getTileEntityMap().values()) {
+            if (tileEntity instanceof TileEntityMobSpawner) {
+                out.add(tileEntity.getPos());
+            }
+        }
+    }
+
     @Override
     @NotNull
     public Position getPlayerPosition(Object player) {
@@ -40,6 +177,21 @@ public class ForgePlatformHelper implements IPlatformHelper {
         return new Position(p.posX, p.posY, p.posZ);
     }
 
+    @Override
+    public double getPlayerX(Object player) {
+        return player instanceof EntityPlayerSP ? ((EntityPlayerSP) player).posX : 0;
+    }
+
+    @Override
+    public double getPlayerY(Object player) {
+        return player instanceof EntityPlayerSP ? ((EntityPlayerSP) player).posY : 0;
+    }
+
+    @Override
+    public double getPlayerZ(Object player) {
+        return player instanceof EntityPlayerSP ? ((EntityPlayerSP) player).posZ : 0;
+    }
+
     @Override
     @NotNull
     public Object createBlockPos(int x, int y, int z) {
@@ -56,6 +208,15 @@ public class ForgePlatformHelper implements IPlatformHelper {
         return new Position(pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5);
     }
 
+    @Override
+    public long blockKey(Object blockPos) {
+        if (!(blockPos instanceof BlockPos)) {
+            return IPlatformHelper.super.blockKey(blockPos);
+        }
+        BlockPos pos = (BlockPos) blockPos;
+        return BlockKey.pack(pos.getX(), pos.getY(), pos.getZ());
+    }
+
     @Override
     public double calculateDistance(Position pos1, Position pos2) {
         return pos1.distanceTo(pos2);
@@ -1,6 +1,8 @@
 package com.example.spawnersphere.platform;
 
+import com.example.spawnersphere.common.performance.SphereMeshCache;
 import com.example.spawnersphere.common.platform.IRenderer;
+import com.example.spawnersphere.common.platform.SphereBatch;
 import net.minecraft.client.renderer.BufferBuilder;
 import net.minecraft.client.renderer.GlStateManager;
 import net.minecraft.client.renderer.Tessellator;
@@ -16,6 +18,8 @@ public class ForgeRenderer implements IRenderer {
 
     private static final int DEFAULT_SEGMENTS = 32;
 
+    private final SphereDisplayLists displayLists = new SphereDisplayLists();
+
     @Override
     public void renderSphere(
         @NotNull Object context,
@@ -29,53 +33,31 @@ public class ForgeRenderer implements IRenderer {
         // Legacy versions don't use a context object
         Tessellator tessellator = Tessellator.getInstance();
         BufferBuilder buffer = tessellator.getBuffer();
+        SphereMeshCache.Mesh mesh = SphereMeshCache.get(SphereMeshCache.Layout.DENSE, segments);
+        float[] lines = mesh.lines;
 
-        // Setup GL state
+        // Latitude and longitude circles from the cached unit sphere, in one draw
         GlStateManager.color(color.red, color.green, color.blue, color.alpha);
-
-        // Draw latitude circles
-        for (int lat = -8; lat <= 8; lat++) {
-            if (lat == 0) continue;
-            float latAngle = (float) (lat * Math.PI / 16);
-            float circleRadius = radius * (float) Math.cos(latAngle);
-            float circleY = radius * (float) Math.sin(latAngle);
-
-            buffer.begin(GL11.GL_LINE_LOOP, DefaultVertexFormats.POSITION);
-            for (int i = 0; i <= segments; i++) {
-                float angle = (float) (2 * Math.PI * i / segments);
-                float dx = circleRadius * (float) Math.cos(angle);
-                float dz = circleRadius * (float) Math.sin(angle);
-                buffer.pos(x + dx, y + circleY, z + dz).endVertex();
-            }
-            tessellator.draw();
+        buffer.begin(GL11.GL_LINES, DefaultVertexFormats.POSITION);
+        for (int i = 0; i < mesh.equatorOffset; i += 3) {
+            buffer.pos(x + radius * lines[i], y + radius * lines[i + 1], z + radius * lines[i + 2]).endVertex();
         }
+        tessellator.draw();
 
         // Draw equator (slightly brighter)
         GlStateManager.color(color.red, color.green, color.blue, color.alpha * 1.5f);
-        buffer.begin(GL11.GL_LINE_LOOP, DefaultVertexFormats.POSITION);
-        for (int i = 0; i <= segments; i++) {
-            float angle = (float) (2 * Math.PI * i / segments);
-            float dx = radius * (float) Math.cos(angle);
-            float dz = radius * (float) Math.sin(angle);
-            buffer.pos(x + dx, y, z + dz).endVertex();
+        buffer.begin(GL11.GL_LINES, DefaultVertexFormats.POSITION);
+        for (int i = mesh.equatorOffset; i < lines.length; i += 3) {
+            buffer.pos(x + radius * lines[i], y + radius * lines[i + 1], z + radius * lines[i + 2]).endVertex();
         }
         tessellator.draw();
-
-        // Draw longitude circles
         GlStateManager.color(color.red, color.green, color.blue, color.alpha);
-        for (int lon = 0; lon < 8; lon++) {
-            float lonAngle = (float) (lon * Math.PI / 8);
+    }
 
-            buffer.begin(GL11.GL_LINE_LOOP, DefaultVertexFormats.POSITION);
-            for (int i = 0; i <= segments; i++) {
-                float angle = (float) (2 * Math.PI * i / segments);
-                float dx = radius * (float) (Math.sin(angle) * Math.cos(lonAngle));
-                float dy = radius * (float) Math.cos(angle);
-                float dz = radius * (float) (Math.sin(angle) * Math.sin(lonAngle));
-                buffer.pos(x + dx, y + dy, z + dz).endVertex();
-            }
-            tessellator.draw();
-        }
+    @Override
+    public void renderSpheres(@NotNull Object context, @NotNull SphereBatch batch) {
+        // One list call per sphere from the compiled unit spheres, grouped by color
+        displayLists.draw(batch);
     }
 
     /**
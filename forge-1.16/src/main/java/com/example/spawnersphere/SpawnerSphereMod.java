@@ -7,14 +7,18 @@ import com.example.spawnersphere.config.ForgeModConfig;
 import com.example.spawnersphere.platform.ForgePlatformHelper;
 import com.example.spawnersphere.platform.ForgeRenderer;
 import com.mojang.blaze3d.matrix.MatrixStack;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.settings.KeyBinding;
 import net.minecraft.client.util.InputMappings;
+import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.vector.Vector3d;
 import net.minecraftforge.client.event.InputEvent;
 import net.minecraftforge.client.event.RenderWorldLastEvent;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.world.ChunkEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.client.registry.ClientRegistry;
 import net.minecraftforge.fml.common.Mod;
@@ -117,6 +121,39 @@ public class SpawnerSphereMod {
 
             matrixStack.pop();
         }
+
+        @SubscribeEvent
+        public static void onChunkLoad(ChunkEvent.Load event) {
+            if (event.getWorld() != null && event.getWorld().isRemote()) {
+                core.onChunkLoaded(event.getChunk().getPos().x, event.getChunk().getPos().z);
+            }
+        }
+
+        @SubscribeEvent
+        public static void onChunkUnload(ChunkEvent.Unload event) {
+            if (event.getWorld() != null && event.getWorld().isRemote()) {
+                core.onChunkUnloaded(event.getChunk().getPos().x, event.getChunk().getPos().z);
+            }
+        }
+    }
+
+    /**
+     * Called from mixin - a block in the client world changed
+     * Only changes to or from a spawner are forwarded; the core confirms them against the world
+     * on a later tick. Block events are not used: they only fire on the logical server.
+     */
+    public static void onBlockChanged(BlockPos pos, BlockState oldState, BlockState newState) {
+        if (core == null || !core.isEnabled()) return;
+
+        boolean wasSpawner = oldState.isIn(Blocks.SPAWNER);
+        boolean isSpawner = newState.isIn(Blocks.SPAWNER);
+        if (wasSpawner == isSpawner) return;
+
+        if (isSpawner) {
+            core.addSpawnerAt(pos.toImmutable());
+        } else {
+            core.removeSpawnerAt(pos.toImmutable());
+        }
     }
 
     /**
@@ -22,6 +22,7 @@ public class ForgeModConfig {
 
     // Performance Settings
     public static final ForgeConfigSpec.BooleanValue ENABLE_SPATIAL_INDEXING;
+    public static final ForgeConfigSpec.BooleanValue USE_BLOCK_ENTITY_SCAN;
     public static final ForgeConfigSpec.BooleanValue ENABLE_FRUSTUM_CULLING;
     public static final ForgeConfigSpec.BooleanValue ENABLE_LOD;
     public static final ForgeConfigSpec.IntValue LOD_MAX_SEGMENTS;
@@ -41,7 +42,7 @@ public class ForgeModConfig {
 
         SCAN_RADIUS = BUILDER
             .comment("Radius to scan for spawners (blocks)")
-            .defineInRange("scanRadius", 64, 16, 256);
+            .defineInRange("scanRadius", 64, 16, 512);
 
         SCAN_INTERVAL = BUILDER
             .comment("How often to scan for spawners (milliseconds)")
@@ -62,6 +63,10 @@ public class ForgeModConfig {
             .comment("Use chunk-based indexing for better performance")
             .define("enableSpatialIndexing", true);
 
+        USE_BLOCK_ENTITY_SCAN = BUILDER
+            .comment("Find spawners from loaded chunks' block entities (allows scan radius above 256)")
+            .define("useBlockEntityScan", true);
+
         ENABLE_FRUSTUM_CULLING = BUILDER
             .comment("Don't render spheres outside camera view")
             .define("enableFrustumCulling", false);
@@ -109,6 +114,7 @@ public class ForgeModConfig {
         modConfig.setShowDistanceInActionBar(SHOW_DISTANCE.get());
 
         modConfig.setEnableSpatialIndexing(ENABLE_SPATIAL_INDEXING.get());
+        modConfig.setUseBlockEntityScan(USE_BLOCK_ENTITY_SCAN.get());
         modConfig.setEnableFrustumCulling(ENABLE_FRUSTUM_CULLING.get());
         modConfig.setEnableLOD(ENABLE_LOD.get());
         modConfig.setLodMaxSegments(LOD_MAX_SEGMENTS.get());
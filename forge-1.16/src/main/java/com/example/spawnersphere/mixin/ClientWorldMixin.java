@@ -0,0 +1,20 @@
+package com.example.spawnersphere.mixin;
+
+import com.example.spawnersphere.SpawnerSphereMod;
+import net.minecraft.block.BlockState;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.util.math.BlockPos;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(ClientWorld.class)
+public class ClientWorldMixin {
+
+    // Both server updates and the client's own predicted changes pass through here with the old and new state
+    @Inject(method = "notifyBlockUpdate", at = @At("HEAD"))
+    private void onNotifyBlockUpdate(BlockPos pos, BlockState oldState, BlockState newState, int flags, CallbackInfo ci) {
+        SpawnerSphereMod.onBlockChanged(pos, oldState, newState);
+    }
+}
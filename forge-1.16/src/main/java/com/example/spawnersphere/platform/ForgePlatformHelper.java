@@ -1,18 +1,31 @@
 package com.example.spawnersphere.platform;
 
+import com.example.spawnersphere.common.data.BlockKey;
 import com.example.spawnersphere.common.platform.IPlatformHelper;
+import com.example.spawnersphere.common.scan.SectionSnapshot;
+import io.netty.buffer.Unpooled;
 import net.minecraft.block.Blocks;
 import net.minecraft.client.entity.player.ClientPlayerEntity;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.tileentity.MobSpawnerTileEntity;
+import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.text.StringTextComponent;
 import net.minecraft.world.World;
+import net.minecraft.world.chunk.ChunkSection;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
 
 /**
  * Forge implementation of platform helper for MC 1.13-1.16.5
  */
 public class ForgePlatformHelper implements IPlatformHelper {
 
+    // Reused by isSpawnerAt so hot scan loops do not allocate a block position per lookup
+    private static final ThreadLocal<BlockPos.Mutable> SCRATCH_POS = ThreadLocal.withInitial(BlockPos.Mutable::new);
+
     @Override
     @NotNull
     public Platform getPlatform() {
@@ -27,6 +40,101 @@ public class ForgePlatformHelper implements IPlatformHelper {
         return ((World) world).getBlockState((BlockPos) blockPos).isIn(Blocks.SPAWNER);
     }
 
+    @Override
+    public boolean isSpawnerAt(Object world, int x, int y, int z) {
+        if (!(world instanceof World)) {
+            return false;
+        }
+        return ((World) world).getBlockState(SCRATCH_POS.get().setPos(x, y, z)).isIn(Blocks.SPAWNER);
+    }
+
+    @Override
+    public boolean sectionMayContainSpawner(Object world, int sectionX, int sectionY, int sectionZ) {
+        if (!(world instanceof World)) {
+            return true;
+        }
+        ChunkSection section = getLoadedSection((World) world, sectionX, sectionY, sectionZ);
+        return section != null && containsSpawner(section);
+    }
+
+    @Override
+    public boolean supportsSectionSnapshots() {
+        return true;
+    }
+
+    @Override
+    public SectionSnapshot snapshotSection(Object world, int sectionX, int sectionY, int sectionZ) {
+        if (!(world instanceof World)) {
+            return null;
+        }
+        ChunkSection section = getLoadedSection((World) world, sectionX, sectionY, sectionZ);
+        if (section == null || !containsSpawner(section)) {
+            return null;
+        }
+        // Paletted containers have no copy() before 1.18; the packet encoding is the palette and the
+        // packed longs, so a round trip through it is a flat copy the scan worker can read alone
+        PacketBuffer buffer = new PacketBuffer(Unpooled.buffer(section.getSize()));
+        section.write(buffer);
+        ChunkSection copy = new ChunkSection(section.getYLocation());
+        copy.read(buffer);
+        return (localX, localY, localZ) -> copy.getBlockState(localX, localY, localZ).isIn(Blocks.SPAWNER);
+    }
+
+    /**
+     * Unloaded chunks read as air on the client, so they have no section worth scanning
+     */
+    @Nullable
+    private static ChunkSection getLoadedSection(World world, int sectionX, int sectionY, int sectionZ) {
+        if (sectionY < 0 || sectionY >= 16 || !world.getChunkProvider().chunkExists(sectionX, sectionZ)) {
+            return null;
+        }
+        ChunkSection section = world.getChunk(sectionX, sectionZ).getSections()[sectionY];
+        return ChunkSection.isEmpty(section) ? null : section;
+    }
+
+    private static boolean containsSpawner(ChunkSection section) {
+        return section.isValidPOIState(state -> state.isIn(Blocks.SPAWNER));
+    }
+
+    @Override
+    public boolean isChunkLoaded(Object world, int chunkX, int chunkZ) {
+        if (!(world instanceof World)) {
+            return false;
+        }
+        return ((World) world).getChunkProvider().chunkExists(chunkX, chunkZ);
+    }
+
+    @Override
+    public int getMinBuildHeight(Object world) {
+        return 0; // Fixed build height before 1.17
+    }
+
+    @Override
+    public int getMaxBuildHeight(Object world) {
+        return 256;
+    }
+
+    @Override
+    public boolean supportsBlockEntityScan() {
+        return true;
+    }
+
+    @Override
+    public void collectSpawnerBlockEntities(Object world, int chunkX, int chunkZ, List<Object> out) {
+        if (!(world instanceof World)) {
+            return;
+        }
+        World clientWorld = (World) world;
+        if (!clientWorld.getChunkProvider().chunkExists(chunkX, chunkZ)) {
+            return;
+        }
+        for (TileEntity tileEntity : clientWorld.getChunk(chunkX, chunkZ).getTileEntityMap().values()) {
+            if (tileEntity instanceof MobSpawnerTileEntity) {
+                out.add(tileEntity.getPos());
+            }
+        }
+    }
+
     @Override
     @NotNull
     public Position getPlayerPosition(Object player) {
@@ -37,6 +145,21 @@ public class ForgePlatformHelper implements IPlatformHelper {
         return new Position(p.getPosX(), p.getPosY(), p.getPosZ());
     }
 
+    @Override
+    public double getPlayerX(Object player) {
+        return player instanceof ClientPlayerEntity ? ((ClientPlayerEntity) player).getPosX() : 0;
+    }
+
+    @Override
+    public double getPlayerY(Object player) {
+        return player instanceof ClientPlayerEntity ? ((ClientPlayerEntity) player).getPosY() : 0;
+    }
+
+    @Override
+    public double getPlayerZ(Object player) {
+        return player instanceof ClientPlayerEntity ? ((ClientPlayerEntity) player).getPosZ() : 0;
+    }
+
     @Override
     @NotNull
     public Object createBlockPos(int x, int y, int z) {
@@ -53,6 +176,15 @@ public class ForgePlatformHelper implements IPlatformHelper {
         return new Position(pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5);
     }
 
+    @Override
+    public long blockKey(Object blockPos) {
+        if (!(blockPos instanceof BlockPos)) {
+            return IPlatformHelper.super.blockKey(blockPos);
+        }
+        BlockPos pos = (BlockPos) blockPos;
+        return BlockKey.pack(pos.getX(), pos.getY(), pos.getZ());
+    }
+
     @Override
     public double calculateDistance(Position pos1, Position pos2) {
         return pos1.distanceTo(pos2);
@@ -1,6 +1,8 @@
 package com.example.spawnersphere.platform;
 
+import com.example.spawnersphere.common.performance.SphereMeshCache;
 import com.example.spawnersphere.common.platform.IRenderer;
+import com.example.spawnersphere.common.platform.SphereBatch;
 import com.mojang.blaze3d.matrix.MatrixStack;
 import com.mojang.blaze3d.systems.RenderSystem;
 import net.minecraft.client.renderer.BufferBuilder;
@@ -47,55 +49,42 @@ public class ForgeRenderer implements IRenderer {
         RenderSystem.defaultBlendFunc();
         RenderSystem.lineWidth(2.0f);
 
-        // Draw horizontal circles (latitude)
         buffer.begin(GL11.GL_LINES, DefaultVertexFormats.POSITION_COLOR);
 
-        for (int lat = -6; lat <= 6; lat += 2) {
-            float latAngle = (float) (lat * Math.PI / 12);
-            float circleRadius = radius * (float) Math.cos(latAngle);
-            float circleY = radius * (float) Math.sin(latAngle);
-
-            for (int i = 0; i < segments; i++) {
-                float angle1 = (float) (2 * Math.PI * i / segments);
-                float angle2 = (float) (2 * Math.PI * (i + 1) / segments);
-
-                float x1 = circleRadius * (float) Math.cos(angle1);
-                float z1 = circleRadius * (float) Math.sin(angle1);
-                float x2 = circleRadius * (float) Math.cos(angle2);
-                float z2 = circleRadius * (float) Math.sin(angle2);
-
-                buffer.pos(matrix, (float)(x + x1), (float)(y + circleY), (float)(z + z1))
-                    .color(color.red, color.green, color.blue, color.alpha)
-                    .endVertex();
-                buffer.pos(matrix, (float)(x + x2), (float)(y + circleY), (float)(z + z2))
-                    .color(color.red, color.green, color.blue, color.alpha)
-                    .endVertex();
-            }
+        emitSphere(buffer, matrix, x, y, z, radius, color.red, color.green, color.blue, color.alpha, segments);
+
+        tessellator.draw();
+
+        // Restore GL state
+        RenderSystem.enableTexture();
+        RenderSystem.disableBlend();
+    }
+
+    @Override
+    public void renderSpheres(@NotNull Object context, @NotNull SphereBatch batch) {
+        if (!(context instanceof RenderContext)) {
+            return;
         }
 
-        // Draw vertical circles (longitude)
-        for (int lon = 0; lon < 6; lon++) {
-            float lonAngle = (float) (lon * Math.PI / 6);
-
-            for (int i = 0; i < segments; i++) {
-                float angle1 = (float) (2 * Math.PI * i / segments);
-                float angle2 = (float) (2 * Math.PI * (i + 1) / segments);
-
-                float x1 = radius * (float) (Math.sin(angle1) * Math.cos(lonAngle));
-                float y1 = radius * (float) Math.cos(angle1);
-                float z1 = radius * (float) (Math.sin(angle1) * Math.sin(lonAngle));
-
-                float x2 = radius * (float) (Math.sin(angle2) * Math.cos(lonAngle));
-                float y2 = radius * (float) Math.cos(angle2);
-                float z2 = radius * (float) (Math.sin(angle2) * Math.sin(lonAngle));
-
-                buffer.pos(matrix, (float)(x + x1), (float)(y + y1), (float)(z + z1))
-                    .color(color.red, color.green, color.blue, color.alpha)
-                    .endVertex();
-                buffer.pos(matrix, (float)(x + x2), (float)(y + y2), (float)(z + z2))
-                    .color(color.red, color.green, color.blue, color.alpha)
-                    .endVertex();
-            }
+        RenderContext ctx = (RenderContext) context;
+        MatrixStack matrixStack = ctx.matrixStack;
+
+        Matrix4f matrix = matrixStack.getLast().getMatrix();
+        Tessellator tessellator = Tessellator.getInstance();
+        BufferBuilder buffer = tessellator.getBuffer();
+
+        // Setup GL state
+        RenderSystem.disableTexture();
+        RenderSystem.enableBlend();
+        RenderSystem.defaultBlendFunc();
+        RenderSystem.lineWidth(2.0f);
+
+        buffer.begin(GL11.GL_LINES, DefaultVertexFormats.POSITION_COLOR);
+
+        // One buffer and matrix lookup for the whole frame
+        for (int i = 0, n = batch.size(); i < n; i++) {
+            emitSphere(buffer, matrix, batch.x(i), batch.y(i), batch.z(i), batch.radius(i),
+                batch.red(i), batch.green(i), batch.blue(i), batch.alpha(i), batch.segments(i));
         }
 
         tessellator.draw();
@@ -105,6 +94,30 @@ public class ForgeRenderer implements IRenderer {
         RenderSystem.disableBlend();
     }
 
+    /**
+     * Add one sphere's lines to {@code buffer}, from the cached unit sphere scaled and moved into place
+     */
+    private static void emitSphere(
+        BufferBuilder buffer,
+        Matrix4f matrix,
+        double x,
+        double y,
+        double z,
+        float radius,
+        float red,
+        float green,
+        float blue,
+        float alpha,
+        int segments
+    ) {
+        float[] lines = SphereMeshCache.get(SphereMeshCache.Layout.STANDARD, segments).lines;
+        for (int i = 0; i < lines.length; i += 3) {
+            buffer.pos(matrix, (float) (x + radius * lines[i]), (float) (y + radius * lines[i + 1]), (float) (z + radius * lines[i + 2]))
+                .color(red, green, blue, alpha)
+                .endVertex();
+        }
+    }
+
     /**
      * Wrapper class to pass rendering context data
      */
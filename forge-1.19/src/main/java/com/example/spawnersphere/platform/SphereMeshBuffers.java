@@ -0,0 +1,136 @@
+package com.example.spawnersphere.platform;
+
+import com.example.spawnersphere.common.performance.SphereMeshCache;
+import com.example.spawnersphere.common.platform.SphereBatch;
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.BufferBuilder;
+import com.mojang.blaze3d.vertex.DefaultVertexFormat;
+import com.mojang.blaze3d.vertex.Tesselator;
+import com.mojang.blaze3d.vertex.VertexBuffer;
+import com.mojang.blaze3d.vertex.VertexFormat;
+import net.minecraft.client.renderer.GameRenderer;
+import net.minecraft.client.renderer.RenderType;
+import net.minecraft.client.renderer.ShaderInstance;
+import org.joml.Matrix4f;
+
+/**
+ * Whole-frame vertex buffer kept on the GPU for batches that have stopped changing
+ * Once a batch has stayed the same for a frame, its spheres are baked into one world-space
+ * buffer, so while nothing moves a frame is a single draw with the camera transform. Until
+ * then the caller streams the frame through the lines render type, which is also one buffer and one
+ * draw; vanilla shader programs have no per-instance attributes to draw resident unit-sphere
+ * meshes instanced, and one call per sphere costs more than streaming their vertices.
+ * Render thread only.
+ */
+final class SphereMeshBuffers {
+
+    // Highest segment count the config allows
+    private static final int MAX_SEGMENTS = 64;
+
+    private final Matrix4f view = new Matrix4f();
+    private final Matrix4f modelView = new Matrix4f();
+
+    // Whole-frame buffer of the last settled batch, relative to the first sphere's center
+    private VertexBuffer frame;
+    private long frameVersion = -1;
+    private double frameX;
+    private double frameY;
+    private double frameZ;
+    private long lastVersion = -1;
+
+    /**
+     * Draw the baked frame if the batch has settled
+     *
+     * @param pose Camera-relative pose the immediate path would transform vertices by
+     * @return false if the batch changed since the last frame or the lines shader is unavailable,
+     *         so the caller streams the frame instead
+     */
+    boolean draw(Matrix4f pose, SphereBatch batch) {
+        // A batch seen twice in a row has settled; baking one that changes every frame would not pay off
+        long version = batch.version();
+        boolean settled = version == lastVersion;
+        lastVersion = version;
+        if (!settled) {
+            return false;
+        }
+        ShaderInstance shader = GameRenderer.getRendertypeLinesShader();
+        if (shader == null) {
+            return false;
+        }
+        Matrix4f projection = RenderSystem.getProjectionMatrix();
+
+        // The lines render type sets the line width, blending, depth test and view offset of the streaming
+        // path, and restores them afterwards
+        RenderType lines = RenderType.lines();
+        lines.setupRenderState();
+        try {
+            // Vertices streamed through the render type are drawn with the render system's model-view on top of the pose
+            view.set(RenderSystem.getModelViewMatrix()).mul(pose);
+            drawFrame(batch, version, projection, shader);
+        } finally {
+            RenderSystem.setShaderColor(1.0f, 1.0f, 1.0f, 1.0f);
+            lines.clearRenderState();
+        }
+        return true;
+    }
+
+    private void drawFrame(SphereBatch batch, long version, Matrix4f projection, ShaderInstance shader) {
+        if (frameVersion != version) {
+            bakeFrame(batch);
+            frameVersion = version;
+        }
+        modelView.set(view).translate((float) frameX, (float) frameY, (float) frameZ);
+        RenderSystem.setShaderColor(1.0f, 1.0f, 1.0f, 1.0f);
+        frame.bind();
+        frame.drawWithShader(modelView, projection, shader);
+        VertexBuffer.unbind();
+    }
+
+    private static int slot(int segments) {
+        return Math.max(3, Math.min(MAX_SEGMENTS, segments));
+    }
+
+    /**
+     * Rebuild the whole-frame buffer with every sphere of the batch in world space
+     */
+    private void bakeFrame(SphereBatch batch) {
+        frameX = batch.x(0);
+        frameY = batch.y(0);
+        frameZ = batch.z(0);
+        BufferBuilder builder = Tesselator.getInstance().getBuilder();
+        builder.begin(VertexFormat.Mode.LINES, DefaultVertexFormat.POSITION_COLOR_NORMAL);
+        for (int i = 0, n = batch.size(); i < n; i++) {
+            float[] lines = SphereMeshCache.get(SphereMeshCache.Layout.STANDARD, slot(batch.segments(i))).lines;
+            emit(builder, lines,
+                (float) (batch.x(i) - frameX), (float) (batch.y(i) - frameY), (float) (batch.z(i) - frameZ), batch.radius(i),
+                batch.red(i), batch.green(i), batch.blue(i), batch.alpha(i));
+        }
+        if (frame == null) {
+            frame = new VertexBuffer();
+        }
+        frame.bind();
+        frame.upload(builder.end());
+        VertexBuffer.unbind();
+    }
+
+    private static void emit(
+        BufferBuilder builder, float[] lines,
+        float x, float y, float z, float radius,
+        float red, float green, float blue, float alpha
+    ) {
+        for (int i = 0; i < lines.length; i += 6) {
+            // The lines shader widens each segment across its direction, passed as the normal
+            float dx = lines[i + 3] - lines[i];
+            float dy = lines[i + 4] - lines[i + 1];
+            float dz = lines[i + 5] - lines[i + 2];
+            float length = (float) Math.sqrt(dx * dx + dy * dy + dz * dz);
+            dx /= length;
+            dy /= length;
+            dz /= length;
+            builder.vertex(x + radius * lines[i], y + radius * lines[i + 1], z + radius * lines[i + 2])
+                .color(red, green, blue, alpha).normal(dx, dy, dz).endVertex();
+            builder.vertex(x + radius * lines[i + 3], y + radius * lines[i + 4], z + radius * lines[i + 5])
+                .color(red, green, blue, alpha).normal(dx, dy, dz).endVertex();
+        }
+    }
+}
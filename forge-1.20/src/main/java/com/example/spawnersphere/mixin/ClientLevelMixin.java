@@ -0,0 +1,20 @@
+package com.example.spawnersphere.mixin;
+
+import com.example.spawnersphere.SpawnerSphereMod;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.block.state.BlockState;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(ClientLevel.class)
+public class ClientLevelMixin {
+
+    // Both server updates and the client's own predicted changes pass through here with the old and new state
+    @Inject(method = "sendBlockUpdated", at = @At("HEAD"))
+    private void onSendBlockUpdated(BlockPos pos, BlockState oldState, BlockState newState, int flags, CallbackInfo ci) {
+        SpawnerSphereMod.onBlockChanged(pos, oldState, newState);
+    }
+}
@@ -8,8 +8,12 @@ import com.example.spawnersphere.platform.LegacyFabricPlatformHelper;
 import com.example.spawnersphere.platform.LegacyFabricRenderer;
 import net.fabricmc.api.ClientModInitializer;
 import net.legacyfabric.fabric.api.client.keybinding.v1.KeyBindingHelper;
+import net.minecraft.block.BlockState;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.option.KeyBinding;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
 import org.lwjgl.input.Keyboard;
 import org.lwjgl.opengl.GL11;
 
@@ -109,6 +113,45 @@ public class SpawnerSphereMod implements ClientModInitializer {
         GL11.glPopMatrix();
     }
 
+    /**
+     * Called from mixin - a block in a world is about to change
+     * Only client world changes to or from a spawner are forwarded; the core confirms them against
+     * the world on a later tick, so a change that does not go through is dropped there.
+     */
+    public static void onBlockChanging(World world, BlockPos pos, BlockState newState) {
+        if (core == null || !core.isEnabled() || !world.isClient) return;
+
+        boolean wasSpawner = world.getBlockState(pos).getBlock() == Blocks.MOB_SPAWNER;
+        boolean isSpawner = newState.getBlock() == Blocks.MOB_SPAWNER;
+        if (wasSpawner == isSpawner) return;
+
+        // The core only keeps the packed position, so a mutable position can be passed as-is
+        if (isSpawner) {
+            core.addSpawnerAt(pos);
+        } else {
+            core.removeSpawnerAt(pos);
+        }
+    }
+
+    /**
+     * Called from mixin - the client chunk provider loaded a chunk
+     * Legacy Fabric API has no client chunk events, so spawners in new chunks are picked up here.
+     */
+    public static void onChunkLoaded(int chunkX, int chunkZ) {
+        if (core != null) {
+            core.onChunkLoaded(chunkX, chunkZ);
+        }
+    }
+
+    /**
+     * Called from mixin - the client chunk provider is dropping a chunk
+     */
+    public static void onChunkUnloaded(int chunkX, int chunkZ) {
+        if (core != null) {
+            core.onChunkUnloaded(chunkX, chunkZ);
+        }
+    }
+
     /**
      * Get the core instance (for testing or external access)
      */
@@ -0,0 +1,25 @@
+package com.example.spawnersphere.mixin;
+
+import com.example.spawnersphere.SpawnerSphereMod;
+import net.minecraft.client.world.ClientChunkProvider;
+import net.minecraft.world.chunk.Chunk;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+@Mixin(ClientChunkProvider.class)
+public class ClientChunkProviderMixin {
+
+    // The chunk is still empty here; the core reads it on a later tick, once the chunk packet has filled it
+    @Inject(method = "loadChunk", at = @At("RETURN"))
+    private void onLoadChunk(int chunkX, int chunkZ, CallbackInfoReturnable<Chunk> cir) {
+        SpawnerSphereMod.onChunkLoaded(chunkX, chunkZ);
+    }
+
+    @Inject(method = "unloadChunk", at = @At("HEAD"))
+    private void onUnloadChunk(int chunkX, int chunkZ, CallbackInfo ci) {
+        SpawnerSphereMod.onChunkUnloaded(chunkX, chunkZ);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.spawnersphere.mixin;
+
+import com.example.spawnersphere.SpawnerSphereMod;
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+@Mixin(World.class)
+public class WorldMixin {
+
+    // At HEAD the old state is still in the world, so the change can be told apart without re-reading it afterwards
+    @Inject(method = "setBlockState(Lnet/minecraft/util/math/BlockPos;Lnet/minecraft/block/BlockState;I)Z", at = @At("HEAD"))
+    private void onSetBlockState(BlockPos pos, BlockState state, int flags, CallbackInfoReturnable<Boolean> cir) {
+        SpawnerSphereMod.onBlockChanging((World) (Object) this, pos, state);
+    }
+}
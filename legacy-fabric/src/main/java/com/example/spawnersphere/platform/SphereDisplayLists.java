@@ -0,0 +1,151 @@
+package com.example.spawnersphere.platform;
+
+import com.example.spawnersphere.common.performance.SphereMeshCache;
+import com.example.spawnersphere.common.platform.SphereBatch;
+import net.minecraft.client.render.Tessellator;
+import net.minecraft.client.render.VertexBuffer;
+import net.minecraft.client.render.VertexFormats;
+import org.lwjgl.opengl.GL11;
+
+import java.util.Arrays;
+
+/**
+ * Unit spheres compiled into GL display lists, one pair per segment count
+ * The first list of a pair holds the latitude and longitude circles, the second the equator,
+ * which is drawn brighter. A sphere is then a translate, a scale and a list call, and spheres
+ * are grouped by color so the color only changes once per group.
+ * Once a batch has stayed the same for a frame, those calls are recorded into one more list,
+ * so while nothing moves a frame is a single list call under the camera transform.
+ * Render thread only.
+ */
+final class SphereDisplayLists {
+
+    // Highest segment count the config allows
+    private static final int MAX_SEGMENTS = 64;
+
+    private final int[] lists = new int[MAX_SEGMENTS + 1]; // First of two lists, 0 until compiled
+
+    // Per-frame color groups: distinct RGBA values and the group of each sphere
+    private float[] groupColors = new float[4 * 4];
+    private int[] groups = new int[64];
+
+    // List replaying the last settled batch, 0 until first recorded
+    private int frameList;
+    private long frameVersion = -1;
+    private long lastVersion = -1;
+
+    void draw(SphereBatch batch) {
+        // A batch seen twice in a row has settled; recording one that changes every frame would not pay off
+        long version = batch.version();
+        boolean settled = version == lastVersion;
+        lastVersion = version;
+        if (!settled) {
+            drawGroups(batch);
+            return;
+        }
+        if (frameVersion != version) {
+            // Sphere lists must exist before recording starts; lists cannot be compiled while recording
+            for (int i = 0, n = batch.size(); i < n; i++) {
+                list(batch.segments(i));
+            }
+            if (frameList == 0) {
+                frameList = GL11.glGenLists(1);
+            }
+            GL11.glNewList(frameList, GL11.GL_COMPILE);
+            drawGroups(batch);
+            GL11.glEndList();
+            frameVersion = version;
+        }
+        GL11.glCallList(frameList);
+    }
+
+    private void drawGroups(SphereBatch batch) {
+        int groupCount = assignGroups(batch);
+        for (int group = 0; group < groupCount; group++) {
+            float red = groupColors[4 * group];
+            float green = groupColors[4 * group + 1];
+            float blue = groupColors[4 * group + 2];
+            float alpha = groupColors[4 * group + 3];
+
+            GL11.glColor4f(red, green, blue, alpha);
+            drawGroup(batch, group, 0);
+            GL11.glColor4f(red, green, blue, Math.min(1.0f, alpha * 1.5f));
+            drawGroup(batch, group, 1);
+        }
+        GL11.glColor4f(1.0f, 1.0f, 1.0f, 1.0f);
+    }
+
+    private void drawGroup(SphereBatch batch, int group, int part) {
+        for (int i = 0, n = batch.size(); i < n; i++) {
+            if (groups[i] != group) {
+                continue;
+            }
+            float radius = batch.radius(i);
+            GL11.glPushMatrix();
+            GL11.glTranslated(batch.x(i), batch.y(i), batch.z(i));
+            GL11.glScalef(radius, radius, radius);
+            GL11.glCallList(list(batch.segments(i)) + part);
+            GL11.glPopMatrix();
+        }
+    }
+
+    /**
+     * Number the distinct colors of the batch; spheres use one of very few
+     *
+     * @return number of color groups
+     */
+    private int assignGroups(SphereBatch batch) {
+        int n = batch.size();
+        if (groups.length < n) {
+            groups = new int[Math.max(n, groups.length * 2)];
+        }
+        int groupCount = 0;
+        for (int i = 0; i < n; i++) {
+            int group = 0;
+            while (group < groupCount
+                    && (groupColors[4 * group] != batch.red(i) || groupColors[4 * group + 1] != batch.green(i)
+                        || groupColors[4 * group + 2] != batch.blue(i) || groupColors[4 * group + 3] != batch.alpha(i))) {
+                group++;
+            }
+            if (group == groupCount) {
+                if (4 * groupCount == groupColors.length) {
+                    groupColors = Arrays.copyOf(groupColors, groupColors.length * 2);
+                }
+                groupColors[4 * group] = batch.red(i);
+                groupColors[4 * group + 1] = batch.green(i);
+                groupColors[4 * group + 2] = batch.blue(i);
+                groupColors[4 * group + 3] = batch.alpha(i);
+                groupCount++;
+            }
+            groups[i] = group;
+        }
+        return groupCount;
+    }
+
+    private int list(int segments) {
+        int slot = Math.max(3, Math.min(MAX_SEGMENTS, segments));
+        if (lists[slot] == 0) {
+            lists[slot] = compile(SphereMeshCache.get(SphereMeshCache.Layout.DENSE, slot));
+        }
+        return lists[slot];
+    }
+
+    private static int compile(SphereMeshCache.Mesh mesh) {
+        int list = GL11.glGenLists(2);
+        compileRange(list, mesh.lines, 0, mesh.equatorOffset);
+        compileRange(list + 1, mesh.lines, mesh.equatorOffset, mesh.lines.length);
+        return list;
+    }
+
+    private static void compileRange(int list, float[] lines, int from, int to) {
+        Tessellator tessellator = Tessellator.getInstance();
+        VertexBuffer buffer = tessellator.getBuffer();
+        GL11.glNewList(list, GL11.GL_COMPILE);
+        buffer.begin(GL11.GL_LINES, VertexFormats.POSITION);
+        for (int i = from; i < to; i += 3) {
+            buffer.vertex(lines[i], lines[i + 1], lines[i + 2]).next();
+        }
+        tessellator.draw();
+        GL11.glEndList();
+    }
+}
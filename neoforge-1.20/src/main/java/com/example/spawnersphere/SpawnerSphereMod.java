@@ -9,12 +9,16 @@ import com.example.spawnersphere.platform.ForgeRenderer;
 import com.mojang.blaze3d.vertex.PoseStack;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.MultiBufferSource;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.phys.Vec3;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.client.event.RegisterKeyMappingsEvent;
 import net.minecraftforge.client.event.RenderLevelStageEvent;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.level.ChunkEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.event.lifecycle.FMLClientSetupEvent;
@@ -119,6 +123,39 @@ public class SpawnerSphereMod {
             // Ensure everything is drawn
             bufferSource.endBatch();
         }
+
+        @SubscribeEvent
+        public static void onChunkLoad(ChunkEvent.Load event) {
+            if (event.getLevel().isClientSide()) {
+                core.onChunkLoaded(event.getChunk().getPos().x, event.getChunk().getPos().z);
+            }
+        }
+
+        @SubscribeEvent
+        public static void onChunkUnload(ChunkEvent.Unload event) {
+            if (event.getLevel().isClientSide()) {
+                core.onChunkUnloaded(event.getChunk().getPos().x, event.getChunk().getPos().z);
+            }
+        }
+    }
+
+    /**
+     * Called from mixin - a block in the client level changed
+     * Only changes to or from a spawner are forwarded; the core confirms them against the level
+     * on a later tick. Block events are not used: they only fire on the logical server.
+     */
+    public static void onBlockChanged(BlockPos pos, BlockState oldState, BlockState newState) {
+        if (core == null || !core.isEnabled()) return;
+
+        boolean wasSpawner = oldState.is(Blocks.SPAWNER);
+        boolean isSpawner = newState.is(Blocks.SPAWNER);
+        if (wasSpawner == isSpawner) return;
+
+        if (isSpawner) {
+            core.addSpawnerAt(pos.immutable());
+        } else {
+            core.removeSpawnerAt(pos.immutable());
+        }
     }
 
     /**
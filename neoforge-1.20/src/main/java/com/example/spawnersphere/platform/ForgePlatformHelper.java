@@ -1,19 +1,32 @@
 package com.example.spawnersphere.platform;
 
+import com.example.spawnersphere.common.data.BlockKey;
 import com.example.spawnersphere.common.platform.IPlatformHelper;
+import com.example.spawnersphere.common.scan.SectionSnapshot;
 import net.minecraft.client.player.LocalPlayer;
 import net.minecraft.core.BlockPos;
 import net.minecraft.network.chat.Component;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.entity.SpawnerBlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.chunk.PalettedContainer;
 import net.minecraft.world.phys.Vec3;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
 
 /**
  * Forge implementation of platform helper for MC 1.20+
  */
 public class ForgePlatformHelper implements IPlatformHelper {
 
+    // Reused by isSpawnerAt so hot scan loops do not allocate a block position per lookup
+    private static final ThreadLocal<BlockPos.MutableBlockPos> SCRATCH_POS = ThreadLocal.withInitial(BlockPos.MutableBlockPos::new);
+
     @Override
     @NotNull
     public Platform getPlatform() {
@@ -28,6 +41,106 @@ public class ForgePlatformHelper implements IPlatformHelper {
         return ((Level) world).getBlockState((BlockPos) blockPos).is(Blocks.SPAWNER);
     }
 
+    @Override
+    public boolean isSpawnerAt(Object world, int x, int y, int z) {
+        if (!(world instanceof Level)) {
+            return false;
+        }
+        return ((Level) world).getBlockState(SCRATCH_POS.get().set(x, y, z)).is(Blocks.SPAWNER);
+    }
+
+    @Override
+    public boolean sectionMayContainSpawner(Object world, int sectionX, int sectionY, int sectionZ) {
+        if (!(world instanceof Level)) {
+            return true;
+        }
+        LevelChunkSection section = getLoadedSection((Level) world, sectionX, sectionY, sectionZ);
+        return section != null && containsSpawner(section);
+    }
+
+    @Override
+    public boolean supportsSectionSnapshots() {
+        return true;
+    }
+
+    @Override
+    public SectionSnapshot snapshotSection(Object world, int sectionX, int sectionY, int sectionZ) {
+        if (!(world instanceof Level)) {
+            return null;
+        }
+        LevelChunkSection section = getLoadedSection((Level) world, sectionX, sectionY, sectionZ);
+        if (section == null || !containsSpawner(section)) {
+            return null;
+        }
+        // Copying the paletted container is a flat array copy; the scan worker only reads the copy
+        PalettedContainer<BlockState> states = section.getStates().copy();
+        return (localX, localY, localZ) -> states.get(localX, localY, localZ).is(Blocks.SPAWNER);
+    }
+
+    /**
+     * Unloaded chunks read as air on the client, so they have no section worth scanning
+     */
+    @Nullable
+    private static LevelChunkSection getLoadedSection(Level level, int sectionX, int sectionY, int sectionZ) {
+        if (!level.getChunkSource().hasChunk(sectionX, sectionZ)) {
+            return null;
+        }
+        int sectionIndex = level.getSectionIndexFromSectionY(sectionY);
+        if (sectionIndex < 0 || sectionIndex >= level.getSectionsCount()) {
+            return null;
+        }
+        return level.getChunk(sectionX, sectionZ).getSection(sectionIndex);
+    }
+
+    private static boolean containsSpawner(LevelChunkSection section) {
+        return !section.hasOnlyAir() && section.maybeHas(state -> state.is(Blocks.SPAWNER));
+    }
+
+    @Override
+    public boolean isChunkLoaded(Object world, int chunkX, int chunkZ) {
+        if (!(world instanceof Level)) {
+            return false;
+        }
+        return ((Level) world).getChunkSource().hasChunk(chunkX, chunkZ);
+    }
+
+    @Override
+    public int getMinBuildHeight(Object world) {
+        if (!(world instanceof Level)) {
+            return Integer.MIN_VALUE;
+        }
+        return ((Level) world).getMinBuildHeight();
+    }
+
+    @Override
+    public int getMaxBuildHeight(Object world) {
+        if (!(world instanceof Level)) {
+            return Integer.MAX_VALUE;
+        }
+        return ((Level) world).getMaxBuildHeight();
+    }
+
+    @Override
+    public boolean supportsBlockEntityScan() {
+        return true;
+    }
+
+    @Override
+    public void collectSpawnerBlockEntities(Object world, int chunkX, int chunkZ, List<Object> out) {
+        if (!(world instanceof Level)) {
+            return;
+        }
+        Level level = (Level) world;
+        if (!level.getChunkSource().hasChunk(chunkX, chunkZ)) {
+            return;
+        }
+        for (BlockEntity blockEntity : level.getChunk(chunkX, chunkZ).getBlockEntities().values()) {
+            if (blockEntity instanceof SpawnerBlockEntity) {
+                out.add(blockEntity.getBlockPos());
+            }
+        }
+    }
+
     @Override
     @NotNull
     public Position getPlayerPosition(Object player) {
@@ -38,6 +151,21 @@ public class ForgePlatformHelper implements IPlatformHelper {
         return new Position(pos.x, pos.y, pos.z);
     }
 
+    @Override
+    public double getPlayerX(Object player) {
+        return player instanceof LocalPlayer ? ((LocalPlayer) player).getX() : 0;
+    }
+
+    @Override
+    public double getPlayerY(Object player) {
+        return player instanceof LocalPlayer ? ((LocalPlayer) player).getY() : 0;
+    }
+
+    @Override
+    public double getPlayerZ(Object player) {
+        return player instanceof LocalPlayer ? ((LocalPlayer) player).getZ() : 0;
+    }
+
     @Override
     @NotNull
     public Object createBlockPos(int x, int y, int z) {
@@ -54,6 +182,15 @@ public class ForgePlatformHelper implements IPlatformHelper {
         return new Position(pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5);
     }
 
+    @Override
+    public long blockKey(Object blockPos) {
+        if (!(blockPos instanceof BlockPos)) {
+            return IPlatformHelper.super.blockKey(blockPos);
+        }
+        BlockPos pos = (BlockPos) blockPos;
+        return BlockKey.pack(pos.getX(), pos.getY(), pos.getZ());
+    }
+
     @Override
     public double calculateDistance(Position pos1, Position pos2) {
         return pos1.distanceTo(pos2);